@@ -2,8 +2,12 @@ package com.rubin.insurance.policy_management_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableResilientMethods
 public class InsurancePolicyManagementSystemApplication {
 
 	public static void main(String[] args) {
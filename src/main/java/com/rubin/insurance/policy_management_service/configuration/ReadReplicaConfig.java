@@ -0,0 +1,94 @@
+package com.rubin.insurance.policy_management_service.configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.rubin.insurance.policy_management_service.configuration.datasource.ReadYourWritesFilter;
+import com.rubin.insurance.policy_management_service.configuration.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured data source with one that sends read-only transactions to the
+ * read replicas listed in {@code datasource.replicas.urls}. Without replicas the application keeps
+ * Spring Boot's single pool.
+ * <p>
+ * Every pool is a separate Hikari pool with the {@code spring.datasource.hikari} settings and its
+ * own {@code hikaricp.*} metrics, tagged by pool name ({@code primary}, {@code replica-1}, ...).
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Value("${datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replicas.connection-timeout:2s}")
+    private Duration replicaConnectionTimeout;
+
+    @Value("${datasource.replicas.max-lag:2s}")
+    private Duration maxLag;
+
+    @Value("${datasource.replicas.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    // Not a candidate for injection: everything else must go through the lazy proxy below.
+    @Bean(autowireCandidate = false, destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             Environment environment,
+                                                             MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool(properties, properties.determineUrl(), "primary", environment, meterRegistry);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = pool(properties, url.trim(), name, environment, meterRegistry);
+            replica.setReadOnly(true);
+            // A replica that cannot hand out a connection quickly is skipped in favour of the primary.
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag, meterRegistry);
+    }
+
+    // Defers fetching a connection until the first statement, after the read-only flag of the transaction is known.
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource(properties, environment, meterRegistry));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(readYourWritesWindow);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties,
+                                         String url,
+                                         String name,
+                                         Environment environment,
+                                         MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -1,27 +1,118 @@
 package com.rubin.insurance.policy_management_service.configuration;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import tools.jackson.databind.jsontype.PolymorphicTypeValidator;
 import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.rubin.insurance.policy_management_service.configuration.cache.CacheInvalidationBus;
+import com.rubin.insurance.policy_management_service.configuration.cache.CacheLoadLease;
+import com.rubin.insurance.policy_management_service.configuration.cache.ClaimListCache;
+import com.rubin.insurance.policy_management_service.configuration.cache.CompactCacheValueSerializer;
+import com.rubin.insurance.policy_management_service.configuration.cache.InstrumentedCacheManager;
+import com.rubin.insurance.policy_management_service.configuration.cache.MeteredCacheErrorHandler;
+import com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard;
+import com.rubin.insurance.policy_management_service.configuration.cache.PolicyPageCache;
+import com.rubin.insurance.policy_management_service.configuration.cache.RedisOutageDetector;
+import com.rubin.insurance.policy_management_service.configuration.cache.RefreshAhead;
+import com.rubin.insurance.policy_management_service.configuration.cache.SizeRecordingRedisSerializer;
+import com.rubin.insurance.policy_management_service.configuration.cache.TwoLevelCacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
-@EnableCaching
-public class RedisConfig {
+// Outside the transaction interceptor, so @CachePut only stores results of committed transactions.
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class RedisConfig implements CachingConfigurer {
+
+    @Autowired
+    private ObjectProvider<RedisOutageDetector> redisOutageDetector;
+
+    @Value("${cache.l1.cache-names:policyById}")
+    private Set<String> l1CacheNames;
+
+    @Value("${cache.l1.maximum-size:10000}")
+    private long l1MaximumSize;
+
+    @Value("${cache.l1.ttl:60s}")
+    private Duration l1Ttl;
+
+    @Value("${cache.default-ttl:30m}")
+    private Duration defaultTtl;
+
+    @Value("${cache.ttl-jitter:0.1}")
+    private double ttlJitter;
+
+    @Value("${cache.refresh-ahead.window:2m}")
+    private Duration refreshAheadWindow;
+
+    @Value("${cache.refresh-ahead.threads:2}")
+    private int refreshAheadThreads;
+
+    @Value("${cache.refresh-ahead.queue-capacity:256}")
+    private int refreshAheadQueueCapacity;
+
+    @Value("${cache.policy-pages.ttl:10m}")
+    private Duration policyPagesTtl;
+
+    @Value("${cache.claims-by-policy.ttl:10m}")
+    private Duration claimsByPolicyTtl;
+
+    @Value("${cache.single-flight.lease-ttl:5s}")
+    private Duration leaseTtl;
+
+    @Value("${cache.single-flight.lease-wait:2s}")
+    private Duration leaseWait;
+
+    @Value("${cache.single-flight.poll-interval:50ms}")
+    private Duration leasePollInterval;
+
+    @Value("${cache.known-ids.miss-ttl:60s}")
+    private Duration missTtl;
+
+    @Value("${cache.serializer.compact-cache-names:}")
+    private Set<String> compactCacheNames;
+
+    @Value("${cache.outage.failure-threshold:5}")
+    private int outageFailureThreshold;
+
+    @Value("${cache.invalidation.channel:cache.invalidation}")
+    private String invalidationChannel;
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheInvalidationBus cacheInvalidationBus,
+                                     CacheLoadLease cacheLoadLease,
+                                     RefreshAhead refreshAhead,
+                                     RedisOutageDetector redisOutageDetector,
+                                     MeterRegistry meterRegistry) {
         PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
                 .allowIfSubType("com.rubin.insurance") // adjust to your base package
                 .allowIfSubType("java.")
@@ -32,18 +123,84 @@ public class RedisConfig {
                 .build();
 
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30))
+                .entryTtl(jittered(defaultTtl))
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
 
-        return RedisCacheManager.builder(connectionFactory)
+        // Compact caches still read entries written as JSON before they were switched over.
+        var compactSerializer = new CompactCacheValueSerializer(valueSerializer);
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        cacheConfigurations.put(PolicyPageCache.CACHE_NAME, config.entryTtl(jittered(policyPagesTtl)));
+        cacheConfigurations.put(ClaimListCache.CACHE_NAME, config.entryTtl(jittered(claimsByPolicyTtl)));
+        for (MissingIdGuard.IdSpace space : MissingIdGuard.IdSpace.values()) {
+            cacheConfigurations.put(space.getMissCacheName(), config.entryTtl(jittered(missTtl)));
+        }
+        Set<String> cacheNames = new LinkedHashSet<>(cacheConfigurations.keySet());
+        cacheNames.addAll(l1CacheNames);
+        cacheNames.addAll(compactCacheNames);
+        for (String cacheName : cacheNames) {
+            RedisSerializer<Object> serializer = compactCacheNames.contains(cacheName) ? compactSerializer : valueSerializer;
+            cacheConfigurations.put(cacheName, cacheConfigurations.getOrDefault(cacheName, config)
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                            new SizeRecordingRedisSerializer(serializer, meterRegistry, cacheName))));
+        }
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        redisCacheManager.initializeCaches();
+
+        TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(redisCacheManager, cacheInvalidationBus,
+                cacheLoadLease, refreshAhead, redisOutageDetector, meterRegistry, l1CacheNames, l1MaximumSize, l1Ttl);
+        return new InstrumentedCacheManager(twoLevelCacheManager, meterRegistry, redisOutageDetector);
+    }
+
+    // Spreads expiry by +/- ttlJitter so entries loaded together (e.g. by the warm-up) do not expire together.
+    private RedisCacheWriter.TtlFunction jittered(Duration ttl) {
+        long spread = (long) (ttl.toMillis() * ttlJitter);
+        if (spread <= 0) {
+            return RedisCacheWriter.TtlFunction.just(ttl);
+        }
+        return (key, value) -> ttl.plusMillis(ThreadLocalRandom.current().nextLong(-spread, spread + 1));
     }
 
     @Bean
-    public SimpleCacheErrorHandler cacheErrorHandler() {
-        return new SimpleCacheErrorHandler();
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate, JsonMapper jsonMapper) {
+        return new CacheInvalidationBus(redisTemplate, jsonMapper, invalidationChannel);
+    }
+
+    @Bean
+    public CacheLoadLease cacheLoadLease(StringRedisTemplate redisTemplate) {
+        return new CacheLoadLease(redisTemplate, leaseTtl, leaseWait, leasePollInterval);
+    }
+
+    @Bean
+    public RefreshAhead refreshAhead(StringRedisTemplate redisTemplate, CacheLoadLease cacheLoadLease) {
+        return new RefreshAhead(redisTemplate, cacheLoadLease, refreshAheadWindow, refreshAheadThreads,
+                refreshAheadQueueCapacity);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheInvalidationBus cacheInvalidationBus,
+                                                                            MissingIdGuard missingIdGuard) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        container.addMessageListener(missingIdGuard, new ChannelTopic(missingIdGuard.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public RedisOutageDetector redisOutageDetector(MeterRegistry meterRegistry) {
+        return new RedisOutageDetector(meterRegistry, outageFailureThreshold);
+    }
+
+    // Resolved lazily: caching infrastructure is created before the meter registry is ready.
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new MeteredCacheErrorHandler(redisOutageDetector::getObject);
     }
 }
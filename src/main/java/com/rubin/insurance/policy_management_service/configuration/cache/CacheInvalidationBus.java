@@ -0,0 +1,77 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Keeps the in-process (L1) tier of every {@link TwoLevelCache} coherent across nodes.
+ * Local writes are published on a Redis pub/sub channel; messages from other nodes evict
+ * the matching L1 entry so the next read falls through to Redis.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, JsonMapper jsonMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publish(String cacheName, String key) {
+        try {
+            String body = jsonMapper.writeValueAsString(new CacheInvalidationMessage(nodeId, cacheName, key));
+            redisTemplate.convertAndSend(channel, body);
+        } catch (Exception ex) {
+            // Peers fall back to the L1 TTL, so a lost message only widens the staleness window.
+            log.warn("Failed to publish cache invalidation for cache={} key={}: {}", cacheName, key, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = jsonMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                    CacheInvalidationMessage.class);
+        } catch (Exception ex) {
+            log.warn("Ignoring malformed cache invalidation message: {}", ex.getMessage());
+            return;
+        }
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        log.debug("Remote invalidation for cache={} key={}", invalidation.cacheName(), invalidation.key());
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+    }
+}
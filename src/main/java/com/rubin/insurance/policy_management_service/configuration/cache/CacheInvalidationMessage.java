@@ -0,0 +1,8 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+/**
+ * Broadcast on the Redis invalidation channel whenever a node writes to a two-level cache.
+ * A {@code null} key means the whole cache was cleared.
+ */
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+}
@@ -0,0 +1,85 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived Redis lease that lets only one node reload a missing cache entry.
+ * Nodes that lose the race wait for the winner to fill the shared tier instead of hitting the database.
+ * The winner releases the lease once its load finished, whether or not it filled anything, so a
+ * lease that is gone without a fill tells waiters to stop waiting.
+ */
+@Slf4j
+public class CacheLoadLease {
+
+    private static final String LEASE_PREFIX = "cache-lease:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Duration maxWait;
+    private final Duration pollInterval;
+    private final String owner = UUID.randomUUID().toString();
+
+    public CacheLoadLease(StringRedisTemplate redisTemplate, Duration ttl, Duration maxWait, Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.maxWait = maxWait;
+        this.pollInterval = pollInterval;
+    }
+
+    public boolean tryAcquire(String cacheName, String key) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), owner, ttl));
+        } catch (Exception ex) {
+            // Without Redis there is nothing to coordinate on, so let this node load.
+            log.warn("Failed to acquire cache lease for cache={} key={}: {}", cacheName, key, ex.getMessage());
+            return true;
+        }
+    }
+
+    public void release(String cacheName, String key) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(leaseKey(cacheName, key)), owner);
+        } catch (Exception ex) {
+            log.warn("Failed to release cache lease for cache={} key={}: {}", cacheName, key, ex.getMessage());
+        }
+    }
+
+    /**
+     * @return whether some node still holds the lease; {@code false} when Redis cannot be asked
+     */
+    public boolean isHeld(String cacheName, String key) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey(cacheName, key)));
+        } catch (Exception ex) {
+            log.warn("Failed to check cache lease for cache={} key={}: {}", cacheName, key, ex.getMessage());
+            return false;
+        }
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    private static String leaseKey(String cacheName, String key) {
+        return LEASE_PREFIX + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,134 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.utils.TransactionCallbacks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Claim lists keyed by policy id.
+ * <p>
+ * Writes are applied to a cached list in place rather than evicting it, so a policy that keeps
+ * receiving claims stays cached. Updates run after commit and only touch lists that are already
+ * cached; an uncached list is simply loaded on its next read. The read-modify-write holds the
+ * list's {@link CacheLoadLease}, so writers on different nodes cannot overwrite each other's
+ * updates; a writer that finds the lease taken evicts the list instead of waiting for it.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ClaimListCache {
+
+    public static final String CACHE_NAME = "claimsByPolicy";
+
+    private static final Comparator<ClaimResponse> BY_ID = Comparator.comparing(ClaimResponse::id);
+
+    private final CacheManager cacheManager;
+    private final CacheLoadLease writeLease;
+
+    public Optional<List<ClaimResponse>> get(Long policyId) {
+        try {
+            Cache.ValueWrapper wrapper = cache().get(policyId);
+            return wrapper != null && wrapper.get() instanceof PolicyClaims cached
+                    ? Optional.of(cached.claims())
+                    : Optional.empty();
+        } catch (Exception ex) {
+            log.warn("Claim list cache lookup failed for policyId={}: {}", policyId, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(Long policyId, List<ClaimResponse> claims) {
+        try {
+            List<ClaimResponse> sorted = new ArrayList<>(claims);
+            sorted.sort(BY_ID);
+            cache().put(policyId, new PolicyClaims(sorted));
+        } catch (Exception ex) {
+            log.warn("Claim list cache store failed for policyId={}: {}", policyId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Inserts or replaces the claim in its policy's cached list once the current transaction commits.
+     */
+    public void onClaimSaved(ClaimResponse claim) {
+        TransactionCallbacks.afterCommit(() -> upsert(claim));
+    }
+
+    /**
+     * Bulk variant of {@link #onClaimSaved(ClaimResponse)}: each affected list is read and written
+     * once, however many of its claims changed.
+     */
+    public void onClaimsSaved(Collection<ClaimResponse> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        Map<Long, List<ClaimResponse>> byPolicy = claims.stream()
+                .collect(Collectors.groupingBy(ClaimResponse::policyId));
+        TransactionCallbacks.afterCommit(() -> byPolicy.forEach(this::upsert));
+    }
+
+    private void upsert(ClaimResponse claim) {
+        upsert(claim.policyId(), List.of(claim));
+    }
+
+    private void upsert(Long policyId, List<ClaimResponse> claims) {
+        String leaseKey = String.valueOf(policyId);
+        if (!writeLease.tryAcquire(CACHE_NAME, leaseKey)) {
+            // Another writer is merging into this list right now; merging from a copy it has not written yet would
+            // drop its update.
+            evict(policyId);
+            return;
+        }
+        try {
+            List<ClaimResponse> cached = get(policyId).orElse(null);
+            if (cached == null) {
+                return;
+            }
+            Set<Long> changed = new HashSet<>();
+            claims.forEach(claim -> changed.add(claim.id()));
+            List<ClaimResponse> updated = new ArrayList<>(cached.size() + claims.size());
+            for (ClaimResponse existing : cached) {
+                if (!changed.contains(existing.id())) {
+                    updated.add(existing);
+                }
+            }
+            updated.addAll(claims);
+            updated.sort(BY_ID);
+            cache().put(policyId, new PolicyClaims(updated));
+        } catch (Exception ex) {
+            // A list we failed to update must not keep serving the old version.
+            log.warn("Claim list write-through failed for policyId={}, evicting: {}", policyId, ex.getMessage());
+            evict(policyId);
+        } finally {
+            writeLease.release(CACHE_NAME, leaseKey);
+        }
+    }
+
+    private void evict(Long policyId) {
+        try {
+            cache().evict(policyId);
+        } catch (Exception ex) {
+            log.warn("Claim list cache evict failed for policyId={}: {}", policyId, ex.getMessage());
+        }
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+}
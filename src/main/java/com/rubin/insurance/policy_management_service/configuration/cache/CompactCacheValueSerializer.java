@@ -0,0 +1,380 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Schema-aware binary encoding for the DTO records we cache, used instead of polymorphic JSON
+ * with embedded class names.
+ * <p>
+ * Layout: {@code MAGIC, type tag, schema version, fields...}. Fields are written positionally
+ * with varint lengths and numbers, so the schema lives here rather than in every entry.
+ * <ul>
+ *     <li>A reader must keep decoding every schema version it has ever written, so entries
+ *     left behind by the previous release stay readable during a rolling deploy.</li>
+ *     <li>Entries with an unknown tag or a newer version decode to {@code null}, which Redis
+ *     treats as a miss, so an older node reloads instead of failing.</li>
+ *     <li>Entries that do not start with {@link #MAGIC} are legacy JSON and are handed to the
+ *     fallback serializer, as are values of types this codec does not know.</li>
+ * </ul>
+ */
+@Slf4j
+public class CompactCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC5;
+
+    private static final byte TYPE_POLICY = 1;
+    private static final byte TYPE_POLICY_PAGE = 2;
+    private static final byte TYPE_STAMPED_POLICY_PAGE = 3;
+    private static final byte TYPE_POLICY_CLAIMS = 4;
+
+    private static final byte POLICY_VERSION = 1;
+    private static final byte POLICY_PAGE_VERSION = 1;
+    private static final byte STAMPED_POLICY_PAGE_VERSION = 1;
+    private static final byte POLICY_CLAIMS_VERSION = 1;
+
+    private final RedisSerializer<Object> fallback;
+
+    public CompactCacheValueSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        Writer out = new Writer();
+        switch (value) {
+            case PolicyResponse policy -> {
+                out.header(TYPE_POLICY, POLICY_VERSION);
+                writePolicy(out, policy);
+            }
+            case GenerationStampedPage stamped -> {
+                out.header(TYPE_STAMPED_POLICY_PAGE, STAMPED_POLICY_PAGE_VERSION);
+                writePolicyPage(out, stamped.page());
+                out.varint(stamped.generations().size());
+                stamped.generations().forEach((scope, generation) -> {
+                    out.string(scope);
+                    out.zigzag(generation);
+                });
+            }
+            case PolicyClaims policyClaims -> {
+                out.header(TYPE_POLICY_CLAIMS, POLICY_CLAIMS_VERSION);
+                out.varint(policyClaims.claims().size());
+                policyClaims.claims().forEach(claim -> writeClaim(out, claim));
+            }
+            case PageResponse<?> page when isPolicyPage(page) -> {
+                out.header(TYPE_POLICY_PAGE, POLICY_PAGE_VERSION);
+                writePolicyPage(out, castPolicyPage(page));
+            }
+            case null, default -> {
+                return fallback.serialize(value);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            Reader in = new Reader(bytes);
+            byte type = in.raw();
+            byte version = in.raw();
+            return switch (type) {
+                case TYPE_POLICY -> version == 1 ? readPolicy(in) : unknown(type, version);
+                case TYPE_POLICY_PAGE -> version == 1 ? readPolicyPage(in) : unknown(type, version);
+                case TYPE_STAMPED_POLICY_PAGE -> version == 1 ? readStampedPolicyPage(in) : unknown(type, version);
+                case TYPE_POLICY_CLAIMS -> version == 1 ? readPolicyClaims(in) : unknown(type, version);
+                default -> unknown(type, version);
+            };
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Cannot decode compact cache entry", ex);
+        }
+    }
+
+    private static Object unknown(byte type, byte version) {
+        log.debug("Treating compact cache entry with type={} version={} as a miss", type, version);
+        return null;
+    }
+
+    private static void writePolicy(Writer out, PolicyResponse policy) {
+        out.nullableLong(policy.id());
+        out.string(policy.policyNumber());
+        out.string(policy.customerName());
+        out.string(policy.customerEmail());
+        out.string(policy.policyType());
+        out.decimal(policy.coverageAmount());
+        out.decimal(policy.premiumAmount());
+        out.date(policy.startDate());
+        out.date(policy.endDate());
+        out.string(policy.policyStatus());
+    }
+
+    private static PolicyResponse readPolicy(Reader in) {
+        return new PolicyResponse(
+                in.nullableLong(),
+                in.string(),
+                in.string(),
+                in.string(),
+                in.string(),
+                in.decimal(),
+                in.decimal(),
+                in.date(),
+                in.date(),
+                in.string());
+    }
+
+    private static void writeClaim(Writer out, ClaimResponse claim) {
+        out.nullableLong(claim.id());
+        out.nullableLong(claim.policyId());
+        out.string(claim.claimNumber());
+        out.string(claim.description());
+        out.decimal(claim.claimAmount());
+        out.date(claim.incidentDate());
+        out.string(claim.status());
+        out.string(claim.rejectionReason());
+        out.instant(claim.createdAt());
+    }
+
+    private static PolicyClaims readPolicyClaims(Reader in) {
+        int count = (int) in.varint();
+        List<ClaimResponse> claims = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            claims.add(new ClaimResponse(
+                    in.nullableLong(),
+                    in.nullableLong(),
+                    in.string(),
+                    in.string(),
+                    in.decimal(),
+                    in.date(),
+                    in.string(),
+                    in.string(),
+                    in.instant()));
+        }
+        return new PolicyClaims(claims);
+    }
+
+    private static void writePolicyPage(Writer out, PageResponse<PolicyResponse> page) {
+        out.varint(page.content().size());
+        page.content().forEach(policy -> writePolicy(out, policy));
+
+        PageResponse.PaginationMetadata pagination = page.pagination();
+        out.bool(pagination != null);
+        if (pagination != null) {
+            out.varint(pagination.page());
+            out.varint(pagination.size());
+            out.zigzag(pagination.totalElements());
+            out.varint(pagination.totalPages());
+            out.bool(pagination.first());
+            out.bool(pagination.last());
+            out.bool(pagination.empty());
+        }
+
+        PageResponse.CursorMetadata cursor = page.cursor();
+        out.bool(cursor != null);
+        if (cursor != null) {
+            out.varint(cursor.size());
+            out.string(cursor.nextCursor());
+            out.bool(cursor.hasNext());
+            out.nullableLong(cursor.totalElements());
+        }
+    }
+
+    private static PageResponse<PolicyResponse> readPolicyPage(Reader in) {
+        int count = (int) in.varint();
+        List<PolicyResponse> content = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            content.add(readPolicy(in));
+        }
+        PageResponse.PaginationMetadata pagination = in.bool()
+                ? new PageResponse.PaginationMetadata((int) in.varint(), (int) in.varint(), in.zigzag(),
+                (int) in.varint(), in.bool(), in.bool(), in.bool())
+                : null;
+        PageResponse.CursorMetadata cursor = in.bool()
+                ? new PageResponse.CursorMetadata((int) in.varint(), in.string(), in.bool(), in.nullableLong())
+                : null;
+        return new PageResponse<>(content, pagination, cursor);
+    }
+
+    private static GenerationStampedPage readStampedPolicyPage(Reader in) {
+        PageResponse<PolicyResponse> page = readPolicyPage(in);
+        int count = (int) in.varint();
+        Map<String, Long> generations = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            generations.put(in.string(), in.zigzag());
+        }
+        return new GenerationStampedPage(page, generations);
+    }
+
+    private static boolean isPolicyPage(PageResponse<?> page) {
+        return page.content().stream().allMatch(PolicyResponse.class::isInstance);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PageResponse<PolicyResponse> castPolicyPage(PageResponse<?> page) {
+        return (PageResponse<PolicyResponse>) page;
+    }
+
+    static final class Writer {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+
+        void header(byte type, byte version) {
+            buffer.write(MAGIC);
+            buffer.write(type);
+            buffer.write(version);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.write((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void bool(boolean value) {
+            buffer.write(value ? 1 : 0);
+        }
+
+        void nullableLong(Long value) {
+            bool(value != null);
+            if (value != null) {
+                zigzag(value);
+            }
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            buffer.writeBytes(bytes);
+        }
+
+        void decimal(BigDecimal value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            varint(unscaled.length + 1L);
+            buffer.writeBytes(unscaled);
+            zigzag(value.scale());
+        }
+
+        void date(LocalDate value) {
+            bool(value != null);
+            if (value != null) {
+                zigzag(value.toEpochDay());
+            }
+        }
+
+        void instant(Instant value) {
+            bool(value != null);
+            if (value != null) {
+                zigzag(value.getEpochSecond());
+                varint(value.getNano());
+            }
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+
+    static final class Reader {
+
+        private final byte[] bytes;
+        private int position = 1;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte raw() {
+            return bytes[position++];
+        }
+
+        long varint() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = raw();
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        long zigzag() {
+            long raw = varint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        boolean bool() {
+            return raw() != 0;
+        }
+
+        Long nullableLong() {
+            return bool() ? zigzag() : null;
+        }
+
+        String string() {
+            int length = (int) varint();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(bytes, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        BigDecimal decimal() {
+            int length = (int) varint();
+            if (length == 0) {
+                return null;
+            }
+            byte[] unscaled = new byte[length - 1];
+            System.arraycopy(bytes, position, unscaled, 0, unscaled.length);
+            position += unscaled.length;
+            return new BigDecimal(new BigInteger(unscaled), (int) zigzag());
+        }
+
+        LocalDate date() {
+            return bool() ? LocalDate.ofEpochDay(zigzag()) : null;
+        }
+
+        Instant instant() {
+            return bool() ? Instant.ofEpochSecond(zigzag(), varint()) : null;
+        }
+    }
+}
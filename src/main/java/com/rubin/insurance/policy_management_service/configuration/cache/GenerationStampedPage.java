@@ -0,0 +1,13 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.util.Map;
+
+import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+
+/**
+ * A cached policy page together with the generation of every scope it was built from.
+ * The page is only served while all of those generations are unchanged.
+ */
+public record GenerationStampedPage(PageResponse<PolicyResponse> page, Map<String, Long> generations) {
+}
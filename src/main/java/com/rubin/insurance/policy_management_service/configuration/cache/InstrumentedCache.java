@@ -0,0 +1,185 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Counts hits, misses, puts, evictions and failures of a cache and times the loads it performs.
+ * <p>
+ * Failures are rethrown unchanged after being counted; whether a request survives them is up to
+ * the cache error handler. Exceptions raised by a value loader are the loader's, not the cache's,
+ * and are neither counted nor reported to the {@link RedisOutageDetector}.
+ * <p>
+ * A {@link TwoLevelCache} serves most reads from memory, so it reports its own Redis operations to
+ * the detector; wrapping one only counts, otherwise L1 hits would mask a Redis outage.
+ */
+public class InstrumentedCache implements Cache {
+
+    private final Cache delegate;
+    private final MeterRegistry meterRegistry;
+    private final RedisOutageDetector outageDetector;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Timer loads;
+
+    public InstrumentedCache(Cache delegate, MeterRegistry meterRegistry, RedisOutageDetector outageDetector) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.outageDetector = delegate instanceof TwoLevelCache ? null : outageDetector;
+        String name = delegate.getName();
+        this.hits = Counter.builder("cache.gets").tags("cache", name, "result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tags("cache", name, "result", "miss").register(meterRegistry);
+        this.puts = Counter.builder("cache.puts").tags("cache", name).register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tags("cache", name).register(meterRegistry);
+        this.loads = Timer.builder("cache.load")
+                .description("Time spent loading values on a cache miss")
+                .tags("cache", name)
+                .register(meterRegistry);
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = record("get", () -> delegate.get(key));
+        (wrapper != null ? hits : misses).increment();
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = record("get", () -> delegate.get(key, type));
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        AtomicBoolean loaderFailed = new AtomicBoolean();
+        Callable<T> timedLoader = () -> {
+            loaded.set(true);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return valueLoader.call();
+            } catch (Exception ex) {
+                loaderFailed.set(true);
+                throw ex;
+            } finally {
+                sample.stop(loads);
+            }
+        };
+        T value;
+        try {
+            value = delegate.get(key, timedLoader);
+        } catch (RuntimeException ex) {
+            // A wrapped failure may be another caller's loader failing while this one waited on it.
+            if (!loaderFailed.get() && !(ex instanceof ValueRetrievalException)) {
+                recordFailure("get", ex);
+            }
+            throw ex;
+        }
+        recordSuccess();
+        (loaded.get() ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        record("put", () -> {
+            delegate.put(key, value);
+            return null;
+        });
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = record("put", () -> delegate.putIfAbsent(key, value));
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        record("evict", () -> {
+            delegate.evict(key);
+            return null;
+        });
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = record("evict", () -> delegate.evictIfPresent(key));
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        record("clear", () -> {
+            delegate.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        return record("clear", delegate::invalidate);
+    }
+
+    private <T> T record(String operation, Supplier<T> call) {
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException ex) {
+            recordFailure(operation, ex);
+            throw ex;
+        }
+        recordSuccess();
+        return result;
+    }
+
+    private void recordSuccess() {
+        if (outageDetector != null) {
+            outageDetector.recordSuccess();
+        }
+    }
+
+    private void recordFailure(String operation, RuntimeException ex) {
+        Counter.builder("cache.errors")
+                .description("Cache operations that failed")
+                .tags("cache", getName(), "operation", operation, "exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        if (outageDetector != null) {
+            outageDetector.recordFailure(ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lets annotated methods fall back to their own logic when the cache fails, so a Redis outage
+ * costs latency rather than failed requests.
+ * <p>
+ * Failures are already counted by {@link InstrumentedCache}. While the {@link RedisOutageDetector}
+ * reports an outage, individual failures are only logged at debug level to keep the log readable.
+ */
+@Slf4j
+public class MeteredCacheErrorHandler implements CacheErrorHandler {
+
+    private final Supplier<RedisOutageDetector> outageDetector;
+
+    public MeteredCacheErrorHandler(Supplier<RedisOutageDetector> outageDetector) {
+        this.outageDetector = outageDetector;
+    }
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        logFailure("get", cache, key, exception);
+    }
+
+    @Override
+    public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
+        logFailure("put", cache, key, exception);
+    }
+
+    @Override
+    public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+        logFailure("evict", cache, key, exception);
+    }
+
+    @Override
+    public void handleCacheClearError(RuntimeException exception, Cache cache) {
+        logFailure("clear", cache, null, exception);
+    }
+
+    private void logFailure(String operation, Cache cache, Object key, RuntimeException exception) {
+        if (outageDetector.get().isOutage()) {
+            log.debug("Cache {} failed on cache={} key={}: {}", operation, cache.getName(), key, exception.getMessage());
+        } else {
+            log.warn("Cache {} failed on cache={} key={}: {}", operation, cache.getName(), key, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rubin.insurance.policy_management_service.utils.TransactionCallbacks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers "does this id exist?" before a by-id lookup pays for the cache layers and an entity load.
+ * <p>
+ * An in-memory Bloom filter over every existing id is consulted first. It is rebuilt at startup
+ * and periodically, and kept current on insert, locally and from peers over Redis pub/sub.
+ * <ul>
+ *     <li>"maybe" lets the lookup through with no I/O at all, so reads of existing ids never pay
+ *     for the guard.</li>
+ *     <li>"no" for an id at or below the highest id the <em>previous</em> rebuild saw is trusted:
+ *     the lookup fails with no I/O. Every such id was committed before the latest scan, so the
+ *     filter cannot lack it.</li>
+ *     <li>"no" for a newer id may be a peer's insert whose broadcast has not arrived, or was never
+ *     sent, so it is only trusted once the database has confirmed it, through a short-TTL negative
+ *     cache filled by {@link #recordMissing}.</li>
+ * </ul>
+ * Pub/sub is at-most-once: messages published while this node was not subscribed are lost. Every
+ * (re)subscription therefore withdraws trust in the current filters until the next rebuild, and
+ * only the negative cache answers in the meantime. Until the first build completes the filter
+ * answers "maybe" for everything.
+ */
+@Component
+@Slf4j
+public class MissingIdGuard implements MessageListener, SubscriptionListener {
+
+    public enum IdSpace {
+        POLICY("policies", "policyMisses"),
+        CLAIM("claims", "claimMisses");
+
+        private final String table;
+        private final String missCacheName;
+
+        IdSpace(String table, String missCacheName) {
+            this.table = table;
+            this.missCacheName = missCacheName;
+        }
+
+        public String getMissCacheName() {
+            return missCacheName;
+        }
+    }
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate streamingTransaction;
+    private final MeterRegistry meterRegistry;
+    private final String channel;
+    private final double falsePositiveRate;
+
+    private final Map<IdSpace, Filter> filters = new EnumMap<>(IdSpace.class);
+    private final AtomicLong subscriptions = new AtomicLong();
+
+    public MissingIdGuard(CacheManager cacheManager,
+                          StringRedisTemplate redisTemplate,
+                          DataSource dataSource,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${cache.known-ids.channel:known-ids.created}") String channel,
+                          @Value("${cache.known-ids.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Postgres only streams with a fetch size inside a transaction; otherwise it buffers every id.
+        this.jdbcTemplate.setFetchSize(10_000);
+        // Not read-only on purpose: a read-only transaction may be served by a lagging replica, and a
+        // trusted filter must not miss ids that were committed before the scan.
+        this.streamingTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.meterRegistry = meterRegistry;
+        this.channel = channel;
+        this.falsePositiveRate = falsePositiveRate;
+        for (IdSpace space : IdSpace.values()) {
+            filters.put(space, new Filter());
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Touches Redis only when the filter rules the id out but cannot be trusted for it; an id the
+     * filter may contain is answered from memory.
+     *
+     * @return {@code true} when the id does not exist, as far as the filter or the database recently knew
+     */
+    public boolean isKnownMissing(IdSpace space, Long id) {
+        Filter filter = filters.get(space);
+        BloomFilter bloom = filter.current;
+        if (bloom == null || bloom.mightContain(id)) {
+            return false;
+        }
+        if (id <= filter.trustedUpTo) {
+            shortCircuit(space, "bloom");
+            return true;
+        }
+        Cache misses = cacheManager.getCache(space.missCacheName);
+        if (misses != null && misses.get(id) != null) {
+            shortCircuit(space, "negative-cache");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers an id the database reported as missing. Only ids the filter rules out are kept:
+     * the negative cache is never consulted for the others.
+     */
+    public void recordMissing(IdSpace space, Long id) {
+        BloomFilter bloom = filters.get(space).current;
+        if (bloom == null || bloom.mightContain(id)) {
+            return;
+        }
+        Cache misses = cacheManager.getCache(space.missCacheName);
+        if (misses != null) {
+            misses.put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Registers a newly inserted id. Peers and the negative cache are updated once the
+     * surrounding transaction commits, so a rolled-back insert never becomes "known".
+     */
+    public void registerCreated(IdSpace space, Long id) {
+        filters.get(space).put(id);
+        TransactionCallbacks.afterCommit(() -> {
+            Cache misses = cacheManager.getCache(space.missCacheName);
+            if (misses != null) {
+                misses.evict(id);
+            }
+            try {
+                redisTemplate.convertAndSend(channel, space.name() + ":" + id);
+            } catch (Exception ex) {
+                // A peer whose filter lacks the id does not trust it before its next rebuilds include it.
+                log.warn("Failed to broadcast created {} id={}: {}", space, id, ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Bulk variant of {@link #registerCreated(IdSpace, Long)}: one eviction pass and a single
+     * broadcast carrying every id instead of a message per id.
+     */
+    public void registerCreated(IdSpace space, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(filters.get(space)::put);
+        TransactionCallbacks.afterCommit(() -> {
+            Cache misses = cacheManager.getCache(space.missCacheName);
+            if (misses != null) {
+                ids.forEach(misses::evict);
+            }
+            StringJoiner body = new StringJoiner(",", space.name() + ":", "");
+            ids.forEach(id -> body.add(String.valueOf(id)));
+            try {
+                redisTemplate.convertAndSend(channel, body.toString());
+            } catch (Exception ex) {
+                log.warn("Failed to broadcast {} created {} ids: {}", ids.size(), space, ex.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            IdSpace space = IdSpace.valueOf(body.substring(0, separator));
+            for (String id : body.substring(separator + 1).split(",")) {
+                filters.get(space).put(Long.parseLong(id));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Ignoring malformed known-id message: {}", body);
+        }
+    }
+
+    // Called for the first subscription and again after every reconnect; broadcasts sent in between are lost.
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        subscriptions.incrementAndGet();
+        filters.values().forEach(Filter::distrust);
+        log.info("Subscribed to {}; id filters answer from the negative cache until the next rebuild", this.channel);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.known-ids.rebuild-interval:15m}",
+            initialDelayString = "${cache.known-ids.rebuild-interval:15m}")
+    public void rebuild() {
+        for (IdSpace space : IdSpace.values()) {
+            try {
+                rebuild(space);
+            } catch (Exception ex) {
+                log.warn("Failed to rebuild {} id filter, keeping previous one: {}", space, ex.getMessage());
+            }
+        }
+    }
+
+    private void rebuild(IdSpace space) {
+        long started = System.nanoTime();
+        // Broadcasts missed while unsubscribed may be for ids the scan could not see yet.
+        long subscriptionsBefore = subscriptions.get();
+        Filter filter = filters.get(space);
+        filter.beginRebuild();
+        try {
+            streamingTransaction.executeWithoutResult(status -> {
+                Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + space.table, Long.class);
+                // Headroom so inserts between rebuilds do not push the false-positive rate up too quickly.
+                BloomFilter bloom = new BloomFilter(Math.max(1_000, (count == null ? 0 : count) * 2), falsePositiveRate);
+                long[] highest = {Long.MIN_VALUE};
+                jdbcTemplate.query("SELECT id FROM " + space.table, rs -> {
+                    long id = rs.getLong(1);
+                    bloom.put(id);
+                    highest[0] = Math.max(highest[0], id);
+                });
+                boolean subscribedThroughout = subscriptionsBefore > 0 && subscriptions.get() == subscriptionsBefore;
+                filter.completeRebuild(bloom, highest[0], subscribedThroughout);
+                log.info("Rebuilt {} id filter over {} ids in {} ms", space, count, (System.nanoTime() - started) / 1_000_000);
+            });
+        } finally {
+            filter.abandonRebuild();
+        }
+    }
+
+    private void shortCircuit(IdSpace space, String source) {
+        Counter.builder("known_ids.short_circuit")
+                .description("By-id lookups answered as not found without loading the entity")
+                .tags("space", space.name().toLowerCase(), "source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * The live filter plus the ids registered while a replacement is being built, which the
+     * replacement's scan may have missed, and the highest id up to which a "no" is trusted.
+     */
+    private static final class Filter {
+
+        private volatile BloomFilter current;
+        private volatile long trustedUpTo = Long.MIN_VALUE;
+        private long previousScanHighest = Long.MIN_VALUE;
+        private volatile Set<Long> pendingDuringRebuild;
+
+        // Recording as pending before touching the live filter guarantees that an id either gets
+        // drained into a replacement or is put after the swap, straight into the replacement.
+        void put(long id) {
+            Set<Long> pending = pendingDuringRebuild;
+            if (pending != null) {
+                pending.add(id);
+            }
+            BloomFilter bloom = current;
+            if (bloom != null) {
+                bloom.put(id);
+            }
+        }
+
+        void beginRebuild() {
+            pendingDuringRebuild = ConcurrentHashMap.newKeySet();
+        }
+
+        // The latest scan's own highest id is not trusted yet: a lower id can still commit after it
+        // (ids are allocated before commit), and its broadcast may be the only way in. Ids below the
+        // previous scan's highest had a whole rebuild interval to commit and are in this scan.
+        void completeRebuild(BloomFilter replacement, long scanHighest, boolean subscribedThroughout) {
+            current = replacement;
+            pendingDuringRebuild.forEach(replacement::put);
+            trustedUpTo = subscribedThroughout ? previousScanHighest : Long.MIN_VALUE;
+            previousScanHighest = scanHighest;
+        }
+
+        void distrust() {
+            trustedUpTo = Long.MIN_VALUE;
+        }
+
+        void abandonRebuild() {
+            pendingDuringRebuild = null;
+        }
+    }
+}
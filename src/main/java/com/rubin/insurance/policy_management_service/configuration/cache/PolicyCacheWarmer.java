@@ -0,0 +1,223 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.mapper.PolicyMapper;
+import com.rubin.insurance.policy_management_service.repository.ClaimRepository;
+import com.rubin.insurance.policy_management_service.repository.PolicyRepository;
+import com.rubin.insurance.policy_management_service.service.impl.PolicyServiceImpl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Preloads {@code policyById} with the most active policies before the instance reports ready.
+ * Application runners complete before the readiness state flips to accepting traffic, so a pod
+ * only joins the load balancer once the warm-up finished or ran out of its time budget.
+ */
+@Slf4j
+@Component
+public class PolicyCacheWarmer implements ApplicationRunner {
+
+    private final CacheManager cacheManager;
+    private final PolicyRepository policyRepository;
+    private final ClaimRepository claimRepository;
+    private final PolicyMapper policyMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final int size;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration timeBudget;
+    private final Duration openClaimsWindow;
+
+    private final AtomicInteger target = new AtomicInteger();
+    private final AtomicInteger loaded = new AtomicInteger();
+
+    public PolicyCacheWarmer(CacheManager cacheManager,
+                             PolicyRepository policyRepository,
+                             ClaimRepository claimRepository,
+                             PolicyMapper policyMapper,
+                             StringRedisTemplate redisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${cache.warm-up.enabled:true}") boolean enabled,
+                             @Value("${cache.warm-up.size:5000}") int size,
+                             @Value("${cache.warm-up.batch-size:500}") int batchSize,
+                             @Value("${cache.warm-up.concurrency:4}") int concurrency,
+                             @Value("${cache.warm-up.time-budget:30s}") Duration timeBudget,
+                             @Value("${cache.warm-up.open-claims-window:90d}") Duration openClaimsWindow) {
+        this.cacheManager = cacheManager;
+        this.policyRepository = policyRepository;
+        this.claimRepository = claimRepository;
+        this.policyMapper = policyMapper;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.size = size;
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.timeBudget = timeBudget;
+        this.openClaimsWindow = openClaimsWindow;
+
+        Gauge.builder("cache.warmup.progress", this, PolicyCacheWarmer::progress)
+                .description("Fraction of the warm-up target loaded into the cache")
+                .tag("cache", PolicyServiceImpl.CACHE_POLICY_BY_ID)
+                .register(meterRegistry);
+        Gauge.builder("cache.warmup.entries", loaded, AtomicInteger::get)
+                .description("Entries loaded into the cache by the startup warm-up")
+                .tag("cache", PolicyServiceImpl.CACHE_POLICY_BY_ID)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || size <= 0) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(PolicyServiceImpl.CACHE_POLICY_BY_ID);
+        if (cache == null) {
+            return;
+        }
+        if (cache instanceof InstrumentedCache instrumented) {
+            cache = instrumented.getDelegate();
+        }
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        try {
+            List<Long> ids = hottestPolicyIds();
+            target.set(ids.size());
+            warm(cache, ids, deadline);
+        } catch (Exception ex) {
+            // A cold cache is slower, not broken; never hold the pod back because of it.
+            log.warn("Cache warm-up failed, continuing with a cold cache: {}", ex.getMessage());
+        }
+        log.info("Cache warm-up loaded {}/{} policies in {} ms",
+                loaded.get(), target.get(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Policies with open claims are read by adjusters first, so they take precedence over recent updates.
+    // Only recently filed claims are considered, which keeps the query to the newest claim partitions.
+    private List<Long> hottestPolicyIds() {
+        Instant createdSince = Instant.now().minus(openClaimsWindow);
+        Set<Long> ids = new LinkedHashSet<>(claimRepository.findPolicyIdsWithOpenClaims(createdSince, size));
+        for (Long id : policyRepository.findRecentlyUpdatedIds(size)) {
+            if (ids.size() >= size) {
+                break;
+            }
+            ids.add(id);
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private void warm(Cache cache, List<Long> ids, long deadline) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, Thread.ofPlatform()
+                .name("cache-warmup-", 0).daemon().factory());
+        try {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                executor.execute(() -> {
+                    if (System.nanoTime() < deadline) {
+                        loadBatch(cache, batch);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Cache warm-up exceeded its {} budget", timeBudget);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void loadBatch(Cache cache, List<Long> batch) {
+        try {
+            Map<Long, PolicyResponse> entries = new LinkedHashMap<>();
+            for (Policy policy : policyRepository.findAllById(batch)) {
+                entries.put(policy.getId(), policyMapper.toDto(policy));
+            }
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                Map<Long, PolicyResponse> written = writeRemote(twoLevelCache.getRemote(), entries);
+                written.forEach(twoLevelCache::fillLocal);
+            } else {
+                writeRemote(cache, entries);
+            }
+            loaded.addAndGet(entries.size());
+        } catch (Exception ex) {
+            log.warn("Cache warm-up batch of {} policies failed: {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes each entry unless the key is already cached, in one pipelined round trip per batch
+     * instead of a SET per policy. An existing entry was loaded or put by live traffic after this
+     * batch was read, so it is at least as fresh and must not be overwritten.
+     *
+     * @return the entries that were written
+     */
+    private Map<Long, PolicyResponse> writeRemote(Cache remote, Map<Long, PolicyResponse> entries) {
+        Map<Long, PolicyResponse> written = new LinkedHashMap<>();
+        if (!(remote instanceof RedisCache redisCache)) {
+            entries.forEach((id, value) -> {
+                if (remote.putIfAbsent(id, value) == null) {
+                    written.put(id, value);
+                }
+            });
+            return written;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        String prefix = config.getKeyPrefixFor(redisCache.getName());
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((id, value) -> {
+                byte[] key = ByteUtils.getBytes(config.getKeySerializationPair().write(prefix + id));
+                byte[] bytes = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                Duration ttl = config.getTtlFunction().getTimeToLive(id, value);
+                Expiration expiration = ttl == null || ttl.isZero() || ttl.isNegative()
+                        ? Expiration.persistent()
+                        : Expiration.from(ttl);
+                connection.stringCommands().set(key, bytes, expiration, RedisStringCommands.SetOption.ifAbsent());
+            });
+            return null;
+        });
+        int index = 0;
+        for (Map.Entry<Long, PolicyResponse> entry : entries.entrySet()) {
+            if (index < results.size() && Boolean.TRUE.equals(results.get(index))) {
+                written.put(entry.getKey(), entry.getValue());
+            }
+            index++;
+        }
+        return written;
+    }
+
+    private double progress() {
+        int total = target.get();
+        return total == 0 ? 0.0 : (double) loaded.get() / total;
+    }
+}
@@ -0,0 +1,12 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.util.List;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+
+/**
+ * The cached claim list of one policy, ordered by claim id. An empty list means the policy exists
+ * but has no claims, so it is cached like any other result.
+ */
+public record PolicyClaims(List<ClaimResponse> claims) {
+}
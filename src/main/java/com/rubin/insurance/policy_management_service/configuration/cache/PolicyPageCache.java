@@ -0,0 +1,308 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.utils.TransactionCallbacks;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generation-versioned cache for {@code /policy/all} pages.
+ * <p>
+ * Instead of clearing every cached page on each write, writes bump a small set of Redis counters
+ * and cached pages are stamped with the counters they depend on:
+ * <ul>
+ *     <li>{@code epoch} - folded into every page key, bumped only for a full invalidation</li>
+ *     <li>{@code seg:n} - one per block of policy ids, bumped when a policy in that block changes.
+ *     An insert shifts every row after it by one position, so it bumps its own block and every
+ *     block above it, up to the highest block a cached page has reached ({@code seg-max})</li>
+ *     <li>{@code tail} - bumped on insert; the last page of an ascending id listing depends on it,
+ *     and so does every page of a descending one, which starts at the newest ids</li>
+ *     <li>{@code any} - bumped on every write; used by pages not ordered by id, whose range is unknown</li>
+ * </ul>
+ * Ids are allocated from a sequence, so inserts land in the top block or just below it (other
+ * nodes' pre-allocated ranges) and an insert normally bumps only a block or two.
+ * Superseded pages are never deleted, they simply stop matching and age out through the cache TTL.
+ * Totals shown on pages that do not contain a new policy may lag behind until that TTL expires.
+ */
+@Component
+@Slf4j
+public class PolicyPageCache {
+
+    public static final String CACHE_NAME = "policyPages";
+
+    private static final String GENERATION_PREFIX = CACHE_NAME + ":gen:";
+    private static final String EPOCH = "epoch";
+    private static final String TAIL = "tail";
+    private static final String ANY = "any";
+    private static final String SEGMENT = "seg:";
+    private static final String HIGHEST_SEGMENT = "seg-max";
+
+    // Missing counters are seeded from the clock so an evicted counter can never fall back to a value
+    // that an older entry was stamped with.
+    private static final RedisScript<List> READ_GENERATIONS = new DefaultRedisScript<>("""
+            local result = {}
+            for i, key in ipairs(KEYS) do
+              local value = redis.call('GET', key)
+              if not value then
+                redis.call('SET', key, ARGV[1])
+                value = ARGV[1]
+              end
+              result[i] = tonumber(value)
+            end
+            return result
+            """, List.class);
+
+    private static final RedisScript<Long> BUMP_GENERATIONS = new DefaultRedisScript<>("""
+            for _, key in ipairs(KEYS) do
+              if redis.call('EXISTS', key) == 1 then
+                redis.call('INCR', key)
+              else
+                redis.call('SET', key, ARGV[1])
+              end
+            end
+            return #KEYS
+            """, Long.class);
+
+    // KEYS[1] is seg-max, the rest are bumped as given; ARGV[2] is the segment key prefix and ARGV[3..4] the
+    // lowest and highest inserted segment. Segment keys are derived in the script so the range is read
+    // and bumped atomically, which means this Redis must not be a cluster.
+    private static final RedisScript<Long> BUMP_INSERTED = new DefaultRedisScript<>("""
+            local function bump(key)
+              if redis.call('EXISTS', key) == 1 then
+                redis.call('INCR', key)
+              else
+                redis.call('SET', key, ARGV[1])
+              end
+            end
+            local highest = math.max(tonumber(redis.call('GET', KEYS[1]) or ARGV[4]), tonumber(ARGV[4]))
+            redis.call('SET', KEYS[1], highest)
+            for i = 2, #KEYS do
+              bump(KEYS[i])
+            end
+            for segment = tonumber(ARGV[3]), highest do
+              bump(ARGV[2] .. segment)
+            end
+            return highest
+            """, Long.class);
+
+    private static final RedisScript<Long> RAISE_HIGHEST_SEGMENT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or ARGV[1])
+            if tonumber(ARGV[1]) >= current then
+              redis.call('SET', KEYS[1], ARGV[1])
+            end
+            return current
+            """, Long.class);
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final long segmentSize;
+
+    public PolicyPageCache(CacheManager cacheManager,
+                           StringRedisTemplate redisTemplate,
+                           @Value("${cache.policy-pages.segment-size:1000}") long segmentSize) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.segmentSize = segmentSize;
+    }
+
+    public PageResponse<PolicyResponse> get(Pageable pageable) {
+        try {
+            long epoch = readGenerations(List.of(EPOCH)).get(EPOCH);
+            Cache.ValueWrapper wrapper = cache().get(pageKey(epoch, pageable));
+            if (wrapper == null || !(wrapper.get() instanceof GenerationStampedPage stamped)) {
+                return null;
+            }
+            Map<String, Long> current = readGenerations(new ArrayList<>(stamped.generations().keySet()));
+            return current.equals(stamped.generations()) ? stamped.page() : null;
+        } catch (Exception ex) {
+            log.warn("Policy page cache lookup failed for {}: {}", pageable, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the generations every write bumps. Taken before the page query and handed to
+     * {@link #put}, so a page is only cached when no write committed while it was being read.
+     *
+     * @return {@code null} when Redis is unavailable; the page is then not cached
+     */
+    public Snapshot snapshot() {
+        try {
+            Map<String, Long> generations = readGenerations(List.of(EPOCH, ANY));
+            return new Snapshot(generations.get(EPOCH), generations.get(ANY));
+        } catch (Exception ex) {
+            log.warn("Policy page generation snapshot failed: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    public void put(Pageable pageable, PageResponse<PolicyResponse> page, Snapshot before) {
+        if (before == null) {
+            return;
+        }
+        try {
+            List<String> dependencies = dependencies(pageable, page);
+            // Before the generations are read: an insert bumping after that read must reach this page's blocks.
+            raiseHighestSegment(page);
+            Set<String> scopes = new LinkedHashSet<>(dependencies);
+            scopes.add(EPOCH);
+            scopes.add(ANY);
+            Map<String, Long> generations = readGenerations(new ArrayList<>(scopes));
+            // Every write bumps 'any' after it commits. If it moved, the rows may predate a write whose
+            // segment bump has already happened, and stamping them with the new generations would keep
+            // them current until the TTL.
+            if (generations.get(EPOCH) != before.epoch() || generations.get(ANY) != before.any()) {
+                log.debug("Not caching policy page {}: written while it was read", pageable);
+                return;
+            }
+            Map<String, Long> stamp = new LinkedHashMap<>();
+            dependencies.forEach(scope -> stamp.put(scope, generations.get(scope)));
+            stamp.put(EPOCH, before.epoch());
+            cache().put(pageKey(before.epoch(), pageable), new GenerationStampedPage(page, stamp));
+        } catch (Exception ex) {
+            log.warn("Policy page cache store failed for {}: {}", pageable, ex.getMessage());
+        }
+    }
+
+    public void onPolicyCreated(Long policyId) {
+        onPoliciesCreated(List.of(policyId));
+    }
+
+    public void onPoliciesCreated(Collection<Long> policyIds) {
+        if (policyIds.isEmpty()) {
+            return;
+        }
+        long lowest = policyIds.stream().mapToLong(this::segmentOf).min().orElseThrow();
+        long highest = policyIds.stream().mapToLong(this::segmentOf).max().orElseThrow();
+        TransactionCallbacks.afterCommit(() -> bumpInsertedNow(lowest, highest));
+    }
+
+    public void onPolicyUpdated(Long policyId) {
+        bump(List.of(ANY, segment(policyId)));
+    }
+
+    public void onPoliciesUpdated(Collection<Long> policyIds) {
+        if (policyIds.isEmpty()) {
+            return;
+        }
+        Set<String> scopes = new LinkedHashSet<>(List.of(ANY));
+        policyIds.forEach(id -> scopes.add(segment(id)));
+        bump(new ArrayList<>(scopes));
+    }
+
+    public void invalidateAll() {
+        bump(List.of(EPOCH));
+    }
+
+    private List<String> dependencies(Pageable pageable, PageResponse<PolicyResponse> page) {
+        Sort.Order order = idOrder(pageable.getSort());
+        if (order == null) {
+            return List.of(ANY);
+        }
+        List<String> scopes = new ArrayList<>();
+        if (!page.content().isEmpty()) {
+            long first = segmentOf(page.content().getFirst().id());
+            long last = segmentOf(page.content().getLast().id());
+            for (long segment = Math.min(first, last); segment <= Math.max(first, last); segment++) {
+                scopes.add(SEGMENT + segment);
+            }
+        }
+        if (page.pagination().last() || order.isDescending()) {
+            scopes.add(TAIL);
+        }
+        return scopes;
+    }
+
+    private static Sort.Order idOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && orders.getFirst().getProperty().equals("id") ? orders.getFirst() : null;
+    }
+
+    // After commit: a bump before it would let a reader re-cache the old rows under the new generations.
+    private void bump(List<String> scopes) {
+        TransactionCallbacks.afterCommit(() -> bumpNow(scopes));
+    }
+
+    private void bumpNow(List<String> scopes) {
+        try {
+            redisTemplate.execute(BUMP_GENERATIONS, redisKeys(scopes), seed());
+        } catch (Exception ex) {
+            // Affected pages may be served stale until they reach their TTL.
+            log.warn("Failed to bump policy page generations {}: {}", scopes, ex.getMessage());
+        }
+    }
+
+    private void bumpInsertedNow(long lowestSegment, long highestSegment) {
+        try {
+            redisTemplate.execute(BUMP_INSERTED, redisKeys(List.of(HIGHEST_SEGMENT, TAIL, ANY)), seed(),
+                    GENERATION_PREFIX + SEGMENT, String.valueOf(lowestSegment), String.valueOf(highestSegment));
+        } catch (Exception ex) {
+            log.warn("Failed to bump policy page generations for inserts in segments {}-{}: {}",
+                    lowestSegment, highestSegment, ex.getMessage());
+        }
+    }
+
+    private void raiseHighestSegment(PageResponse<PolicyResponse> page) {
+        if (page.content().isEmpty()) {
+            return;
+        }
+        long highest = Math.max(segmentOf(page.content().getFirst().id()), segmentOf(page.content().getLast().id()));
+        redisTemplate.execute(RAISE_HIGHEST_SEGMENT, redisKeys(List.of(HIGHEST_SEGMENT)), String.valueOf(highest));
+    }
+
+    private Map<String, Long> readGenerations(List<String> scopes) {
+        List<?> values = redisTemplate.execute(READ_GENERATIONS, redisKeys(scopes), seed());
+        Map<String, Long> generations = new LinkedHashMap<>();
+        for (int i = 0; i < scopes.size(); i++) {
+            generations.put(scopes.get(i), ((Number) values.get(i)).longValue());
+        }
+        return generations;
+    }
+
+    private static List<String> redisKeys(List<String> scopes) {
+        return scopes.stream().map(scope -> GENERATION_PREFIX + scope).toList();
+    }
+
+    private static String seed() {
+        return String.valueOf(System.currentTimeMillis() * 1000);
+    }
+
+    private String segment(Long policyId) {
+        return SEGMENT + segmentOf(policyId);
+    }
+
+    private long segmentOf(Long policyId) {
+        return policyId / segmentSize;
+    }
+
+    private static String pageKey(long epoch, Pageable pageable) {
+        return String.format("g=%s_p=%s_s=%s_sort=%s",
+                epoch, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    public record Snapshot(long epoch, long any) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks consecutive failed cache operations against Redis. After {@code failureThreshold} failures
+ * in a row Redis is reported as down until the next successful operation.
+ * <p>
+ * The state is published as the {@code cache.redis.outage} gauge (1 while down) and each transition
+ * is logged once, instead of one log line per failed call.
+ */
+@Slf4j
+public class RedisOutageDetector {
+
+    private final int failureThreshold;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean outage = new AtomicBoolean();
+
+    public RedisOutageDetector(MeterRegistry meterRegistry, int failureThreshold) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        Gauge.builder("cache.redis.outage", this, detector -> detector.isOutage() ? 1 : 0)
+                .description("1 while cache operations against Redis keep failing, 0 otherwise")
+                .register(meterRegistry);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (outage.compareAndSet(true, false)) {
+            log.info("Redis cache operations are succeeding again");
+        }
+    }
+
+    public void recordFailure(RuntimeException ex) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && outage.compareAndSet(false, true)) {
+            log.error("Redis cache considered down after {} consecutive failures, serving from the database: {}",
+                    failureThreshold, ex.getMessage());
+        }
+    }
+
+    public boolean isOutage() {
+        return outage.get();
+    }
+}
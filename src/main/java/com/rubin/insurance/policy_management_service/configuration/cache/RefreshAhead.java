@@ -0,0 +1,154 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.rubin.insurance.policy_management_service.configuration.datasource.ReadYourWrites;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reloads entries that are read shortly before they expire, so popular keys never fall out of
+ * the shared tier and callers keep being served the current value meanwhile.
+ * <p>
+ * The remaining TTL is checked off the request thread and only on L2 hits. Hot keys are re-read
+ * from L2 every time their L1 copy expires, so the window should be longer than the L1 TTL.
+ * Refreshes run on a small bounded pool; when it is saturated the refresh is dropped and the entry
+ * simply expires as before. A Redis lease keeps peers from refreshing the same key together.
+ * <p>
+ * The reloaded value replaces the entry only if the entry still holds the bytes read before the
+ * reload. A write that lands while the reload runs is at least as new as the reload, so the
+ * refresh is dropped rather than overwriting it.
+ */
+@Slf4j
+public class RefreshAhead implements DisposableBean {
+
+    private static final String LEASE_PREFIX = "refresh:";
+
+    // KEYS[1] entry; ARGV[1] bytes read before the reload, ARGV[2] reloaded bytes, ARGV[3] TTL in ms (0: none).
+    private static final byte[] COMPARE_AND_SET = """
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+              return 0
+            end
+            if tonumber(ARGV[3]) > 0 then
+              redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            else
+              redis.call('SET', KEYS[1], ARGV[2])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheLoadLease loadLease;
+    private final Duration window;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public RefreshAhead(StringRedisTemplate redisTemplate,
+                        CacheLoadLease loadLease,
+                        Duration window,
+                        int threads,
+                        int queueCapacity) {
+        this.redisTemplate = redisTemplate;
+        this.loadLease = loadLease;
+        this.window = window;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("cache-refresh-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    void onRemoteHit(TwoLevelCache cache, Object key, String localKey, Callable<?> valueLoader) {
+        if (window.isZero() || window.isNegative()) {
+            return;
+        }
+        String flightKey = cache.getName() + "::" + localKey;
+        if (!inFlight.add(flightKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refreshIfExpiring(cache, key, localKey, valueLoader);
+                } finally {
+                    inFlight.remove(flightKey);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(flightKey);
+            cache.recordRefreshRejected();
+        }
+    }
+
+    private void refreshIfExpiring(TwoLevelCache cache, Object key, String localKey, Callable<?> valueLoader) {
+        String remoteKey = cache.remoteKey(key);
+        if (remoteKey == null) {
+            return;
+        }
+        try {
+            // -2 means the entry is already gone and -1 that it never expires; neither needs a refresh.
+            Long remainingMillis = redisTemplate.getExpire(remoteKey, TimeUnit.MILLISECONDS);
+            if (remainingMillis == null || remainingMillis < 0 || remainingMillis > window.toMillis()) {
+                return;
+            }
+        } catch (Exception ex) {
+            log.debug("Skipping refresh-ahead for cache={} key={}: {}", cache.getName(), localKey, ex.getMessage());
+            return;
+        }
+        String leaseKey = LEASE_PREFIX + localKey;
+        if (!loadLease.tryAcquire(cache.getName(), leaseKey)) {
+            return;
+        }
+        try {
+            byte[] rawKey = remoteKey.getBytes(StandardCharsets.UTF_8);
+            byte[] before = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+            if (before == null) {
+                // Expired meanwhile; the next read loads it through the load lease.
+                return;
+            }
+            // On the primary, like a load, so the reload is never older than the database.
+            Object value = ReadYourWrites.callPinned(valueLoader);
+            TwoLevelCache.RemoteEntry entry = value == null ? null : cache.remoteEntry(key, value);
+            if (entry == null) {
+                return;
+            }
+            if (compareAndSet(rawKey, before, entry)) {
+                // Like a load it reflects the database, so peers need no invalidation.
+                cache.fillLocal(key, value);
+                cache.recordRefreshed();
+            } else {
+                cache.recordRefreshSuperseded();
+            }
+        } catch (Exception ex) {
+            cache.recordRefreshFailed();
+            log.warn("Refresh-ahead failed for cache={} key={}: {}", cache.getName(), localKey, ex.getMessage());
+        } finally {
+            loadLease.release(cache.getName(), leaseKey);
+        }
+    }
+
+    private boolean compareAndSet(byte[] rawKey, byte[] expected, TwoLevelCache.RemoteEntry entry) {
+        long ttlMillis = entry.ttl() == null || entry.ttl().isNegative() ? 0 : entry.ttl().toMillis();
+        Long written = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands().eval(
+                COMPARE_AND_SET, ReturnType.INTEGER, 1,
+                rawKey, expected, entry.value(), String.valueOf(ttlMillis).getBytes(StandardCharsets.UTF_8)));
+        return written != null && written == 1L;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,48 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records the serialized size of every value a cache writes to or reads from Redis.
+ */
+public class SizeRecordingRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+    private final DistributionSummary writes;
+    private final DistributionSummary reads;
+
+    public SizeRecordingRedisSerializer(RedisSerializer<Object> delegate, MeterRegistry meterRegistry, String cacheName) {
+        this.delegate = delegate;
+        this.writes = summary(meterRegistry, cacheName, "write");
+        this.reads = summary(meterRegistry, cacheName, "read");
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            writes.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            reads.record(bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+
+    private static DistributionSummary summary(MeterRegistry meterRegistry, String cacheName, String operation) {
+        return DistributionSummary.builder("cache.payload.size")
+                .description("Serialized size of cache values exchanged with Redis")
+                .baseUnit("bytes")
+                .tags("cache", cacheName, "operation", operation)
+                .register(meterRegistry);
+    }
+}
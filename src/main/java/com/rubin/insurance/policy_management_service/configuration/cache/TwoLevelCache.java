@@ -0,0 +1,388 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import com.rubin.insurance.policy_management_service.configuration.datasource.ReadYourWrites;
+
+/**
+ * A bounded in-process cache (L1) in front of the shared Redis cache (L2).
+ * Reads are served from L1 when possible and back-filled from L2 on an L1 miss.
+ * Writes go to both tiers and are broadcast so peers drop their stale L1 copy.
+ * <p>
+ * Misses loaded through {@link #get(Object, Callable)} are coalesced: one loader per key runs on
+ * this node, and a Redis lease keeps other nodes waiting on the shared tier rather than reloading.
+ * A waiter stops as soon as the lease is released without a fill, e.g. because the holder's load
+ * failed, and loads for itself instead of waiting out the full lease wait.
+ * Entries served from L2 through that path are handed to {@link RefreshAhead}, when configured,
+ * so they can be reloaded before they expire. Loads read the primary even when called from a
+ * read-only transaction, and only fill the shared tier when it has no entry yet: a {@link #put}
+ * that landed while the load ran is newer than what was loaded.
+ * <p>
+ * Only operations that reach L2 are reported to the {@link RedisOutageDetector}; an L1 hit says
+ * nothing about whether Redis is reachable.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheLoadLease loadLease;
+    private final RefreshAhead refreshAhead;
+    private final RedisOutageDetector outageDetector;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final LongAdder leaseWaitsFilled = new LongAdder();
+    private final LongAdder leaseWaitsTimedOut = new LongAdder();
+    private final LongAdder leaseWaitsReleased = new LongAdder();
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshesRejected = new LongAdder();
+    private final LongAdder refreshesFailed = new LongAdder();
+    private final LongAdder refreshesSuperseded = new LongAdder();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote,
+                         CacheInvalidationBus invalidationBus,
+                         CacheLoadLease loadLease,
+                         RefreshAhead refreshAhead,
+                         RedisOutageDetector outageDetector) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.loadLease = loadLease;
+        this.refreshAhead = refreshAhead;
+        this.outageDetector = outageDetector;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper wrapper = getLocal(localKey);
+        return wrapper != null ? wrapper : getRemote(key, localKey);
+    }
+
+    private ValueWrapper getLocal(String localKey) {
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        l1Misses.increment();
+        return null;
+    }
+
+    private ValueWrapper getRemote(Object key, String localKey) {
+        ValueWrapper wrapper = callRemote(() -> remote.get(key));
+        if (wrapper == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        if (wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        ValueWrapper wrapper = getLocal(localKey);
+        if (wrapper == null) {
+            wrapper = getRemote(key, localKey);
+            if (wrapper != null && refreshAhead != null) {
+                refreshAhead.onRemoteHit(this, key, localKey, valueLoader);
+            }
+        }
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        try {
+            return singleFlight.execute(localKey, () -> loadWithLease(key, localKey, valueLoader));
+        } catch (ValueRetrievalException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T loadWithLease(Object key, String localKey, Callable<T> valueLoader) throws Exception {
+        if (!loadLease.tryAcquire(name, localKey)) {
+            ValueWrapper filled = awaitRemoteFill(key, localKey);
+            if (filled != null) {
+                leaseWaitsFilled.increment();
+                if (filled.get() != null) {
+                    local.put(localKey, filled.get());
+                }
+                return (T) filled.get();
+            }
+            // The lease holder failed, found nothing, is slow or died; load here rather than fail the request.
+            T value = load(valueLoader);
+            fill(key, localKey, value);
+            return value;
+        }
+        try {
+            T value = load(valueLoader);
+            fill(key, localKey, value);
+            return value;
+        } finally {
+            // Also on failure, so waiting peers learn straight away that no fill is coming.
+            loadLease.release(name, localKey);
+        }
+    }
+
+    private ValueWrapper awaitRemoteFill(Object key, String localKey) {
+        long deadline = System.nanoTime() + loadLease.getMaxWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(loadLease.getPollInterval().toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            ValueWrapper wrapper = callRemote(() -> remote.get(key));
+            if (wrapper != null) {
+                return wrapper;
+            }
+            if (!loadLease.isHeld(name, localKey)) {
+                // The holder fills before it releases, so look once more in case both happened since the read.
+                wrapper = callRemote(() -> remote.get(key));
+                if (wrapper == null) {
+                    leaseWaitsReleased.increment();
+                }
+                return wrapper;
+            }
+        }
+        leaseWaitsTimedOut.increment();
+        return null;
+    }
+
+    // Loads read the primary: the result is shared for the whole TTL, and a replica read could be up
+    // to max-lag behind a write whose @CachePut it would then overwrite.
+    private <T> T load(Callable<T> valueLoader) throws Exception {
+        return ReadYourWrites.callPinned(valueLoader);
+    }
+
+    // A load fills the cache with what the database already holds, so peers need no invalidation.
+    // SET NX: an entry written since the miss came from a put, which is at least as new as the load.
+    private void fill(Object key, String localKey, Object value) {
+        if (value == null) {
+            return;
+        }
+        ValueWrapper existing = callRemote(() -> remote.putIfAbsent(key, value));
+        Object current = existing != null && existing.get() != null ? existing.get() : value;
+        local.put(localKey, current);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        callRemote(() -> {
+            remote.put(key, value);
+            return null;
+        });
+        String localKey = localKey(key);
+        if (value != null) {
+            local.put(localKey, value);
+        } else {
+            local.invalidate(localKey);
+        }
+        invalidationBus.publish(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        callRemote(() -> {
+            remote.evict(key);
+            return null;
+        });
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        invalidationBus.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        callRemote(() -> {
+            remote.clear();
+            return null;
+        });
+        local.invalidateAll();
+        invalidationBus.publish(name, null);
+    }
+
+    private <T> T callRemote(Supplier<T> call) {
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException ex) {
+            outageDetector.recordFailure(ex);
+            throw ex;
+        }
+        outageDetector.recordSuccess();
+        return result;
+    }
+
+    Cache getRemote() {
+        return remote;
+    }
+
+    /**
+     * @return the Redis key the shared tier stores this entry under, or {@code null} when it is not Redis-backed
+     */
+    String remoteKey(Object key) {
+        if (!(remote instanceof RedisCache redisCache)) {
+            return null;
+        }
+        return redisCache.getCacheConfiguration().getKeyPrefixFor(name) + localKey(key);
+    }
+
+    /**
+     * @return the bytes and TTL the shared tier would store this value with, or {@code null} when it is not Redis-backed
+     */
+    RemoteEntry remoteEntry(Object key, Object value) {
+        if (!(remote instanceof RedisCache redisCache)) {
+            return null;
+        }
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        byte[] bytes = ByteUtils.getBytes(configuration.getValueSerializationPair().write(value));
+        return new RemoteEntry(bytes, configuration.getTtlFunction().getTimeToLive(key, value));
+    }
+
+    void recordRefreshed() {
+        refreshes.increment();
+    }
+
+    void recordRefreshRejected() {
+        refreshesRejected.increment();
+    }
+
+    void recordRefreshFailed() {
+        refreshesFailed.increment();
+    }
+
+    void recordRefreshSuperseded() {
+        refreshesSuperseded.increment();
+    }
+
+    void fillLocal(Object key, Object value) {
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+    }
+
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public long l1HitCount() {
+        return l1Hits.sum();
+    }
+
+    public long l1MissCount() {
+        return l1Misses.sum();
+    }
+
+    public long l2HitCount() {
+        return l2Hits.sum();
+    }
+
+    public long l2MissCount() {
+        return l2Misses.sum();
+    }
+
+    public long coalescedWaiterCount() {
+        return singleFlight.coalescedCount();
+    }
+
+    public long leaseWaitFilledCount() {
+        return leaseWaitsFilled.sum();
+    }
+
+    public long leaseWaitTimedOutCount() {
+        return leaseWaitsTimedOut.sum();
+    }
+
+    public long leaseWaitReleasedCount() {
+        return leaseWaitsReleased.sum();
+    }
+
+    public long refreshCount() {
+        return refreshes.sum();
+    }
+
+    public long refreshRejectedCount() {
+        return refreshesRejected.sum();
+    }
+
+    public long refreshFailedCount() {
+        return refreshesFailed.sum();
+    }
+
+    public long refreshSupersededCount() {
+        return refreshesSuperseded.sum();
+    }
+
+    public double l1HitRatio() {
+        return ratio(l1Hits.sum(), l1Misses.sum());
+    }
+
+    public double l2HitRatio() {
+        return ratio(l2Hits.sum(), l2Misses.sum());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    // Redis keys are already strings, so normalising here lets remote invalidations match local entries.
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    record RemoteEntry(byte[] value, Duration ttl) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps the Redis cache manager and layers an L1 tier over the configured cache names.
+ * All other caches are handed out unchanged.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheLoadLease loadLease;
+    private final RefreshAhead refreshAhead;
+    private final RedisOutageDetector outageDetector;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> localCacheNames;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                CacheInvalidationBus invalidationBus,
+                                CacheLoadLease loadLease,
+                                RefreshAhead refreshAhead,
+                                RedisOutageDetector outageDetector,
+                                MeterRegistry meterRegistry,
+                                Set<String> localCacheNames,
+                                long localMaximumSize,
+                                Duration localTtl) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.loadLease = loadLease;
+        this.refreshAhead = refreshAhead;
+        this.outageDetector = outageDetector;
+        this.meterRegistry = meterRegistry;
+        this.localCacheNames = Set.copyOf(localCacheNames);
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null || !localCacheNames.contains(name)) {
+            return remote;
+        }
+        return caches.computeIfAbsent(name, cacheName -> createTwoLevelCache(cacheName, remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createTwoLevelCache(String name, Cache remote) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        TwoLevelCache cache = new TwoLevelCache(name, local, remote, invalidationBus, loadLease, refreshAhead, outageDetector);
+        invalidationBus.register(cache);
+        bindMetrics(cache);
+        return cache;
+    }
+
+    private void bindMetrics(TwoLevelCache cache) {
+        String name = cache.getName();
+        FunctionCounter.builder("cache.tier.gets", cache, TwoLevelCache::l1HitCount)
+                .tags("cache", name, "tier", "l1", "result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", cache, TwoLevelCache::l1MissCount)
+                .tags("cache", name, "tier", "l1", "result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", cache, TwoLevelCache::l2HitCount)
+                .tags("cache", name, "tier", "l2", "result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", cache, TwoLevelCache::l2MissCount)
+                .tags("cache", name, "tier", "l2", "result", "miss").register(meterRegistry);
+        Gauge.builder("cache.tier.hit.ratio", cache, TwoLevelCache::l1HitRatio)
+                .tags("cache", name, "tier", "l1").register(meterRegistry);
+        Gauge.builder("cache.tier.hit.ratio", cache, TwoLevelCache::l2HitRatio)
+                .tags("cache", name, "tier", "l2").register(meterRegistry);
+        FunctionCounter.builder("cache.load.coalesced", cache, TwoLevelCache::coalescedWaiterCount)
+                .description("Callers that awaited an in-flight load on this node instead of loading")
+                .tags("cache", name).register(meterRegistry);
+        FunctionCounter.builder("cache.load.lease.waits", cache, TwoLevelCache::leaseWaitFilledCount)
+                .description("Loads skipped because another node held the lease and filled the entry")
+                .tags("cache", name, "outcome", "filled").register(meterRegistry);
+        FunctionCounter.builder("cache.load.lease.waits", cache, TwoLevelCache::leaseWaitTimedOutCount)
+                .description("Loads performed after waiting out another node's lease")
+                .tags("cache", name, "outcome", "timeout").register(meterRegistry);
+        FunctionCounter.builder("cache.load.lease.waits", cache, TwoLevelCache::leaseWaitReleasedCount)
+                .description("Loads performed after another node released its lease without filling the entry")
+                .tags("cache", name, "outcome", "released").register(meterRegistry);
+        FunctionCounter.builder("cache.refresh.ahead", cache, TwoLevelCache::refreshCount)
+                .description("Entries reloaded shortly before they expired")
+                .tags("cache", name, "outcome", "refreshed").register(meterRegistry);
+        FunctionCounter.builder("cache.refresh.ahead", cache, TwoLevelCache::refreshRejectedCount)
+                .description("Refreshes dropped because the refresh pool was saturated")
+                .tags("cache", name, "outcome", "rejected").register(meterRegistry);
+        FunctionCounter.builder("cache.refresh.ahead", cache, TwoLevelCache::refreshFailedCount)
+                .description("Refreshes whose reload failed")
+                .tags("cache", name, "outcome", "failed").register(meterRegistry);
+        FunctionCounter.builder("cache.refresh.ahead", cache, TwoLevelCache::refreshSupersededCount)
+                .description("Refreshes discarded because the entry was rewritten while reloading")
+                .tags("cache", name, "outcome", "superseded").register(meterRegistry);
+    }
+}
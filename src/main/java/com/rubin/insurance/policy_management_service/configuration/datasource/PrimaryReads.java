@@ -0,0 +1,40 @@
+package com.rubin.insurance.policy_management_service.configuration.datasource;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Re-runs a read against the primary when the current one may have been answered by a replica.
+ * <p>
+ * Replicas lag the primary by up to {@code datasource.replicas.max-lag}, so a row created a moment
+ * ago elsewhere may not be there yet. Services use this to confirm a miss before answering 404 or
+ * caching it as missing.
+ */
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate primaryTransaction;
+    private final boolean replicasEnabled;
+
+    public PrimaryReads(TransactionTemplate transactionTemplate,
+                        @Value("${datasource.replicas.urls:}") String replicaUrls) {
+        this.primaryTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.replicasEnabled = !replicaUrls.isBlank();
+    }
+
+    public boolean mayBeStale() {
+        return replicasEnabled
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.isPinned();
+    }
+
+    public <T> T read(Supplier<T> query) {
+        return primaryTransaction.execute(status -> query.get());
+    }
+}
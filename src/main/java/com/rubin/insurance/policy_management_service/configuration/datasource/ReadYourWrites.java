@@ -0,0 +1,43 @@
+package com.rubin.insurance.policy_management_service.configuration.datasource;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Marks the current thread as serving a client that wrote recently, or as loading a shared cache
+ * entry, so its reads go to the primary even inside read-only transactions.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * Runs {@code action} with reads pinned to the primary. Only transactions started inside it are
+     * affected; one already holding a replica connection keeps it.
+     */
+    public static <T> T callPinned(Callable<T> action) throws Exception {
+        if (isPinned()) {
+            return action.call();
+        }
+        pin();
+        try {
+            return action.call();
+        } finally {
+            clear();
+        }
+    }
+
+    static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED.remove();
+    }
+}
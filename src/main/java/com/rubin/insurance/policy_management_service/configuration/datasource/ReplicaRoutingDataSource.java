@@ -0,0 +1,185 @@
+package com.rubin.insurance.policy_management_service.configuration.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything
+ * else.
+ * <p>
+ * Replicas are used round-robin while they pass the periodic health check, which also takes a
+ * replica out of rotation once it lags the primary by more than {@code maxLag}. A replica that
+ * fails to hand out a connection is taken out immediately and the request falls back to the
+ * primary. Reads of clients inside their read-your-writes window always go to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    static final String PRIMARY = "primary";
+
+    // A replica that has replayed everything it received is current however old its last replayed
+    // transaction is, but only while it is still receiving: a WAL receiver that disconnected has also
+    // replayed all it got. NULL when not streaming. Reading the receiver status needs pg_read_all_stats
+    // (or pg_monitor); without it every replica reads as not streaming and reads stay on the primary.
+    private static final String REPLICATION_LAG_SECONDS = """
+            SELECT CASE WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final MeterRegistry meterRegistry;
+    private final Counter primaryConnections;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.meterRegistry = meterRegistry;
+        this.primaryConnections = connectionCounter(PRIMARY);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, connectionCounter(name));
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1.0 : 0.0)
+                    .description("Whether the read replica is in rotation")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = readReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.connections.increment();
+                return connection;
+            } catch (SQLException ex) {
+                takeOutOfRotation(replica, ex.getMessage());
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are opened with the configured credentials");
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem != null) {
+                takeOutOfRotation(replica, problem);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Read replica {} is back in rotation", replica.name);
+            }
+        }
+    }
+
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Replica readReplica() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWrites.isPinned()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private String probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(REPLICATION_LAG_SECONDS)) {
+            rs.next();
+            double lagSeconds = rs.getDouble(1);
+            if (rs.wasNull()) {
+                return "WAL receiver is not streaming from the primary";
+            }
+            return lagSeconds * 1000 > maxLag.toMillis()
+                    ? String.format("replication lag %.1fs exceeds %s", lagSeconds, maxLag)
+                    : null;
+        } catch (SQLException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private void takeOutOfRotation(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} taken out of rotation, reads fall back to the primary: {}", replica.name, reason);
+        }
+    }
+
+    private Counter connectionCounter(String pool) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter connections;
+        // Out of rotation until the first health check has seen it current.
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+    }
+}
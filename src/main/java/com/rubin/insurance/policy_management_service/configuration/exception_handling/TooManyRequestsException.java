@@ -0,0 +1,14 @@
+package com.rubin.insurance.policy_management_service.configuration.exception_handling;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends ApiException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
@@ -2,10 +2,20 @@ package com.rubin.insurance.policy_management_service.controller;
 
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.ApiError;
 import com.rubin.insurance.policy_management_service.model.dto.ApiResponseDTO;
+import com.rubin.insurance.policy_management_service.model.dto.BulkClaimRequest;
+import com.rubin.insurance.policy_management_service.model.dto.BulkClaimStatusUpdateRequest;
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimExportCriteria;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimRequest;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
 import com.rubin.insurance.policy_management_service.model.dto.UpdateClaimStatusDTO;
+import com.rubin.insurance.policy_management_service.model.entity.claim.ClaimStatus;
 import com.rubin.insurance.policy_management_service.service.ClaimService;
+import com.rubin.insurance.policy_management_service.service.ExportService;
+import com.rubin.insurance.policy_management_service.utils.ExportResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,9 +26,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -28,9 +42,11 @@ import java.util.List;
 public class ClaimController {
 
     private final ClaimService claimService;
+    private final ExportService exportService;
 
-    public ClaimController(ClaimService claimService) {
+    public ClaimController(ClaimService claimService, ExportService exportService) {
         this.claimService = claimService;
+        this.exportService = exportService;
     }
 
     @PostMapping("/create-new")
@@ -57,6 +73,29 @@ public class ClaimController {
         return ResponseEntity.ok(ApiResponseDTO.success("Claim created successfully", result));
     }
 
+    @PostMapping("/bulk-create")
+    @Operation(summary = "Submit many claims at once", description = "Submits up to " + BulkClaimRequest.MAX_ITEMS + " claims in one request. " +
+            "Every claim is checked against the same rules as a single submission (policy exists and is ACTIVE, amount within coverage, incident date within the policy period). " +
+            "Rejected or failing claims are reported in the per-item results and do not stop the rest of the batch. Results keep the request order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; check each item's status",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Bulk claim submission processed\",\"data\":{\"total\":2,\"succeeded\":1,\"failed\":1,\"results\":[{\"index\":0,\"status\":\"SUCCEEDED\",\"data\":{\"id\":1,\"policyId\":1,\"claimNumber\":\"CLM-2025-00001\",\"description\":\"Vehicle damage from collision\",\"claimAmount\":5000.00,\"incidentDate\":\"2025-01-15\",\"status\":\"SUBMITTED\",\"rejectionReason\":null,\"createdAt\":\"2025-02-09T10:30:00Z\"}},{\"index\":1,\"status\":\"FAILED\",\"error\":\"Claims can be submitted only for ACTIVE policies\"}]}}"))),
+            @ApiResponse(responseCode = "400", description = "Malformed JSON",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"Malformed or unreadable JSON request body\",\"path\":\"/claim/bulk-create\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "409", description = "Empty batch or too many items. details.fieldErrors names the claims list.",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":409,\"error\":\"Conflict\",\"message\":\"Validation failed\",\"path\":\"/claim/bulk-create\",\"traceId\":null,\"details\":{\"fieldErrors\":{\"claims\":[\"Claims should not be empty\"]}}}"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":500,\"error\":\"Internal Server Error\",\"message\":\"Unexpected error\",\"path\":\"/claim/bulk-create\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<ApiResponseDTO<BulkResponse<ClaimResponse>>> createClaims(@Valid @RequestBody BulkClaimRequest bulkRequest) {
+        BulkResponse<ClaimResponse> result = claimService.createClaims(bulkRequest.claims());
+        return ResponseEntity.ok(ApiResponseDTO.success("Bulk claim submission processed", result));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get claim by ID", description = "Returns a single claim by its unique identifier.")
     @ApiResponses({
@@ -95,6 +134,70 @@ public class ClaimController {
         return ResponseEntity.ok(ApiResponseDTO.success("Claims found successfully", resultList));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Full-text search over claim descriptions", description = "Returns the claims whose description best matches q, most relevant first. " +
+            "q uses web search syntax: quoted phrases, or, and -word to exclude. Filter by status, policy and an inclusive creation date window; " +
+            "a creation window also limits the search to those months of claims. At most " + ClaimSearchCriteria.MAX_QUERY_LENGTH + " characters of query and 100 results. " +
+            "At most claims.search.max-candidates matches (10000 by default) are ranked; truncated is true when more claims matched, " +
+            "in which case a more relevant claim may be missing and the search should be narrowed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching claims, most relevant first (may be empty)",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Claims found successfully\",\"data\":{\"results\":[{\"claim\":{\"id\":1,\"policyId\":1,\"claimNumber\":\"CLM-2025-00001\",\"description\":\"Vehicle damage from collision\",\"claimAmount\":5000.00,\"incidentDate\":\"2025-01-15\",\"status\":\"SUBMITTED\",\"rejectionReason\":null,\"createdAt\":\"2025-02-09T10:30:00Z\"},\"rank\":0.1,\"headline\":\"Vehicle damage from <b>collision</b>\"}],\"truncated\":false}}"))),
+            @ApiResponse(responseCode = "400", description = "Empty or too long query, or invalid filter",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"Search query should not be empty\",\"path\":\"/claim/search\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":500,\"error\":\"Internal Server Error\",\"message\":\"Unexpected error\",\"path\":\"/claim/search\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<ApiResponseDTO<ClaimSearchResponse>> searchClaims(
+            @Parameter(description = "Words to search for", example = "collision whiplash", required = true) @RequestParam(required = false) String q,
+            @Parameter(description = "Claim status (SUBMITTED, APPROVED, REJECTED)", example = "SUBMITTED") @RequestParam(required = false) String status,
+            @Parameter(description = "Policy ID", example = "1") @RequestParam(required = false) Long policyId,
+            @Parameter(description = "Earliest creation date (ISO date)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @Parameter(description = "Latest creation date (ISO date)", example = "2025-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @Parameter(description = "Maximum number of results (1-100)", example = "20") @RequestParam(required = false, defaultValue = "20") int limit) {
+        ClaimSearchCriteria criteria = new ClaimSearchCriteria(
+                q, status == null ? null : ClaimStatus.fromValue(status), policyId, createdFrom, createdTo);
+        ClaimSearchResponse results = claimService.searchClaims(criteria, limit);
+        return ResponseEntity.ok(ApiResponseDTO.success("Claims found successfully", results));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export claims", description = "Streams every claim matching the filters as NDJSON (one JSON object per line) or CSV with a header line, in no particular order. " +
+            "A creation date window also limits the export to those months of claims. The body is gzip-compressed when the request sends Accept-Encoding: gzip. " +
+            "Only a few exports run at once; further requests get 429 and should retry later.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed as an attachment",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson",
+                                    examples = @ExampleObject(value = "{\"id\":1,\"policyId\":1,\"claimNumber\":\"CLM-2025-00001\",\"description\":\"Vehicle damage from collision\",\"claimAmount\":5000.00,\"incidentDate\":\"2025-01-15\",\"status\":\"SUBMITTED\",\"rejectionReason\":null,\"createdAt\":\"2025-02-09T10:30:00Z\",\"updatedAt\":\"2025-02-09T10:30:00Z\"}")),
+                            @Content(mediaType = "text/csv",
+                                    examples = @ExampleObject(value = "id,policyId,claimNumber,description,claimAmount,incidentDate,status,rejectionReason,createdAt,updatedAt\r\n1,1,CLM-2025-00001,Vehicle damage from collision,5000.00,2025-01-15,SUBMITTED,,2025-02-09T10:30:00Z,2025-02-09T10:30:00Z"))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid format, filter value or date window",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"createdFrom should not be after createdTo\",\"path\":\"/claim/export\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "429", description = "Too many exports running",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Too many exports are running, please retry later\",\"path\":\"/claim/export\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<StreamingResponseBody> exportClaims(
+            @Parameter(description = "Output format (NDJSON, CSV)", example = "NDJSON") @RequestParam(required = false, defaultValue = "NDJSON") String format,
+            @Parameter(description = "Claim status (SUBMITTED, APPROVED, REJECTED)", example = "SUBMITTED") @RequestParam(required = false) String status,
+            @Parameter(description = "Policy ID", example = "1") @RequestParam(required = false) Long policyId,
+            @Parameter(description = "Earliest creation date (ISO date)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @Parameter(description = "Latest creation date (ISO date)", example = "2025-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        ClaimExportCriteria criteria = new ClaimExportCriteria(
+                status == null ? null : ClaimStatus.fromValue(status), policyId, createdFrom, createdTo);
+        boolean gzip = ExportResponses.acceptsGzip(acceptEncoding);
+        return ExportResponses.attachment("claims", exportFormat, gzip,
+                exportService.exportClaims(criteria, exportFormat, gzip));
+    }
+
     @PatchMapping("/{id}/update-status")
     @Operation(summary = "Update claim status", description = "Updates the status of a claim (SUBMITTED, APPROVED, REJECTED). When setting REJECTED, provide rejectDescription.")
     @ApiResponses({
@@ -120,4 +223,27 @@ public class ClaimController {
         ClaimResponse result = claimService.updateStatus(id, updateClaimStatusDTO);
         return ResponseEntity.ok(ApiResponseDTO.success("Claim status updated successfully", result));
     }
+
+    @PatchMapping("/bulk-update-status")
+    @Operation(summary = "Update the status of many claims at once", description = "Applies up to " + BulkClaimStatusUpdateRequest.MAX_ITEMS + " status changes in one request, with the same rules as a single update: " +
+            "REJECTED needs a rejectDescription and APPROVED or REJECTED claims cannot change status again. Updates that break a rule are reported in the per-item results and the others are still applied. Results keep the request order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; check each item's status",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Bulk claim status update processed\",\"data\":{\"total\":2,\"succeeded\":1,\"failed\":1,\"results\":[{\"index\":0,\"status\":\"SUCCEEDED\",\"data\":{\"id\":1,\"policyId\":1,\"claimNumber\":\"CLM-2025-00001\",\"description\":\"Vehicle damage from collision\",\"claimAmount\":5000.00,\"incidentDate\":\"2025-01-15\",\"status\":\"APPROVED\",\"rejectionReason\":null,\"createdAt\":\"2025-02-09T10:30:00Z\"}},{\"index\":1,\"status\":\"FAILED\",\"error\":\"Approved or rejected claims cannot change status.\"}]}}"))),
+            @ApiResponse(responseCode = "400", description = "Malformed JSON or unknown claim status",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"Claim Status should be amongst : [SUBMITTED, APPROVED, REJECTED]\",\"path\":\"/claim/bulk-update-status\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "409", description = "Empty batch or too many items. details.fieldErrors names the updates list.",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":409,\"error\":\"Conflict\",\"message\":\"Validation failed\",\"path\":\"/claim/bulk-update-status\",\"traceId\":null,\"details\":{\"fieldErrors\":{\"updates\":[\"Updates should not be empty\"]}}}"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":500,\"error\":\"Internal Server Error\",\"message\":\"Unexpected error\",\"path\":\"/claim/bulk-update-status\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<ApiResponseDTO<BulkResponse<ClaimResponse>>> updateClaimStatuses(
+            @Valid @RequestBody BulkClaimStatusUpdateRequest bulkRequest) {
+        BulkResponse<ClaimResponse> result = claimService.updateStatuses(bulkRequest.updates());
+        return ResponseEntity.ok(ApiResponseDTO.success("Bulk claim status update processed", result));
+    }
 }
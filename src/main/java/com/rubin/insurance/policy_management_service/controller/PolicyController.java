@@ -3,10 +3,22 @@ package com.rubin.insurance.policy_management_service.controller;
 
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.ApiError;
 import com.rubin.insurance.policy_management_service.model.dto.ApiResponseDTO;
+import com.rubin.insurance.policy_management_service.model.dto.BulkPolicyRequest;
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
 import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyImportResult;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyClaimSummary;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyType;
+import com.rubin.insurance.policy_management_service.service.ExportService;
+import com.rubin.insurance.policy_management_service.service.PolicyImportService;
 import com.rubin.insurance.policy_management_service.service.PolicyService;
+import com.rubin.insurance.policy_management_service.utils.ExportResponses;
+import com.rubin.insurance.policy_management_service.utils.KeysetCursor;
 import com.rubin.insurance.policy_management_service.utils.PaginationUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,8 +32,18 @@ import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @RequestMapping("/policy")
@@ -30,10 +52,14 @@ import org.springframework.web.bind.annotation.*;
 public class PolicyController {
 
     private final PolicyService policyService;
+    private final ExportService exportService;
+    private final PolicyImportService policyImportService;
 
     @Autowired
-    public PolicyController(PolicyService policyService) {
+    public PolicyController(PolicyService policyService, ExportService exportService, PolicyImportService policyImportService) {
         this.policyService = policyService;
+        this.exportService = exportService;
+        this.policyImportService = policyImportService;
     }
 
     @PostMapping("/create-new")
@@ -59,6 +85,28 @@ public class PolicyController {
         );
     }
 
+    @PostMapping("/bulk-create")
+    @Operation(summary = "Create many policies at once", description = "Creates up to " + BulkPolicyRequest.MAX_ITEMS + " policies in one request. " +
+            "Each policy is validated and saved on its own: invalid or failing items are reported in the per-item results and do not stop the rest of the batch. Results keep the request order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; check each item's status",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Bulk policy creation processed\",\"data\":{\"total\":2,\"succeeded\":1,\"failed\":1,\"results\":[{\"index\":0,\"status\":\"SUCCEEDED\",\"data\":{\"id\":1,\"policyNumber\":\"POL-2025-00001\",\"customerName\":\"John Smith\",\"customerEmail\":\"john.smith@example.com\",\"policyType\":\"HEALTH\",\"coverageAmount\":100000.00,\"premiumAmount\":150.50,\"startDate\":\"2025-01-01\",\"endDate\":\"2026-01-01\",\"policyStatus\":\"ACTIVE\"}},{\"index\":1,\"status\":\"FAILED\",\"error\":\"Validation failed\",\"fieldErrors\":{\"customerEmail\":[\"Invalid email format\"]}}]}}"))),
+            @ApiResponse(responseCode = "400", description = "Malformed JSON",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"Malformed or unreadable JSON request body\",\"path\":\"/policy/bulk-create\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "409", description = "Empty batch or too many items. details.fieldErrors names the policies list.",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":409,\"error\":\"Conflict\",\"message\":\"Validation failed\",\"path\":\"/policy/bulk-create\",\"traceId\":null,\"details\":{\"fieldErrors\":{\"policies\":[\"Policies should not be empty\"]}}}"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":500,\"error\":\"Internal Server Error\",\"message\":\"Unexpected error\",\"path\":\"/policy/bulk-create\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<ApiResponseDTO<BulkResponse<PolicyResponse>>> createPolicies(@Valid @RequestBody BulkPolicyRequest bulkRequest) {
+        BulkResponse<PolicyResponse> response = policyService.savePolicies(bulkRequest.policies());
+        return ResponseEntity.ok(ApiResponseDTO.success("Bulk policy creation processed", response));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get policy by ID", description = "Returns a single policy by its unique identifier.")
     @ApiResponses({
@@ -78,24 +126,183 @@ public class PolicyController {
         return ResponseEntity.ok(ApiResponseDTO.success("Policy retrieved successfully", response));
     }
 
+    @GetMapping("/{id}/claim-summary")
+    @Operation(summary = "Get a policy's claim totals", description = "Returns the number of open claims, the submitted and approved claim amounts and the coverage still available. " +
+            "Totals are maintained with every claim write, so this does not scan the policy's claims.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Claim totals returned",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Policy claim summary retrieved successfully\",\"data\":{\"policyId\":1,\"coverageAmount\":100000.00,\"openClaims\":2,\"submittedAmount\":7500.00,\"approvedAmount\":12000.00,\"remainingCoverage\":80500.00}}"))),
+            @ApiResponse(responseCode = "404", description = "Policy not found for the given ID",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":404,\"error\":\"Not Found\",\"message\":\"Policy not found\",\"path\":\"/policy/999/claim-summary\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":500,\"error\":\"Internal Server Error\",\"message\":\"Unexpected error\",\"path\":\"/policy/1/claim-summary\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<ApiResponseDTO<PolicyClaimSummary>> getClaimSummary(
+            @Parameter(description = "Policy ID", example = "1", required = true) @PathVariable Long id) {
+        PolicyClaimSummary response = policyService.getClaimSummary(id);
+        return ResponseEntity.ok(ApiResponseDTO.success("Policy claim summary retrieved successfully", response));
+    }
+
     @GetMapping("/all")
-    @Operation(summary = "List all policies (paginated)", description = "Returns a paginated list of all policies. Use page and pageSize to navigate.")
+    @Operation(summary = "List all policies (paginated)", description = "Returns a paginated list of all policies. Use page and pageSize to navigate. " +
+            "Pass cursor (empty for the first page) to switch to keyset pagination: each response carries cursor.nextCursor for the next page and no total count unless includeTotal=true.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Paginated list of policies returned",
                     content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
                             examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Policies retrieved successfully\",\"data\":{\"content\":[{\"id\":1,\"policyNumber\":\"POL-2025-00001\",\"customerName\":\"John Smith\",\"customerEmail\":\"john.smith@example.com\",\"policyType\":\"HEALTH\",\"coverageAmount\":100000.00,\"premiumAmount\":150.50,\"startDate\":\"2025-01-01\",\"endDate\":\"2026-01-01\"}],\"pagination\":{\"page\":1,\"size\":10,\"totalElements\":1,\"totalPages\":1,\"first\":true,\"last\":true,\"empty\":false}}}"))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort key",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"Invalid pagination cursor\",\"path\":\"/policy/all\",\"traceId\":null,\"details\":{}}"))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ApiError.class),
                             examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":500,\"error\":\"Internal Server Error\",\"message\":\"Unexpected error\",\"path\":\"/policy/all\",\"traceId\":null,\"details\":{}}")))
     })
     public ResponseEntity<ApiResponseDTO<PageResponse<PolicyResponse>>> getAllPoliciesPaginated(
             @Parameter(description = "Page number (1-based)", example = "1") @RequestParam(required = false, defaultValue = "1") int page,
-            @Parameter(description = "Number of items per page", example = "10") @RequestParam(required = false, defaultValue = "10") int pageSize) {
+            @Parameter(description = "Number of items per page, at most " + PaginationUtils.MAX_PAGE_SIZE, example = "10") @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @Parameter(description = "Keyset continuation token; send empty for the first page, then the previous nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Keyset sort key used when starting a walk (id or createdAt)", example = "id") @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @Parameter(description = "Also return the total element count in keyset mode (costs a count query)", example = "false") @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        if (cursor != null) {
+            KeysetCursor keysetCursor = cursor.isBlank()
+                    ? KeysetCursor.first(KeysetCursor.SortKey.fromValue(sortBy))
+                    : KeysetCursor.decode(cursor);
+            PageResponse<PolicyResponse> keysetResponse = policyService.getPoliciesAfter(
+                    keysetCursor, PaginationUtils.resolvePageSize(pageSize), includeTotal);
+            return ResponseEntity.ok(ApiResponseDTO.success("Policies retrieved successfully", keysetResponse));
+        }
         Pageable pageable = PaginationUtils.createPageable(page, pageSize);
         PageResponse<PolicyResponse> policesResponse = policyService.getAllPolicies(pageable);
         return ResponseEntity.ok(ApiResponseDTO.success("Policies retrieved successfully",policesResponse));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search policies", description = "Finds policies by customer email (case-insensitive), status, policy type and inclusive start/end date windows; " +
+            "filters left out do not apply. Results are ordered by id and keyset-paginated: send no cursor for the first page, then the previous nextCursor.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching policies returned",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Policies retrieved successfully\",\"data\":{\"content\":[{\"id\":1,\"policyNumber\":\"POL-2025-00001\",\"customerName\":\"John Smith\",\"customerEmail\":\"john.smith@example.com\",\"policyType\":\"HEALTH\",\"coverageAmount\":100000.00,\"premiumAmount\":150.50,\"startDate\":\"2025-01-01\",\"endDate\":\"2026-01-01\"}],\"cursor\":{\"size\":10,\"hasNext\":false}}}"))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter value, date window or cursor",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"startDateFrom should not be after startDateTo\",\"path\":\"/policy/search\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":500,\"error\":\"Internal Server Error\",\"message\":\"Unexpected error\",\"path\":\"/policy/search\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<ApiResponseDTO<PageResponse<PolicyResponse>>> searchPolicies(
+            @Parameter(description = "Customer email, matched case-insensitively", example = "john.smith@example.com") @RequestParam(required = false) String email,
+            @Parameter(description = "Policy status (ACTIVE, EXPIRED, CANCELLED)", example = "ACTIVE") @RequestParam(required = false) String status,
+            @Parameter(description = "Policy type (HEALTH, AUTO, HOME, LIFE)", example = "HEALTH") @RequestParam(required = false) String policyType,
+            @Parameter(description = "Earliest start date (ISO date)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
+            @Parameter(description = "Latest start date (ISO date)", example = "2025-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
+            @Parameter(description = "Earliest end date (ISO date)", example = "2026-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateFrom,
+            @Parameter(description = "Latest end date (ISO date)", example = "2026-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
+            @Parameter(description = "Number of items per page, at most " + PaginationUtils.MAX_PAGE_SIZE, example = "10") @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @Parameter(description = "Continuation token; omit for the first page, then send the previous nextCursor") @RequestParam(required = false) String cursor) {
+        PolicySearchCriteria criteria = new PolicySearchCriteria(
+                email,
+                status == null ? null : PolicyStatus.fromValue(status),
+                policyType == null ? null : PolicyType.fromValue(policyType),
+                startDateFrom, startDateTo, endDateFrom, endDateTo);
+        KeysetCursor keysetCursor = cursor == null || cursor.isBlank()
+                ? KeysetCursor.first(KeysetCursor.SortKey.ID)
+                : KeysetCursor.decode(cursor);
+        PageResponse<PolicyResponse> response = policyService.searchPolicies(
+                criteria, keysetCursor, PaginationUtils.resolvePageSize(pageSize));
+        return ResponseEntity.ok(ApiResponseDTO.success("Policies retrieved successfully", response));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export policies", description = "Streams every policy matching the filters as NDJSON (one JSON object per line) or CSV with a header line, in no particular order. " +
+            "Filters are those of the policy search. The body is gzip-compressed when the request sends Accept-Encoding: gzip. " +
+            "Only a few exports run at once; further requests get 429 and should retry later.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed as an attachment",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson",
+                                    examples = @ExampleObject(value = "{\"id\":1,\"policyNumber\":\"POL-2025-00001\",\"customerName\":\"John Smith\",\"customerEmail\":\"john.smith@example.com\",\"policyType\":\"HEALTH\",\"coverageAmount\":100000.00,\"premiumAmount\":150.50,\"startDate\":\"2025-01-01\",\"endDate\":\"2026-01-01\",\"status\":\"ACTIVE\",\"createdAt\":\"2025-01-01T00:00:00Z\",\"updatedAt\":\"2025-01-01T00:00:00Z\"}")),
+                            @Content(mediaType = "text/csv",
+                                    examples = @ExampleObject(value = "id,policyNumber,customerName,customerEmail,policyType,coverageAmount,premiumAmount,startDate,endDate,status,createdAt,updatedAt\r\n1,POL-2025-00001,John Smith,john.smith@example.com,HEALTH,100000.00,150.50,2025-01-01,2026-01-01,ACTIVE,2025-01-01T00:00:00Z,2025-01-01T00:00:00Z"))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid format, filter value or date window",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"Export format should be amongst : [NDJSON, CSV]\",\"path\":\"/policy/export\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "429", description = "Too many exports running",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Too many exports are running, please retry later\",\"path\":\"/policy/export\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<StreamingResponseBody> exportPolicies(
+            @Parameter(description = "Output format (NDJSON, CSV)", example = "NDJSON") @RequestParam(required = false, defaultValue = "NDJSON") String format,
+            @Parameter(description = "Customer email, matched case-insensitively", example = "john.smith@example.com") @RequestParam(required = false) String email,
+            @Parameter(description = "Policy status (ACTIVE, EXPIRED, CANCELLED)", example = "ACTIVE") @RequestParam(required = false) String status,
+            @Parameter(description = "Policy type (HEALTH, AUTO, HOME, LIFE)", example = "HEALTH") @RequestParam(required = false) String policyType,
+            @Parameter(description = "Earliest start date (ISO date)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
+            @Parameter(description = "Latest start date (ISO date)", example = "2025-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
+            @Parameter(description = "Earliest end date (ISO date)", example = "2026-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateFrom,
+            @Parameter(description = "Latest end date (ISO date)", example = "2026-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        PolicySearchCriteria criteria = new PolicySearchCriteria(
+                email,
+                status == null ? null : PolicyStatus.fromValue(status),
+                policyType == null ? null : PolicyType.fromValue(policyType),
+                startDateFrom, startDateTo, endDateFrom, endDateTo);
+        boolean gzip = ExportResponses.acceptsGzip(acceptEncoding);
+        return ExportResponses.attachment("policies", exportFormat, gzip,
+                exportService.exportPolicies(criteria, exportFormat, gzip));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import policies from CSV", description = "Loads a CSV file of policies, for migrating a book of business. The first line is a header naming the columns " +
+            "customerName, customerEmail, policyType, coverageAmount, premiumAmount, startDate and endDate, in any order; other columns are ignored. " +
+            "Rows are checked against the same rules as policy creation; valid rows are inserted in chunks and rows that fail are listed in an error report. " +
+            "Policies that have already ended are imported as EXPIRED. No notifications are sent. The body may be gzip-compressed with Content-Encoding: gzip. " +
+            "Only one import runs at a time; further requests get 429 and should retry later.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File processed; check rejected and errorReport",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"status\":\"SUCCESS\",\"message\":\"Policy import processed\",\"data\":{\"importId\":\"3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b\",\"rows\":1000000,\"imported\":999998,\"rejected\":2,\"errorReport\":\"/policy/import/3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b/errors\",\"complete\":true,\"durationMillis\":41230}}"))),
+            @ApiResponse(responseCode = "400", description = "Empty file or header missing required columns",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":400,\"error\":\"Bad Request\",\"message\":\"The header is missing the columns [premiumAmount]\",\"path\":\"/policy/import\",\"traceId\":null,\"details\":{}}"))),
+            @ApiResponse(responseCode = "429", description = "Another import is running",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Too many imports are running, please retry later\",\"path\":\"/policy/import\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<ApiResponseDTO<PolicyImportResult>> importPolicies(
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        InputStream csv = contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip")
+                ? new GZIPInputStream(body, 64 * 1024)
+                : body;
+        PolicyImportResult result = policyImportService.importPolicies(csv);
+        return ResponseEntity.ok(ApiResponseDTO.success("Policy import processed", result));
+    }
+
+    @GetMapping("/import/{importId}/errors")
+    @Operation(summary = "Download an import's error report", description = "Returns the rows an import rejected as CSV with the columns line, field and message; a row with several problems has one line per problem. " +
+            "Reports are kept for import.report-retention, 7 days by default.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Error report",
+                    content = @Content(mediaType = "text/csv",
+                            examples = @ExampleObject(value = "line,field,message\n17,customerEmail,Invalid email format\n42,policyType,Policy Type should be amongst : [HEALTH, AUTO, HOME, LIFE]"))),
+            @ApiResponse(responseCode = "404", description = "Unknown import, no rejected rows or report past its retention",
+                    content = @Content(schema = @Schema(implementation = ApiError.class),
+                            examples = @ExampleObject(value = "{\"timestamp\":\"2025-02-09T12:00:00Z\",\"status\":404,\"error\":\"Not Found\",\"message\":\"Import error report not found\",\"path\":\"/policy/import/3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b/errors\",\"traceId\":null,\"details\":{}}")))
+    })
+    public ResponseEntity<StreamingResponseBody> getImportErrors(@PathVariable String importId) {
+        StreamingResponseBody report = policyImportService.getErrorReport(importId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(importId + "-errors.csv").build().toString())
+                .body(report);
+    }
+
     @PutMapping("/{id}/renew")
     @Operation(summary = "Renew a policy", description = "Renews an existing policy. Typically extends the end date by the policy term.")
     @ApiResponses({
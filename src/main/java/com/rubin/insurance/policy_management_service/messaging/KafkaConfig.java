@@ -50,6 +50,18 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * Sends the outbox's events as stored: their values are already the JSON the listeners read,
+     * so they are written through as strings instead of being deserialized and serialized again.
+     */
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(),
+                new StringSerializer(),
+                new StringSerializer()));
+    }
+
     @Bean
     public ConsumerFactory<String, EventEnvelope<?>> consumerFactory() {
         JacksonJsonDeserializer<EventEnvelope<?>> valueDeserializer = new JacksonJsonDeserializer<>(EventEnvelope.class);
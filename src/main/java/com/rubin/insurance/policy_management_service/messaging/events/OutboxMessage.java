@@ -0,0 +1,8 @@
+package com.rubin.insurance.policy_management_service.messaging.events;
+
+/**
+ * An event waiting in the outbox: the Kafka record it becomes, plus the outbox row id it is
+ * deleted by once the broker has acknowledged it.
+ */
+public record OutboxMessage(long id, String topic, String key, String payload, double ageSeconds) {
+}
@@ -3,5 +3,6 @@ package com.rubin.insurance.policy_management_service.messaging.events;
 public enum PolicyEventType {
     POLICY_CREATED,
     POLICY_RENEWED,
-    POLICY_CANCELLED
+    POLICY_CANCELLED,
+    POLICY_EXPIRED
 }
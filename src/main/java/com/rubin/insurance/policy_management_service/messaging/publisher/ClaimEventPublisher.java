@@ -1,37 +1,61 @@
 package com.rubin.insurance.policy_management_service.messaging.publisher;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import com.rubin.insurance.policy_management_service.messaging.events.ClaimEventType;
 import com.rubin.insurance.policy_management_service.messaging.events.EventEnvelope;
 import com.rubin.insurance.policy_management_service.messaging.events.payload.ClaimEventPayload;
 import com.rubin.insurance.policy_management_service.model.entity.claim.Claim;
+import com.rubin.insurance.policy_management_service.repository.EventOutboxRepository;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 import static com.rubin.insurance.policy_management_service.messaging.events.payload.ClaimEventPayload.buildPayload;
 
 @Component
 @RequiredArgsConstructor
-@Slf4j
 public class ClaimEventPublisher {
 
     private static final String TOPIC = "claim.events";
     private static final String VERSION = "v1";
 
-    private final KafkaTemplate<String, EventEnvelope<?>> kafkaTemplate;
+    private final EventOutboxRepository eventOutboxRepository;
 
     @Value("${spring.application.name:policy-management-service}")
     private String appName;
 
+    /**
+     * Builds the event from the claim as it is now and writes it to the outbox in the surrounding
+     * transaction. {@link OutboxRelay} sends it to Kafka once that transaction has committed, so a
+     * rolled-back change is never announced and the commit never waits on the broker.
+     */
     public void publish(ClaimEventType eventType, Claim claim) {
-        EventEnvelope<ClaimEventPayload> envelope = EventEnvelope.<ClaimEventPayload>builder()
+        eventOutboxRepository.append(TOPIC, List.of(buildEnvelope(eventType, claim)));
+    }
+
+    public void publishAll(ClaimEventType eventType, List<Claim> claims) {
+        publishAll(Map.of(eventType, claims));
+    }
+
+    /** Like {@link #publish}, writing the events of all the claims as one batch whatever their type. */
+    public void publishAll(Map<ClaimEventType, List<Claim>> claimsByType) {
+        List<EventEnvelope<ClaimEventPayload>> envelopes = new ArrayList<>();
+        claimsByType.forEach((eventType, claims) -> claims.forEach(claim -> envelopes.add(buildEnvelope(eventType, claim))));
+        if (envelopes.isEmpty()) {
+            return;
+        }
+        eventOutboxRepository.append(TOPIC, envelopes);
+    }
+
+    private EventEnvelope<ClaimEventPayload> buildEnvelope(ClaimEventType eventType, Claim claim) {
+        return EventEnvelope.<ClaimEventPayload>builder()
                 .eventType(eventType.name())
                 .entityId(String.valueOf(claim.getId()))
                 .occurredAt(Instant.now())
@@ -41,18 +65,5 @@ public class ClaimEventPublisher {
                 .version(VERSION)
                 .payload(buildPayload(claim))
                 .build();
-
-        kafkaTemplate.send(TOPIC, envelope.getEntityId(), envelope)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Failed to publish claim event {} for claim {}", eventType, claim.getId(), ex);
-                    } else {
-                        log.info("Published claim event {} for claim {} to partition {} offset {}",
-                                eventType, claim.getId(),
-                                result.getRecordMetadata().partition(),
-                                result.getRecordMetadata().offset());
-                    }
-                });
     }
-
 }
@@ -0,0 +1,176 @@
+package com.rubin.insurance.policy_management_service.messaging.publisher;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rubin.insurance.policy_management_service.messaging.events.OutboxMessage;
+import com.rubin.insurance.policy_management_service.repository.EventOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the events in {@code event_outbox} to Kafka and deletes them once acknowledged.
+ * <p>
+ * Each run claims batches of {@code batch-size} events in id order and hands a batch to the
+ * producer without waiting for the previous one, so up to {@code max-in-flight-batches} batches
+ * share produce requests; only then does it wait for the oldest batch and delete what the broker
+ * acknowledged. Claims are short statements of their own, so no database lock is held while
+ * Kafka is slow, and relays on several nodes take disjoint batches.
+ * <p>
+ * Delivery is at least once, and per-entity order is not guaranteed:
+ * <ul>
+ *     <li>relays on several nodes claim disjoint batches with SKIP LOCKED and send them
+ *     concurrently, so two events of one entity claimed by different nodes can reach Kafka in
+ *     either order;</li>
+ *     <li>events the broker refused stay claimed until their lease runs out and are then sent
+ *     again, after any later events of the same entity.</li>
+ * </ul>
+ * With a single relay running ({@code outbox.relay.enabled} on one node) and no failures, events
+ * arrive in id order. Consumers that depend on order must otherwise tolerate reordering.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final EventOutboxRepository eventOutboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary delay;
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxInFlightBatches;
+    private final Duration claimTimeout;
+    private final Duration sendTimeout;
+
+    public OutboxRelay(EventOutboxRepository eventOutboxRepository,
+                       @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> kafkaTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.batch-size:1000}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:100}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.max-in-flight-batches:4}") int maxInFlightBatches,
+                       @Value("${outbox.relay.claim-timeout:5m}") Duration claimTimeout,
+                       @Value("${outbox.relay.send-timeout:30s}") Duration sendTimeout) {
+        this.eventOutboxRepository = eventOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.publishedCounter = Counter.builder("outbox.relay.events")
+                .description("Outbox events relayed to Kafka, by outcome")
+                .tag("outcome", "published")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.events")
+                .description("Outbox events relayed to Kafka, by outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.delay = DistributionSummary.builder("outbox.relay.delay")
+                .description("Seconds between an event being written to the outbox and it being claimed for sending")
+                .baseUnit("seconds")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", oldestAgeMillis, age -> age.get() / 1000.0)
+                .description("Age in seconds of the oldest event still in the outbox, as of the last relay run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.maxInFlightBatches = Math.max(1, maxInFlightBatches);
+        this.claimTimeout = claimTimeout;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}",
+            initialDelayString = "${outbox.relay.initial-delay:10s}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Deque<InFlightBatch> inFlight = new ArrayDeque<>();
+        int published = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (inFlight.size() >= maxInFlightBatches) {
+                    published += complete(inFlight.removeFirst());
+                }
+                List<OutboxMessage> messages = eventOutboxRepository.claim(batchSize, claimTimeout);
+                if (!messages.isEmpty()) {
+                    inFlight.addLast(send(messages));
+                }
+                // A short batch means the outbox is drained or the rest is claimed by a peer.
+                if (messages.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Outbox relay run stopped after {} events: {}", published, ex.getMessage());
+        }
+        try {
+            while (!inFlight.isEmpty()) {
+                published += complete(inFlight.removeFirst());
+            }
+            oldestAgeMillis.set(Math.round(eventOutboxRepository.oldestAgeSeconds() * 1000));
+        } catch (Exception ex) {
+            log.warn("Outbox relay could not settle its batches; they are sent again once their claims expire: {}", ex.getMessage());
+        }
+        if (published > 0) {
+            log.debug("Relayed {} outbox events in {} ms", published, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private InFlightBatch send(List<OutboxMessage> messages) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            delay.record(message.ageSeconds());
+            sends.add(kafkaTemplate.send(message.topic(), message.key(), message.payload()));
+        }
+        return new InFlightBatch(messages, sends, System.nanoTime() + sendTimeout.toNanos());
+    }
+
+    // Waits for the batch, then deletes the events the broker acknowledged; the rest keep their claim.
+    private int complete(InFlightBatch batch) {
+        List<Long> acknowledged = new ArrayList<>(batch.messages().size());
+        for (int i = 0; i < batch.messages().size(); i++) {
+            OutboxMessage message = batch.messages().get(i);
+            try {
+                batch.sends().get(i).get(Math.max(0, batch.deadline() - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(message.id());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException ex) {
+                failedCounter.increment();
+                log.warn("Failed to relay outbox event {} to {} for entity {}: {}",
+                        message.id(), message.topic(), message.key(), ex.getCause() == null ? ex.toString() : ex.getCause().getMessage());
+            }
+        }
+        if (!acknowledged.isEmpty()) {
+            eventOutboxRepository.delete(acknowledged);
+            publishedCounter.increment(acknowledged.size());
+        }
+        return acknowledged.size();
+    }
+
+    private record InFlightBatch(List<OutboxMessage> messages, List<CompletableFuture<?>> sends, long deadline) {
+    }
+}
@@ -1,37 +1,55 @@
 package com.rubin.insurance.policy_management_service.messaging.publisher;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import com.rubin.insurance.policy_management_service.messaging.events.EventEnvelope;
 import com.rubin.insurance.policy_management_service.messaging.events.PolicyEventType;
 import com.rubin.insurance.policy_management_service.messaging.events.payload.PolicyEventPayload;
 import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.repository.EventOutboxRepository;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 import static com.rubin.insurance.policy_management_service.messaging.events.payload.PolicyEventPayload.buildPayload;
 
 @Component
 @RequiredArgsConstructor
-@Slf4j
 public class PolicyEventPublisher {
 
     private static final String TOPIC = "policy.events";
     private static final String VERSION = "v1";
 
-    private final KafkaTemplate<String, EventEnvelope<?>> kafkaTemplate;
+    private final EventOutboxRepository eventOutboxRepository;
 
     @Value("${spring.application.name:policy-management-service}")
     private String appName;
 
+    /**
+     * Builds the event from the policy as it is now and writes it to the outbox in the surrounding
+     * transaction. {@link OutboxRelay} sends it to Kafka once that transaction has committed, so a
+     * rolled-back change is never announced and the commit never waits on the broker.
+     */
     public void publish(PolicyEventType eventType, Policy policy) {
-        EventEnvelope<PolicyEventPayload> envelope = EventEnvelope.<PolicyEventPayload>builder()
+        eventOutboxRepository.append(TOPIC, List.of(buildEnvelope(eventType, policy)));
+    }
+
+    /** Like {@link #publish}, writing the events of all the policies as one batch. */
+    public void publishAll(PolicyEventType eventType, List<Policy> policies) {
+        if (policies.isEmpty()) {
+            return;
+        }
+        eventOutboxRepository.append(TOPIC, policies.stream()
+                .map(policy -> buildEnvelope(eventType, policy))
+                .toList());
+    }
+
+    private EventEnvelope<PolicyEventPayload> buildEnvelope(PolicyEventType eventType, Policy policy) {
+        return EventEnvelope.<PolicyEventPayload>builder()
                 .eventType(eventType.name())
                 .entityId(String.valueOf(policy.getId()))
                 .occurredAt(Instant.now())
@@ -41,19 +59,5 @@ public class PolicyEventPublisher {
                 .version(VERSION)
                 .payload(buildPayload(policy))
                 .build();
-
-        kafkaTemplate.send(TOPIC, envelope.getEntityId(), envelope)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Failed to publish policy event {} for policy {}", eventType, policy.getId(), ex);
-                    } else {
-                        log.info("Published policy event {} for policy {} to partition {} offset {}",
-                                eventType, policy.getId(),
-                                result.getRecordMetadata().partition(),
-                                result.getRecordMetadata().offset());
-                    }
-                });
     }
-
-
 }
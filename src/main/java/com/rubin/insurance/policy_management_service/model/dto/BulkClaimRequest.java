@@ -0,0 +1,21 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Items are validated one by one by the service, not cascaded with {@code @Valid}, so an invalid
+ * claim is reported on its own instead of rejecting the batch.
+ */
+@Schema(description = "Request body for submitting many claims at once")
+public record BulkClaimRequest(
+        @NotEmpty(message = "Claims should not be empty")
+        @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " claims can be submitted per request")
+        @Schema(description = "Claims to submit", requiredMode = Schema.RequiredMode.REQUIRED)
+        List<ClaimRequest> claims
+) {
+    public static final int MAX_ITEMS = 5000;
+}
@@ -0,0 +1,21 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Like the other bulk requests, items are validated one by one by the service so an invalid
+ * update is reported on its own.
+ */
+@Schema(description = "Request body for changing the status of many claims at once")
+public record BulkClaimStatusUpdateRequest(
+        @NotEmpty(message = "Updates should not be empty")
+        @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " claims can be updated per request")
+        @Schema(description = "Status changes to apply", requiredMode = Schema.RequiredMode.REQUIRED)
+        List<ClaimStatusUpdate> updates
+) {
+    public static final int MAX_ITEMS = 1000;
+}
@@ -0,0 +1,40 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a single item of a bulk request")
+public record BulkItemResult<T>(
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+        @Schema(description = "Whether the item was processed", example = "SUCCEEDED")
+        Status status,
+        @Schema(description = "Resulting resource when the item succeeded")
+        T data,
+        @Schema(description = "Reason the item failed", example = "Validation failed")
+        String error,
+        @Schema(description = "Field name to list of error messages when the item failed validation")
+        Map<String, List<String>> fieldErrors
+) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED
+    }
+
+    public static <T> BulkItemResult<T> succeeded(int index, T data) {
+        return new BulkItemResult<>(index, Status.SUCCEEDED, data, null, null);
+    }
+
+    public static <T> BulkItemResult<T> failed(int index, String error) {
+        return new BulkItemResult<>(index, Status.FAILED, null, error, null);
+    }
+
+    public static <T> BulkItemResult<T> invalid(int index, Map<String, List<String>> fieldErrors) {
+        return new BulkItemResult<>(index, Status.FAILED, null, "Validation failed", fieldErrors);
+    }
+}
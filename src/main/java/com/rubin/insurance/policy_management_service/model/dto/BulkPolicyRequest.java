@@ -0,0 +1,21 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Items are deliberately not cascaded with {@code @Valid}: each one is validated on its own so an
+ * invalid policy fails alone instead of rejecting the whole batch.
+ */
+@Schema(description = "Request body for creating many policies at once")
+public record BulkPolicyRequest(
+        @NotEmpty(message = "Policies should not be empty")
+        @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " policies can be created per request")
+        @Schema(description = "Policies to create", requiredMode = Schema.RequiredMode.REQUIRED)
+        List<PolicyRequest> policies
+) {
+    public static final int MAX_ITEMS = 5000;
+}
@@ -0,0 +1,24 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Per-item results of a bulk request, in request order")
+public record BulkResponse<T>(
+        @Schema(description = "Number of items in the request", example = "3")
+        int total,
+        @Schema(description = "Number of items that succeeded", example = "2")
+        int succeeded,
+        @Schema(description = "Number of items that failed", example = "1")
+        int failed,
+        @Schema(description = "One result per request item")
+        List<BulkItemResult<T>> results
+) {
+    public static <T> BulkResponse<T> of(List<BulkItemResult<T>> results) {
+        int succeeded = (int) results.stream()
+                .filter(result -> result.status() == BulkItemResult.Status.SUCCEEDED)
+                .count();
+        return new BulkResponse<>(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,22 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+import com.rubin.insurance.policy_management_service.model.entity.claim.ClaimStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a claim export; null fields do not filter. The creation dates are inclusive.
+ */
+public record ClaimExportCriteria(
+        ClaimStatus status,
+        Long policyId,
+        LocalDate createdFrom,
+        LocalDate createdTo
+) {
+    public ClaimExportCriteria {
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new BadRequestException("createdFrom should not be after createdTo");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+import com.rubin.insurance.policy_management_service.model.entity.claim.ClaimStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A full-text claim search. {@code query} uses web search syntax: quoted phrases, {@code or} and
+ * {@code -word}. The other fields are optional filters; the creation dates are inclusive.
+ */
+public record ClaimSearchCriteria(
+        String query,
+        ClaimStatus status,
+        Long policyId,
+        LocalDate createdFrom,
+        LocalDate createdTo
+) {
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    public ClaimSearchCriteria {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query should not be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query should not be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new BadRequestException("createdFrom should not be after createdTo");
+        }
+    }
+}
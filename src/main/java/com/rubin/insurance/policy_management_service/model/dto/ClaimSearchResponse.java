@@ -0,0 +1,15 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Claims matching a full-text search, most relevant first")
+public record ClaimSearchResponse(
+        @Schema(description = "The best matches among the ranked claims")
+        List<ClaimSearchResult> results,
+        @Schema(description = "True when more claims matched than are ranked per search. The matches left out are not chosen by " +
+                "date or relevance, so a better match may be missing; narrow the search with filters or a creation window.",
+                example = "false")
+        boolean truncated
+) {}
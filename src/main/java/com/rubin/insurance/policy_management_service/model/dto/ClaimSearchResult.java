@@ -0,0 +1,14 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A claim matching a full-text search, with its relevance")
+public record ClaimSearchResult(
+        @Schema(description = "The matching claim")
+        ClaimResponse claim,
+        @Schema(description = "Relevance of the description to the query; higher ranks first", example = "0.2")
+        double rank,
+        @Schema(description = "Description fragments around the matched words, which are wrapped in <b></b>",
+                example = "Rear <b>collision</b> at a junction, <b>whiplash</b> reported")
+        String headline
+) {}
@@ -0,0 +1,17 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import com.rubin.insurance.policy_management_service.model.entity.claim.ClaimStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Status change for one claim of a bulk status update")
+public record ClaimStatusUpdate(
+        @NotNull(message = "Claim Id should be present")
+        @Schema(description = "ID of the claim to update", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        Long claimId,
+        @NotNull(message = "Claim status should not be empty")
+        @Schema(description = "New status for the claim", example = "APPROVED", requiredMode = Schema.RequiredMode.REQUIRED, allowableValues = {"SUBMITTED", "APPROVED", "REJECTED"})
+        ClaimStatus claimStatus,
+        @Schema(description = "Reason for rejection (required when status is REJECTED)", example = "Documentation incomplete")
+        String rejectDescription) {
+}
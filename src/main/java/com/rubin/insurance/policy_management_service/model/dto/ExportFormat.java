@@ -0,0 +1,35 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+
+import java.util.Arrays;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromValue(String v) {
+        return Arrays.stream(ExportFormat.values())
+                .filter(el -> el.name().equalsIgnoreCase(v))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        String.format("Export format should be amongst : %s", Arrays.toString(ExportFormat.values()))
+                ));
+    }
+}
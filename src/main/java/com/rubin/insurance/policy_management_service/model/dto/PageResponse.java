@@ -1,5 +1,6 @@
 package com.rubin.insurance.policy_management_service.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.data.domain.Page;
 
@@ -11,11 +12,39 @@ public record PageResponse<T>(
         @Schema(description = "List of items for the current page")
         List<T> content,
 
-        @Schema(description = "Pagination metadata for the current page")
-        PaginationMetadata pagination
+        @Schema(description = "Pagination metadata for the current page (offset mode)")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        PaginationMetadata pagination,
+
+        @Schema(description = "Continuation metadata for the current page (cursor mode)")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        CursorMetadata cursor
 ) {
     public PageResponse(Page<T> page) {
-        this(page.getContent(), new PaginationMetadata(page));
+        this(page.getContent(), new PaginationMetadata(page), null);
+    }
+
+    public PageResponse(List<T> content, CursorMetadata cursor) {
+        this(content, null, cursor);
+    }
+
+    @Schema(description = "Continuation metadata for keyset pagination")
+    public record CursorMetadata(
+
+            @Schema(description = "Page size", example = "10")
+            int size,
+
+            @Schema(description = "Opaque token to request the next page; absent on the last page", example = "SUR8MTA")
+            @JsonInclude(JsonInclude.Include.NON_NULL)
+            String nextCursor,
+
+            @Schema(description = "True if more items follow this page", example = "true")
+            boolean hasNext,
+
+            @Schema(description = "Total number of elements; only present when explicitly requested", example = "42")
+            @JsonInclude(JsonInclude.Include.NON_NULL)
+            Long totalElements
+    ) {
     }
 
     @Schema(description = "Pagination metadata for the current page")
@@ -0,0 +1,21 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Claim totals of a policy and the coverage they leave")
+public record PolicyClaimSummary(
+        @Schema(description = "Policy identifier", example = "1")
+        Long policyId,
+        @Schema(description = "Coverage amount of the policy", example = "100000.00")
+        BigDecimal coverageAmount,
+        @Schema(description = "Claims still waiting for a decision", example = "2")
+        int openClaims,
+        @Schema(description = "Total amount of claims waiting for a decision", example = "7500.00")
+        BigDecimal submittedAmount,
+        @Schema(description = "Total amount of approved claims", example = "12000.00")
+        BigDecimal approvedAmount,
+        @Schema(description = "Coverage left for new claims: coverage minus submitted and approved amounts", example = "80500.00")
+        BigDecimal remainingCoverage
+) {}
@@ -0,0 +1,21 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a CSV policy import")
+public record PolicyImportResult(
+        @Schema(description = "Identifier of the import, used to download its error report", example = "3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b")
+        String importId,
+        @Schema(description = "Data rows read from the file, header excluded", example = "1000000")
+        long rows,
+        @Schema(description = "Policies inserted", example = "999998")
+        long imported,
+        @Schema(description = "Rows rejected; each is listed in the error report", example = "2")
+        long rejected,
+        @Schema(description = "Path of the error report, or null when every row was imported", example = "/policy/import/3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b/errors")
+        String errorReport,
+        @Schema(description = "False when the file could not be read to the end; the error report names the line where reading stopped", example = "true")
+        boolean complete,
+        @Schema(description = "Time the import took in milliseconds", example = "41230")
+        long durationMillis
+) {}
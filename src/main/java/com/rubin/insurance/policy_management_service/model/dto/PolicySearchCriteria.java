@@ -0,0 +1,32 @@
+package com.rubin.insurance.policy_management_service.model.dto;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyType;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a policy search; null fields do not filter. Date bounds are inclusive.
+ */
+public record PolicySearchCriteria(
+        String customerEmail,
+        PolicyStatus status,
+        PolicyType policyType,
+        LocalDate startDateFrom,
+        LocalDate startDateTo,
+        LocalDate endDateFrom,
+        LocalDate endDateTo
+) {
+    public PolicySearchCriteria {
+        if (customerEmail != null && customerEmail.isBlank()) {
+            customerEmail = null;
+        }
+        if (startDateFrom != null && startDateTo != null && startDateFrom.isAfter(startDateTo)) {
+            throw new BadRequestException("startDateFrom should not be after startDateTo");
+        }
+        if (endDateFrom != null && endDateTo != null && endDateFrom.isAfter(endDateTo)) {
+            throw new BadRequestException("endDateFrom should not be after endDateTo");
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.rubin.insurance.policy_management_service.model.entity.claim;
 
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.BusinessException;
-import com.rubin.insurance.policy_management_service.model.entity.BaseEntity;
 import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -9,16 +8,19 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Year;
 
 @Entity
 @Table(
         name = "claims",
         uniqueConstraints = {
-                @UniqueConstraint(name = "uk_claim_number", columnNames = "claim_number")
+                @UniqueConstraint(name = "uk_claim_number", columnNames = {"claim_number", "created_at"})
         },
         indexes = {
                 @Index(name = "idx_claim_policy_id", columnList = "policy_id"),
@@ -30,18 +32,19 @@ import java.time.Year;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Claim extends BaseEntity {
+public class Claim {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_id_seq")
-    @SequenceGenerator(name = "claim_id_seq", sequenceName = "claim_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "claim_id_seq", sequenceName = "claim_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "policy_id", nullable = false)
     private Policy policy;
 
-    @Column(name = "claim_number", nullable = false, unique = true, updatable = false, length = 20)
+    @GeneratedClaimNumber
+    @Column(name = "claim_number", nullable = false, updatable = false, length = 20)
     private String claimNumber;
 
     @Column(name = "description", nullable = false, length = 500)
@@ -61,19 +64,22 @@ public class Claim extends BaseEntity {
     @Column(name = "rejection_reason", length = 500)
     private String rejectionReason;
 
+    // Concurrent transitions on the same row fail with an optimistic locking conflict instead of overwriting each other.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
-    @PrePersist
-    private void prePersist() {
-        if (claimNumber == null || claimNumber.isBlank()) {
-            claimNumber = generateClaimNumber();
-        }
-    }
+    // The table is range-partitioned by created_at. Hibernate adds the partition key to the UPDATE
+    // and DELETE of a claim, so Postgres prunes them to one partition instead of probing each one.
+    // Declared here rather than inherited so policies, which are not partitioned, are unaffected.
+    @PartitionKey
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
 
-    private String generateClaimNumber() {
-        int year = Year.now().getValue();
-        long sequence = id != null ? id : System.nanoTime() % 1_000_000L;
-        return String.format("CLM-%d-%06d", year, Math.abs(sequence));
-    }
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 
     public void setStatus(ClaimStatus status) {
         if (this.status == ClaimStatus.APPROVED || this.status == ClaimStatus.REJECTED) {
@@ -0,0 +1,33 @@
+package com.rubin.insurance.policy_management_service.model.entity.claim;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.time.Year;
+import java.util.EnumSet;
+
+/**
+ * Backs {@link GeneratedClaimNumber}: derives a claim's number from its id as the INSERT is built.
+ * A {@code @PrePersist} callback runs before Hibernate draws the id from claim_id_seq, so it could
+ * not see one. Runs in memory, so batched claim inserts stay batched.
+ * <p>
+ * Ids are unique across the sequence, which makes the numbers unique too; the partitioned table
+ * can only enforce uniqueness together with created_at.
+ */
+public class ClaimNumberGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (currentValue instanceof String number && !number.isBlank()) {
+            return number;
+        }
+        return String.format("CLM-%d-%06d", Year.now().getValue(), ((Claim) owner).getId());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
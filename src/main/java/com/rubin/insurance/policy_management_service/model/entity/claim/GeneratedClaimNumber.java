@@ -0,0 +1,17 @@
+package com.rubin.insurance.policy_management_service.model.entity.claim;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fills the claim number from the claim's id when the claim is inserted without one.
+ */
+@ValueGenerationType(generatedBy = ClaimNumberGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface GeneratedClaimNumber {
+}
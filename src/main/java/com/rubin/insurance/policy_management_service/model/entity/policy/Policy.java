@@ -19,9 +19,14 @@ import java.time.Year;
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_policy_number", columnNames = "policy_number")
         },
+        // The Liquibase changelogs own the schema. idx_policy_email_lower_id (an expression) and
+        // idx_policy_active_end_date (partial) cannot be declared here.
         indexes = {
-                @Index(name = "idx_policy_customer_email", columnList = "customer_email"),
-                @Index(name = "idx_policy_status", columnList = "status")
+                @Index(name = "idx_policy_status", columnList = "status"),
+                @Index(name = "idx_policy_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_policy_status_type_id", columnList = "status, policy_type, id"),
+                @Index(name = "idx_policy_start_date_id", columnList = "start_date, id"),
+                @Index(name = "idx_policy_updated_at", columnList = "updated_at")
         }
 )
 @Getter
@@ -31,9 +36,12 @@ import java.time.Year;
 @AllArgsConstructor
 public class Policy extends BaseEntity {
 
+    // Must match the increment of policy_id_seq; each nextval covers this many ids below it.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "policy_id_seq")
-    @SequenceGenerator(name = "policy_id_seq", sequenceName = "policy_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "policy_id_seq", sequenceName = "policy_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "policy_number", nullable = false, unique = true, updatable = false, length = 20)
@@ -66,6 +74,11 @@ public class Policy extends BaseEntity {
     @Builder.Default
     private PolicyStatus status = PolicyStatus.ACTIVE;
 
+    // Concurrent transitions on the same row fail with an optimistic locking conflict instead of overwriting each other.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     private void prePersist() {
         if (this.policyNumber == null || this.policyNumber.isBlank()) {
@@ -74,18 +87,25 @@ public class Policy extends BaseEntity {
     }
 
     private String generatePolicyNumber() {
-        int year = Year.now().getValue();
-        long sequence = id != null ? id : System.nanoTime() % 1_000_000L;
-        return String.format("POL-%d-%06d", year, Math.abs(sequence));
+        return policyNumber(id != null ? id : System.nanoTime() % 1_000_000L);
+    }
+
+    public static String policyNumber(long sequence) {
+        return String.format("POL-%d-%06d", Year.now().getValue(), Math.abs(sequence));
     }
 
 
     public void renew(){
+        if (this.status == PolicyStatus.CANCELLED) {
+            throw new BusinessException("Cancelled policies cannot be renewed.");
+        }
         if (this.endDate.isAfter(LocalDate.now()) && this.status.equals(PolicyStatus.ACTIVE)) {
             throw new BusinessException("You can't renew until the first period finishes");
         }
         this.startDate = LocalDate.now();
         this.endDate = LocalDate.now().plusMonths(6);
+        // The expiry sweeper may already have marked it EXPIRED; a new period makes it active again.
+        this.status = PolicyStatus.ACTIVE;
     }
 
     public void cancel() {
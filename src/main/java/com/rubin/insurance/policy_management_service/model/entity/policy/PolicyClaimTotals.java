@@ -0,0 +1,71 @@
+package com.rubin.insurance.policy_management_service.model.entity.policy;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Running claim totals of one policy, changed in the same transaction as the claims they count.
+ * <p>
+ * Exposure is what the policy may still have to pay: submitted plus approved amounts. Rejected
+ * claims drop out of it. Only change these fields while the row is locked. The repository's
+ * single-claim updates are atomic statements; bulk paths lock the rows first.
+ */
+@Entity
+@Table(name = "policy_claim_totals")
+@Getter
+@NoArgsConstructor
+public class PolicyClaimTotals {
+
+    @Id
+    @Column(name = "policy_id")
+    private Long policyId;
+
+    @Column(name = "open_claims", nullable = false)
+    private int openClaims;
+
+    @Column(name = "submitted_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal submittedAmount = BigDecimal.ZERO;
+
+    @Column(name = "approved_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal approvedAmount = BigDecimal.ZERO;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public PolicyClaimTotals(Long policyId) {
+        this.policyId = policyId;
+    }
+
+    public BigDecimal exposure() {
+        return submittedAmount.add(approvedAmount);
+    }
+
+    public boolean canCover(BigDecimal claimAmount, BigDecimal coverageAmount) {
+        return exposure().add(claimAmount).compareTo(coverageAmount) <= 0;
+    }
+
+    public void submit(BigDecimal claimAmount) {
+        openClaims++;
+        submittedAmount = submittedAmount.add(claimAmount);
+    }
+
+    public void approve(BigDecimal claimAmount) {
+        openClaims--;
+        submittedAmount = submittedAmount.subtract(claimAmount);
+        approvedAmount = approvedAmount.add(claimAmount);
+    }
+
+    public void reject(BigDecimal claimAmount) {
+        openClaims--;
+        submittedAmount = submittedAmount.subtract(claimAmount);
+    }
+}
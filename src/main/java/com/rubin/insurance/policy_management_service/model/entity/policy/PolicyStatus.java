@@ -1,7 +1,20 @@
 package com.rubin.insurance.policy_management_service.model.entity.policy;
 
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+
+import java.util.Arrays;
+
 public enum PolicyStatus {
     ACTIVE,
     EXPIRED,
-    CANCELLED
+    CANCELLED;
+
+    public static PolicyStatus fromValue(String v) {
+        return Arrays.stream(PolicyStatus.values())
+                .filter(el -> el.name().equalsIgnoreCase(v))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        String.format("Policy Status should be amongst : %s", Arrays.toString(PolicyStatus.values()))
+                ));
+    }
 }
@@ -1,11 +1,47 @@
 package com.rubin.insurance.policy_management_service.repository;
 
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
 import com.rubin.insurance.policy_management_service.model.entity.claim.Claim;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface ClaimRepository extends JpaRepository<Claim,Long> {
 
-    List<Claim> findClaimsByPolicyId(Long policyId);
+    /**
+     * Selects claims straight into {@link ClaimResponse}, without managed entities, dirty-checking
+     * snapshots or policy proxies. {@code c.policy.id} is read from the foreign key, not joined.
+     */
+    String SELECT_CLAIM_RESPONSE = """
+            SELECT new com.rubin.insurance.policy_management_service.model.dto.ClaimResponse(
+                c.id, c.policy.id, c.claimNumber, c.description, c.claimAmount, c.incidentDate,
+                cast(c.status as String), c.rejectionReason, c.createdAt)
+            FROM Claim c
+            """;
+
+    /**
+     * A claim is never older than its policy, so the policy's creation time bounds the partitions
+     * to read. Postgres prunes on the subquery's value when the query starts; the day of slack
+     * covers clock differences between the nodes that wrote the two rows.
+     */
+    @Query(SELECT_CLAIM_RESPONSE + """
+            WHERE c.policy.id = :policyId
+            AND c.createdAt >= (SELECT p.createdAt - 1 day FROM Policy p WHERE p.id = :policyId)
+            """)
+    List<ClaimResponse> findResponsesByPolicyId(@Param("policyId") Long policyId);
+
+    // No time bound is known here, so this probes the primary key index of every partition.
+    @Query(SELECT_CLAIM_RESPONSE + "WHERE c.id = :id")
+    Optional<ClaimResponse> findResponseById(@Param("id") Long id);
+
+    @Query(value = """
+            SELECT policy_id FROM claims
+            WHERE status = 'SUBMITTED' AND created_at >= :createdSince
+            GROUP BY policy_id ORDER BY max(updated_at) DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPolicyIdsWithOpenClaims(@Param("createdSince") Instant createdSince, @Param("limit") int limit);
 }
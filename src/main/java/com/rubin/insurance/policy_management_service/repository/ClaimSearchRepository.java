@@ -0,0 +1,109 @@
+package com.rubin.insurance.policy_management_service.repository;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranked full-text search over claim descriptions, backed by the GIN index on
+ * {@code claims.description_tsv}.
+ * <p>
+ * The cost of a search is bounded whatever the table size. The index finds the matching rows, but
+ * only the first {@code max-candidates} of them are ranked, so a word common to millions of claims
+ * costs about the same as a rare one; the response says when matches were left out. Only the
+ * returned page gets headlines. Filters are added only when set, so a policy filter can use
+ * {@code idx_claim_policy_id} and a creation window prunes partitions.
+ */
+@Repository
+public class ClaimSearchRepository {
+
+    // The candidates are taken in whatever order the index returns them, with no sort: no index serves
+    // both the text match and created_at, so ordering them would fetch and sort every match before the
+    // LIMIT. Which matches make the cut is therefore unspecified. One candidate past the budget tells
+    // whether the match set was cut; it is ranked with the rest.
+    static final String SEARCH = """
+            SELECT m.*, ts_headline('english', m.description, m.query,
+                                    'MaxFragments=2, MaxWords=20, MinWords=5') AS headline
+            FROM (
+                SELECT candidates.id, candidates.policy_id, candidates.claim_number, candidates.description,
+                       candidates.claim_amount, candidates.incident_date, candidates.status,
+                       candidates.rejection_reason, candidates.created_at, candidates.query,
+                       ts_rank_cd(candidates.description_tsv, candidates.query) AS rank,
+                       count(*) OVER () > :maxCandidates AS truncated
+                FROM (
+                    SELECT c.*, q.query
+                    FROM claims c, websearch_to_tsquery('english', :query) AS q(query)
+                    WHERE c.description_tsv @@ q.query%s
+                    LIMIT :maxCandidates + 1) candidates
+                ORDER BY rank DESC, id DESC
+                LIMIT :limit) m
+            ORDER BY m.rank DESC, m.id DESC
+            """;
+
+    private static final RowMapper<ClaimSearchResult> SEARCH_RESULT = (rs, rowNum) -> new ClaimSearchResult(
+            new ClaimResponse(
+                    rs.getLong("id"),
+                    rs.getLong("policy_id"),
+                    rs.getString("claim_number"),
+                    rs.getString("description"),
+                    rs.getBigDecimal("claim_amount"),
+                    rs.getObject("incident_date", LocalDate.class),
+                    rs.getString("status"),
+                    rs.getString("rejection_reason"),
+                    rs.getTimestamp("created_at").toInstant()),
+            rs.getDouble("rank"),
+            rs.getString("headline"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxCandidates;
+
+    public ClaimSearchRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                 @Value("${claims.search.max-candidates:10000}") int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxCandidates = Math.max(1, maxCandidates);
+    }
+
+    public ClaimSearchResponse search(ClaimSearchCriteria criteria, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", criteria.query())
+                .addValue("maxCandidates", maxCandidates)
+                .addValue("limit", limit);
+        StringBuilder filters = new StringBuilder();
+        if (criteria.status() != null) {
+            filters.append(" AND c.status = :status");
+            params.addValue("status", criteria.status().name());
+        }
+        if (criteria.policyId() != null) {
+            filters.append(" AND c.policy_id = :policyId");
+            params.addValue("policyId", criteria.policyId());
+        }
+        // Timestamps rather than dates, so the bounds compare with the partition key's own type.
+        if (criteria.createdFrom() != null) {
+            filters.append(" AND c.created_at >= :createdFrom");
+            params.addValue("createdFrom", criteria.createdFrom().atStartOfDay());
+        }
+        if (criteria.createdTo() != null) {
+            filters.append(" AND c.created_at < :createdBefore");
+            params.addValue("createdBefore", criteria.createdTo().plusDays(1).atStartOfDay());
+        }
+        return jdbcTemplate.query(SEARCH.formatted(filters), params, rs -> {
+            List<ClaimSearchResult> results = new ArrayList<>();
+            boolean truncated = false;
+            while (rs.next()) {
+                truncated = rs.getBoolean("truncated");
+                results.add(SEARCH_RESULT.mapRow(rs, results.size()));
+            }
+            return new ClaimSearchResponse(results, truncated);
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package com.rubin.insurance.policy_management_service.repository;
+
+import com.rubin.insurance.policy_management_service.messaging.events.EventEnvelope;
+import com.rubin.insurance.policy_management_service.messaging.events.OutboxMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The {@code event_outbox} table. Events are appended in the caller's transaction, so they exist
+ * exactly when the change they describe has committed, and are then claimed, sent and deleted by
+ * the relay.
+ */
+@Repository
+public class EventOutboxRepository {
+
+    static final String APPEND = "INSERT INTO event_outbox (topic, message_key, payload) VALUES (?, ?, ?)";
+
+    // Oldest unclaimed (or abandoned) rows first. SKIP LOCKED lets relays on other nodes claim the
+    // next rows instead of waiting; the lease lets them take over the rows of a relay that died.
+    static final String CLAIM = """
+            WITH next AS (
+                SELECT id FROM event_outbox
+                WHERE claimed_until IS NULL OR claimed_until < now()
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            UPDATE event_outbox o
+            SET claimed_until = now() + make_interval(secs => ?)
+            FROM next
+            WHERE o.id = next.id
+            RETURNING o.id, o.topic, o.message_key, o.payload, EXTRACT(EPOCH FROM now() - o.created_at) AS age
+            """;
+
+    static final String DELETE = "DELETE FROM event_outbox WHERE id = ANY(?)";
+
+    static final String OLDEST_AGE = "SELECT EXTRACT(EPOCH FROM now() - created_at) FROM event_outbox ORDER BY id LIMIT 1";
+
+    private static final RowMapper<OutboxMessage> MESSAGE = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"), rs.getString("topic"), rs.getString("message_key"), rs.getString("payload"), rs.getDouble("age"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public EventOutboxRepository(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Appends the events for {@code topic} as one JDBC batch, keyed by entity id like the records
+     * they become. Joins the caller's transaction; without one each row commits on its own.
+     */
+    public void append(String topic, List<? extends EventEnvelope<?>> envelopes) {
+        jdbcTemplate.batchUpdate(APPEND, envelopes, envelopes.size(), (ps, envelope) -> {
+            ps.setString(1, topic);
+            ps.setString(2, envelope.getEntityId());
+            ps.setString(3, jsonMapper.writeValueAsString(envelope));
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} pending events for {@code lease}, in id order. The claim commits
+     * on its own, so no lock is held while the events are sent.
+     */
+    public List<OutboxMessage> claim(int limit, Duration lease) {
+        List<OutboxMessage> claimed = jdbcTemplate.query(CLAIM, MESSAGE, limit, lease.toMillis() / 1000.0);
+        // RETURNING does not keep the CTE's order.
+        return claimed.stream().sorted(Comparator.comparingLong(OutboxMessage::id)).toList();
+    }
+
+    public int delete(List<Long> ids) {
+        return jdbcTemplate.update(DELETE, (Object) ids.toArray(Long[]::new));
+    }
+
+    /** Seconds since the oldest pending event was written, or 0 when the outbox is empty. */
+    public double oldestAgeSeconds() {
+        List<Double> age = jdbcTemplate.queryForList(OLDEST_AGE, Double.class);
+        return age.isEmpty() ? 0 : age.getFirst();
+    }
+}
@@ -0,0 +1,130 @@
+package com.rubin.insurance.policy_management_service.repository;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimExportCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Reads whole tables for export as plain result sets, without hydrating entities.
+ * <p>
+ * Rows come from a server-side cursor: with a fetch size inside a transaction the Postgres driver
+ * fetches {@code fetch-size} rows at a time instead of buffering the result, so memory stays flat
+ * however many rows match. The next batch is only fetched once the extractor has consumed the
+ * previous one, which makes a slow reader slow the query down rather than pile rows up in memory.
+ * The statements have no ORDER BY, so they stream from a scan instead of waiting for a sort.
+ */
+@Repository
+public class ExportRepository {
+
+    static final String POLICIES = """
+            SELECT id, policy_number AS "policyNumber", customer_name AS "customerName",
+                   customer_email AS "customerEmail", policy_type AS "policyType",
+                   coverage_amount AS "coverageAmount", premium_amount AS "premiumAmount",
+                   start_date AS "startDate", end_date AS "endDate", status,
+                   created_at AS "createdAt", updated_at AS "updatedAt"
+            FROM policies
+            WHERE TRUE%s
+            """;
+
+    static final String CLAIMS = """
+            SELECT id, policy_id AS "policyId", claim_number AS "claimNumber", description,
+                   claim_amount AS "claimAmount", incident_date AS "incidentDate", status,
+                   rejection_reason AS "rejectionReason", created_at AS "createdAt", updated_at AS "updatedAt"
+            FROM claims
+            WHERE TRUE%s
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Duration stallTimeout;
+
+    public ExportRepository(DataSource dataSource,
+                            @Value("${export.fetch-size:1000}") int fetchSize,
+                            @Value("${export.stall-timeout:60s}") Duration stallTimeout) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(Math.max(1, fetchSize));
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.stallTimeout = stallTimeout;
+    }
+
+    /** Streams the policies matching {@code criteria}; must run inside a transaction. */
+    public <T> T streamPolicies(PolicySearchCriteria criteria, ResultSetExtractor<T> extractor) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder filters = new StringBuilder();
+        if (criteria.customerEmail() != null) {
+            // Served by idx_policy_email_lower_id
+            filters.append(" AND lower(customer_email) = :email");
+            params.addValue("email", criteria.customerEmail().trim().toLowerCase(Locale.ROOT));
+        }
+        if (criteria.status() != null) {
+            filters.append(" AND status = :status");
+            params.addValue("status", criteria.status().name());
+        }
+        if (criteria.policyType() != null) {
+            filters.append(" AND policy_type = :policyType");
+            params.addValue("policyType", criteria.policyType().name());
+        }
+        if (criteria.startDateFrom() != null) {
+            filters.append(" AND start_date >= :startDateFrom");
+            params.addValue("startDateFrom", criteria.startDateFrom());
+        }
+        if (criteria.startDateTo() != null) {
+            filters.append(" AND start_date <= :startDateTo");
+            params.addValue("startDateTo", criteria.startDateTo());
+        }
+        if (criteria.endDateFrom() != null) {
+            filters.append(" AND end_date >= :endDateFrom");
+            params.addValue("endDateFrom", criteria.endDateFrom());
+        }
+        if (criteria.endDateTo() != null) {
+            filters.append(" AND end_date <= :endDateTo");
+            params.addValue("endDateTo", criteria.endDateTo());
+        }
+        return stream(POLICIES.formatted(filters), params, extractor);
+    }
+
+    /** Streams the claims matching {@code criteria}; must run inside a transaction. */
+    public <T> T streamClaims(ClaimExportCriteria criteria, ResultSetExtractor<T> extractor) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder filters = new StringBuilder();
+        if (criteria.status() != null) {
+            filters.append(" AND status = :status");
+            params.addValue("status", criteria.status().name());
+        }
+        if (criteria.policyId() != null) {
+            filters.append(" AND policy_id = :policyId");
+            params.addValue("policyId", criteria.policyId());
+        }
+        // Timestamps rather than dates, so the bounds prune partitions.
+        if (criteria.createdFrom() != null) {
+            filters.append(" AND created_at >= :createdFrom");
+            params.addValue("createdFrom", criteria.createdFrom().atStartOfDay());
+        }
+        if (criteria.createdTo() != null) {
+            filters.append(" AND created_at < :createdBefore");
+            params.addValue("createdBefore", criteria.createdTo().plusDays(1).atStartOfDay());
+        }
+        return stream(CLAIMS.formatted(filters), params, extractor);
+    }
+
+    private <T> T stream(String sql, MapSqlParameterSource params, ResultSetExtractor<T> extractor) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Outside a transaction the driver would read the whole result into memory first.
+            throw new IllegalStateException("Exports must stream inside a transaction");
+        }
+        // Between fetches the session sits idle in the transaction while the client reads. If the
+        // client stops reading, Postgres ends the session instead of holding the snapshot open.
+        jdbcTemplate.getJdbcTemplate().execute(
+                "SET LOCAL idle_in_transaction_session_timeout = " + stallTimeout.toMillis());
+        return jdbcTemplate.query(sql, params, extractor);
+    }
+}
@@ -0,0 +1,77 @@
+package com.rubin.insurance.policy_management_service.repository;
+
+import com.rubin.insurance.policy_management_service.model.dto.PolicyClaimSummary;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyClaimTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PolicyClaimTotalsRepository extends JpaRepository<PolicyClaimTotals, Long> {
+
+    /**
+     * Counts a new claim against the policy's coverage in one statement. It creates the row on the
+     * first claim. It leaves the row untouched and returns 0 when the claim would take submitted
+     * plus approved amounts past {@code coverageAmount}. The row stays locked until the
+     * transaction ends, so concurrent claims on the same policy queue up instead of both passing
+     * the check.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO policy_claim_totals AS t (policy_id, open_claims, submitted_amount, approved_amount, updated_at)
+            SELECT :policyId, 1, :claimAmount, 0, now()
+            WHERE :claimAmount <= :coverageAmount
+            ON CONFLICT (policy_id) DO UPDATE
+            SET open_claims = t.open_claims + 1,
+                submitted_amount = t.submitted_amount + :claimAmount,
+                updated_at = now()
+            WHERE t.submitted_amount + t.approved_amount + :claimAmount <= :coverageAmount
+            """, nativeQuery = true)
+    int submitWithinCoverage(@Param("policyId") Long policyId,
+                             @Param("claimAmount") BigDecimal claimAmount,
+                             @Param("coverageAmount") BigDecimal coverageAmount);
+
+    /** Moves a decided claim out of the open totals; {@code approvedDelta} is zero for a rejection. */
+    @Modifying
+    @Query(value = """
+            UPDATE policy_claim_totals
+            SET open_claims = open_claims - 1,
+                submitted_amount = submitted_amount - :claimAmount,
+                approved_amount = approved_amount + :approvedDelta,
+                updated_at = now()
+            WHERE policy_id = :policyId
+            """, nativeQuery = true)
+    int decide(@Param("policyId") Long policyId,
+               @Param("claimAmount") BigDecimal claimAmount,
+               @Param("approvedDelta") BigDecimal approvedDelta);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO policy_claim_totals (policy_id)
+            SELECT id FROM policies WHERE id IN (:policyIds)
+            ON CONFLICT (policy_id) DO NOTHING
+            """, nativeQuery = true)
+    int createMissing(@Param("policyIds") Collection<Long> policyIds);
+
+    // Locked in id order so two bulk writers touching the same policies cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM PolicyClaimTotals t WHERE t.policyId IN :policyIds ORDER BY t.policyId")
+    List<PolicyClaimTotals> lockAll(@Param("policyIds") Collection<Long> policyIds);
+
+    @Query("""
+            SELECT new com.rubin.insurance.policy_management_service.model.dto.PolicyClaimSummary(
+                p.id, p.coverageAmount, coalesce(t.openClaims, 0), coalesce(t.submittedAmount, 0),
+                coalesce(t.approvedAmount, 0),
+                p.coverageAmount - coalesce(t.submittedAmount, 0) - coalesce(t.approvedAmount, 0))
+            FROM Policy p LEFT JOIN PolicyClaimTotals t ON t.policyId = p.id
+            WHERE p.id = :policyId
+            """)
+    Optional<PolicyClaimSummary> findSummary(@Param("policyId") Long policyId);
+}
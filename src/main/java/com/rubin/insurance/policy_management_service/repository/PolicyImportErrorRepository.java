@@ -0,0 +1,75 @@
+package com.rubin.insurance.policy_management_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * The {@code policy_import_errors} table: the error reports of policy imports, one row per
+ * problem. Reports live in the database so that whichever node a download lands on can serve it,
+ * and are deleted once past their retention.
+ */
+@Repository
+public class PolicyImportErrorRepository {
+
+    static final String INSERT = "INSERT INTO policy_import_errors (import_id, line, field, message) VALUES (?, ?, ?, ?)";
+
+    static final String EXISTS = "SELECT EXISTS (SELECT 1 FROM policy_import_errors WHERE import_id = ?)";
+
+    static final String SELECT = "SELECT line, field, message FROM policy_import_errors WHERE import_id = ? ORDER BY id";
+
+    // Bounded so a large backlog is removed in short transactions rather than one long one.
+    static final String DELETE_EXPIRED = """
+            DELETE FROM policy_import_errors WHERE id IN (
+                SELECT id FROM policy_import_errors
+                WHERE created_at < now() - make_interval(secs => ?)
+                LIMIT ?)
+            """;
+
+    public record Problem(long line, String field, String message) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public PolicyImportErrorRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Postgres only streams with a fetch size inside a transaction; otherwise it buffers the whole report.
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(1000);
+    }
+
+    /** Appends the problems as one JDBC batch. Joins the caller's transaction; without one they commit on their own. */
+    public void insert(UUID importId, List<Problem> problems) {
+        jdbcTemplate.batchUpdate(INSERT, problems, problems.size(), (ps, problem) -> {
+            ps.setObject(1, importId);
+            ps.setLong(2, problem.line());
+            ps.setString(3, problem.field());
+            ps.setString(4, problem.message());
+        });
+    }
+
+    public boolean exists(UUID importId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS, Boolean.class, importId));
+    }
+
+    /** Hands each problem of the report to {@code action} in the order they were found; call inside a transaction. */
+    public void forEach(UUID importId, Consumer<Problem> action) {
+        streamingJdbcTemplate.query(SELECT, rs -> {
+            action.accept(new Problem(rs.getLong("line"), rs.getString("field"), rs.getString("message")));
+        }, importId);
+    }
+
+    /**
+     * Deletes up to {@code limit} problems recorded longer than {@code retention} ago.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteExpired(Duration retention, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED, retention.toSeconds(), limit);
+    }
+}
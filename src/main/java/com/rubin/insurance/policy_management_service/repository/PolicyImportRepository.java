@@ -0,0 +1,122 @@
+package com.rubin.insurance.policy_management_service.repository;
+
+import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads policies with the COPY protocol instead of one INSERT per row.
+ * <p>
+ * Rows are copied into a temporary staging table, then moved into {@code policies} by a single
+ * INSERT ... SELECT that fills in the columns the application owns. Both steps run in the caller's
+ * transaction, so a chunk lands completely or not at all. Ids come from {@code policy_id_seq} in
+ * the same blocks Hibernate's pooled optimizer uses, so they never collide with ids handed out by
+ * running instances.
+ */
+@Repository
+public class PolicyImportRepository {
+
+    static final String NEXT_ID_BLOCKS = "SELECT nextval('policy_id_seq') FROM generate_series(1, ?)";
+
+    // Kept for the life of the pooled connection and emptied by every commit.
+    static final String CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS policy_import_staging (
+                id BIGINT NOT NULL,
+                policy_number VARCHAR(20) NOT NULL,
+                customer_name VARCHAR(255) NOT NULL,
+                customer_email VARCHAR(255) NOT NULL,
+                policy_type VARCHAR(20) NOT NULL,
+                coverage_amount NUMERIC(15,2) NOT NULL,
+                premium_amount NUMERIC(15,2) NOT NULL,
+                start_date DATE NOT NULL,
+                end_date DATE NOT NULL
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    static final String COPY_STAGING = """
+            COPY policy_import_staging (id, policy_number, customer_name, customer_email, policy_type,
+                                        coverage_amount, premium_amount, start_date, end_date)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    // Policies that have already ended arrive EXPIRED, rather than being expired later by the sweeper with an email each.
+    static final String MERGE_STAGING = """
+            INSERT INTO policies (id, policy_number, customer_name, customer_email, policy_type, coverage_amount,
+                                  premium_amount, start_date, end_date, status, version, created_at, updated_at)
+            SELECT id, policy_number, customer_name, customer_email, policy_type, coverage_amount,
+                   premium_amount, start_date, end_date,
+                   CASE WHEN end_date < current_date THEN 'EXPIRED' ELSE 'ACTIVE' END, 0, now(), now()
+            FROM policy_import_staging
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PolicyImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Reserves {@code count} new policy ids. */
+    public List<Long> allocateIds(int count) {
+        int blocks = (count + Policy.ID_ALLOCATION_SIZE - 1) / Policy.ID_ALLOCATION_SIZE;
+        List<Long> ids = new ArrayList<>(blocks * Policy.ID_ALLOCATION_SIZE);
+        for (Long hi : jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, blocks)) {
+            for (long id = hi - Policy.ID_ALLOCATION_SIZE + 1; id <= hi; id++) {
+                ids.add(id);
+            }
+        }
+        return ids.subList(0, count);
+    }
+
+    /**
+     * Inserts the policies with the given ids; must run inside a transaction.
+     *
+     * @return the number of policies inserted
+     */
+    public int insert(List<Long> ids, List<PolicyRequest> policies) {
+        jdbcTemplate.execute(CREATE_STAGING);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+            try {
+                StringBuilder row = new StringBuilder(256);
+                for (int i = 0; i < policies.size(); i++) {
+                    PolicyRequest policy = policies.get(i);
+                    row.setLength(0);
+                    row.append(ids.get(i)).append(',')
+                            .append(Policy.policyNumber(ids.get(i))).append(',');
+                    appendField(row, policy.customerName()).append(',');
+                    appendField(row, policy.customerEmail()).append(',');
+                    row.append(policy.policyType().name()).append(',')
+                            .append(policy.coverageAmount().toPlainString()).append(',')
+                            .append(policy.premiumAmount().toPlainString()).append(',')
+                            .append(policy.startDate()).append(',')
+                            .append(policy.endDate()).append('\n');
+                    byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                }
+                return copy.endCopy();
+            } catch (SQLException | RuntimeException ex) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                throw ex;
+            }
+        });
+        return jdbcTemplate.update(MERGE_STAGING);
+    }
+
+    private static StringBuilder appendField(StringBuilder row, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
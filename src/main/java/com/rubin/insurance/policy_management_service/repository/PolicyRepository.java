@@ -4,8 +4,26 @@ import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PolicyRepository extends JpaRepository<Policy,Long> {
+import java.time.Instant;
+import java.util.List;
+
+public interface PolicyRepository extends JpaRepository<Policy,Long>, JpaSpecificationExecutor<Policy> {
 
     Page<Policy> findAll(Pageable pageable);
+
+    @Query(value = "SELECT id FROM policies ORDER BY updated_at DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentlyUpdatedIds(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM policies WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Policy> findNextPageById(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM policies WHERE (created_at, id) > (:createdAt, :afterId) ORDER BY created_at, id LIMIT :limit",
+            nativeQuery = true)
+    List<Policy> findNextPageByCreatedAt(@Param("createdAt") Instant createdAt,
+                                         @Param("afterId") long afterId,
+                                         @Param("limit") int limit);
 }
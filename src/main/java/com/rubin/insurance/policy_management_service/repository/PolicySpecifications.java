@@ -0,0 +1,53 @@
+package com.rubin.insurance.policy_management_service.repository;
+
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds policy search predicates from only the filters that are set, so each combination is its
+ * own statement and Postgres can plan it against the matching index instead of a generic
+ * {@code (:param IS NULL OR ...)} plan that fits none of them.
+ */
+public final class PolicySpecifications {
+
+    private PolicySpecifications() {
+    }
+
+    /** Matches {@code criteria} among the policies after {@code afterId}, for keyset pages ordered by id. */
+    public static Specification<Policy> search(PolicySearchCriteria criteria, long afterId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.customerEmail() != null) {
+                // Served by idx_policy_email_lower_id
+                predicates.add(cb.equal(cb.lower(root.get("customerEmail")),
+                        criteria.customerEmail().trim().toLowerCase(Locale.ROOT)));
+            }
+            if (criteria.status() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.status()));
+            }
+            if (criteria.policyType() != null) {
+                predicates.add(cb.equal(root.get("policyType"), criteria.policyType()));
+            }
+            if (criteria.startDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), criteria.startDateFrom()));
+            }
+            if (criteria.startDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startDate"), criteria.startDateTo()));
+            }
+            if (criteria.endDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("endDate"), criteria.endDateFrom()));
+            }
+            if (criteria.endDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), criteria.endDateTo()));
+            }
+            predicates.add(cb.greaterThan(root.get("id"), afterId));
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
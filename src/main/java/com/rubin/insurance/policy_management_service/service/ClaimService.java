@@ -1,7 +1,11 @@
 package com.rubin.insurance.policy_management_service.service;
 
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimRequest;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimStatusUpdate;
 import com.rubin.insurance.policy_management_service.model.dto.UpdateClaimStatusDTO;
 
 import java.util.List;
@@ -10,9 +14,15 @@ public interface ClaimService {
 
     ClaimResponse createClaim(ClaimRequest claimRequest);
 
+    BulkResponse<ClaimResponse> createClaims(List<ClaimRequest> claimRequests);
+
     ClaimResponse getClaimById(Long id);
 
     List<ClaimResponse> getClaimsByPolicyId(Long policyId);
 
+    ClaimSearchResponse searchClaims(ClaimSearchCriteria criteria, int limit);
+
     ClaimResponse updateStatus(Long id, UpdateClaimStatusDTO updateClaimStatusDTO);
+
+    BulkResponse<ClaimResponse> updateStatuses(List<ClaimStatusUpdate> updates);
 }
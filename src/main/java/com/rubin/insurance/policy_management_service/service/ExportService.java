@@ -0,0 +1,18 @@
+package com.rubin.insurance.policy_management_service.service;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimExportCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Full exports of the policy and claim book. Each call reserves an export slot straight away, so
+ * a caller over the limit is refused before any response is started; the returned body releases
+ * the slot once it has written the export.
+ */
+public interface ExportService {
+
+    StreamingResponseBody exportPolicies(PolicySearchCriteria criteria, ExportFormat format, boolean gzip);
+
+    StreamingResponseBody exportClaims(ClaimExportCriteria criteria, ExportFormat format, boolean gzip);
+}
@@ -0,0 +1,14 @@
+package com.rubin.insurance.policy_management_service.service;
+
+import com.rubin.insurance.policy_management_service.model.dto.PolicyImportResult;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+public interface PolicyImportService {
+
+    PolicyImportResult importPolicies(InputStream csv);
+
+    StreamingResponseBody getErrorReport(String importId);
+}
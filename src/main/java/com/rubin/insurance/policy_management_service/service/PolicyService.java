@@ -1,18 +1,32 @@
 package com.rubin.insurance.policy_management_service.service;
 
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
 import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyClaimSummary;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
+import com.rubin.insurance.policy_management_service.utils.KeysetCursor;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface PolicyService {
 
     PolicyResponse savePolicy(PolicyRequest policy);
 
+    BulkResponse<PolicyResponse> savePolicies(List<PolicyRequest> policies);
+
     PolicyResponse getById(Long id);
 
+    PolicyClaimSummary getClaimSummary(Long id);
+
     PageResponse<PolicyResponse> getAllPolicies(Pageable pageable);
 
+    PageResponse<PolicyResponse> getPoliciesAfter(KeysetCursor cursor, int pageSize, boolean includeTotal);
+
+    PageResponse<PolicyResponse> searchPolicies(PolicySearchCriteria criteria, KeysetCursor cursor, int pageSize);
+
     PolicyResponse renewPolicy(Long id);
 
     PolicyResponse cancelPolicy(Long id);
@@ -0,0 +1,155 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code claims} ahead of the clock and moves old ones out.
+ * <p>
+ * Partitions are named {@code claims_pYYYY_MM} and created {@code premake-months} in advance, so
+ * inserts never fall through to the default partition. Once a month is older than
+ * {@code retention-months} its partition is detached and moved to the archive schema, where it
+ * can be exported or dropped without touching the live table. A partition that still holds
+ * SUBMITTED claims is kept, since those claims would otherwise vanish while still being adjudicated.
+ * Every step is idempotent, so nodes running it at the same time only log the loser's failure.
+ */
+@Slf4j
+@Service
+public class ClaimPartitionMaintainer {
+
+    static final String LIST_PARTITIONS = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'claims'::regclass
+            ORDER BY c.relname
+            """;
+
+    private static final String PARTITION_PREFIX = "claims_p";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter createdCounter;
+    private final Counter archivedCounter;
+    private final boolean enabled;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final String archiveSchema;
+
+    public ClaimPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${claims.partitioning.enabled:true}") boolean enabled,
+                                    @Value("${claims.partitioning.premake-months:3}") int premakeMonths,
+                                    @Value("${claims.partitioning.retention-months:84}") int retentionMonths,
+                                    @Value("${claims.partitioning.archive-schema:claims_archive}") String archiveSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.createdCounter = Counter.builder("claims.partitions.created")
+                .description("Monthly claim partitions created ahead of time")
+                .register(meterRegistry);
+        this.archivedCounter = Counter.builder("claims.partitions.archived")
+                .description("Claim partitions detached and moved to the archive schema")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.premakeMonths = Math.max(1, premakeMonths);
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+    }
+
+    @Scheduled(fixedDelayString = "${claims.partitioning.interval:6h}",
+            initialDelayString = "${claims.partitioning.initial-delay:30s}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        try {
+            createAhead(current);
+            // Zero or less keeps every partition attached.
+            if (retentionMonths > 0) {
+                archiveBefore(current.minusMonths(retentionMonths));
+            }
+        } catch (Exception ex) {
+            log.warn("Claim partition maintenance stopped: {}", ex.getMessage());
+        }
+    }
+
+    private void createAhead(YearMonth current) {
+        List<String> existing = jdbcTemplate.queryForList(LIST_PARTITIONS, String.class);
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute(createPartitionSql(month));
+                createdCounter.increment();
+                log.info("Created claim partition {}", name);
+            } catch (Exception ex) {
+                // Another node got there first, or the default partition already holds rows of this month.
+                log.warn("Could not create claim partition {}: {}", name, ex.getMessage());
+            }
+        }
+    }
+
+    private void archiveBefore(YearMonth oldestKept) {
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            YearMonth month = monthOf(name);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                Boolean open = jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + name + " WHERE status = 'SUBMITTED')", Boolean.class);
+                if (Boolean.TRUE.equals(open)) {
+                    log.warn("Claim partition {} is past retention but still has SUBMITTED claims, keeping it", name);
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    // DETACH locks the whole claims table; give up rather than queue every claim query behind it.
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                    jdbcTemplate.execute("ALTER TABLE claims DETACH PARTITION " + name);
+                    jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + archiveSchema);
+                });
+                archivedCounter.increment();
+                log.info("Archived claim partition {} to {}", name, archiveSchema);
+            } catch (Exception ex) {
+                log.warn("Could not archive claim partition {}: {}", name, ex.getMessage());
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_MONTH);
+    }
+
+    // Null for the default partition and anything else not created by this class.
+    static YearMonth monthOf(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_MONTH);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    static String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF claims FOR VALUES FROM ('"
+                + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
@@ -1,9 +1,17 @@
 package com.rubin.insurance.policy_management_service.service.impl;
 
+import com.rubin.insurance.policy_management_service.configuration.cache.ClaimListCache;
+import com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard;
+import com.rubin.insurance.policy_management_service.configuration.datasource.PrimaryReads;
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.BusinessException;
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.NotFoundException;
+import com.rubin.insurance.policy_management_service.model.dto.BulkItemResult;
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimRequest;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimStatusUpdate;
 import com.rubin.insurance.policy_management_service.model.dto.UpdateClaimStatusDTO;
 import com.rubin.insurance.policy_management_service.messaging.events.ClaimEventType;
 import com.rubin.insurance.policy_management_service.model.mapper.ClaimMapper;
@@ -11,16 +19,37 @@ import com.rubin.insurance.policy_management_service.messaging.publisher.ClaimEv
 import com.rubin.insurance.policy_management_service.model.entity.claim.Claim;
 import com.rubin.insurance.policy_management_service.model.entity.claim.ClaimStatus;
 import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyClaimTotals;
 import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
 import com.rubin.insurance.policy_management_service.repository.ClaimRepository;
+import com.rubin.insurance.policy_management_service.repository.ClaimSearchRepository;
+import com.rubin.insurance.policy_management_service.repository.PolicyClaimTotalsRepository;
 import com.rubin.insurance.policy_management_service.repository.PolicyRepository;
 import com.rubin.insurance.policy_management_service.service.ClaimService;
-import jakarta.transaction.Transactional;
+import com.rubin.insurance.policy_management_service.utils.RetryOnConflict;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,45 +61,156 @@ public class ClaimServiceImpl implements ClaimService {
     private final ClaimRepository claimRepository;
     private final PolicyRepository policyRepository;
     private final ClaimEventPublisher claimEventPublisher;
+    private final MissingIdGuard missingIdGuard;
+    private final ClaimListCache claimListCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final PrimaryReads primaryReads;
+    private final PolicyClaimTotalsRepository policyClaimTotalsRepository;
+    private final ClaimSearchRepository claimSearchRepository;
+
+    static final String EXCEEDS_COVERAGE = "Total of the policy's claims cannot exceed its coverage amount!";
+    static final int MAX_SEARCH_RESULTS = 100;
+
+    @Value("${bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
     @Override
     @Transactional
     public ClaimResponse createClaim(ClaimRequest claimRequest) {
         log.info("createClaim called for policyId={}", claimRequest.policyId());
+        if (missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, claimRequest.policyId())) {
+            throw new NotFoundException("Policy not found");
+        }
         Policy existingPolicy = policyRepository.findById(claimRequest.policyId())
                 .orElseThrow(() -> new NotFoundException("Policy not found"));
         validateClaim(existingPolicy, claimRequest);
+        if (policyClaimTotalsRepository.submitWithinCoverage(
+                existingPolicy.getId(), claimRequest.claimAmount(), existingPolicy.getCoverageAmount()) == 0) {
+            throw new BusinessException(EXCEEDS_COVERAGE);
+        }
 
         Claim claim = claimMapper.toEntity(claimRequest);
         claim.setPolicy(existingPolicy);
 
         Claim saved = claimRepository.save(claim);
+        missingIdGuard.registerCreated(MissingIdGuard.IdSpace.CLAIM, saved.getId());
 
         claimEventPublisher.publish(ClaimEventType.CLAIM_SUBMITTED, saved);
 
-        return claimMapper.toDTO(saved);
+        ClaimResponse response = claimMapper.toDTO(saved);
+        claimListCache.onClaimSaved(response);
+        return response;
+    }
+
+    /**
+     * Loads every referenced policy with one {@code IN} query and applies the same rules as
+     * {@link #createClaim(ClaimRequest)} in memory. Accepted claims are inserted in chunks, each in
+     * its own transaction so Hibernate can batch the inserts; a failing chunk is retried claim by
+     * claim so only the offending claims are reported as failed.
+     */
+    @Override
+    public BulkResponse<ClaimResponse> createClaims(List<ClaimRequest> claimRequests) {
+        log.info("createClaims called with {} claims", claimRequests.size());
+        List<BulkItemResult<ClaimResponse>> results = new ArrayList<>(Collections.nCopies(claimRequests.size(), null));
+        List<Integer> valid = new ArrayList<>(claimRequests.size());
+        for (int i = 0; i < claimRequests.size(); i++) {
+            Map<String, List<String>> fieldErrors = validate(claimRequests.get(i), "claim", "Claim should not be empty");
+            if (fieldErrors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results.set(i, BulkItemResult.invalid(i, fieldErrors));
+            }
+        }
+
+        Map<Long, Policy> policies = loadPolicies(valid.stream().map(i -> claimRequests.get(i).policyId()).toList());
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        for (Integer index : valid) {
+            ClaimRequest claimRequest = claimRequests.get(index);
+            Policy policy = policies.get(claimRequest.policyId());
+            String rejection = policy == null ? "Policy not found" : rejectionReason(policy, claimRequest);
+            if (rejection == null) {
+                accepted.add(index);
+            } else {
+                results.set(index, BulkItemResult.failed(index, rejection));
+            }
+        }
+
+        int chunkSize = Math.max(1, bulkChunkSize);
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            Map<Integer, Claim> saved = saveChunk(claimRequests, chunk, policies, results);
+            if (saved.isEmpty()) {
+                continue;
+            }
+            missingIdGuard.registerCreated(MissingIdGuard.IdSpace.CLAIM, saved.values().stream().map(Claim::getId).toList());
+            List<ClaimResponse> responses = new ArrayList<>(saved.size());
+            saved.forEach((index, claim) -> {
+                ClaimResponse response = claimMapper.toDTO(claim);
+                responses.add(response);
+                results.set(index, BulkItemResult.succeeded(index, response));
+            });
+            claimListCache.onClaimsSaved(responses);
+        }
+
+        BulkResponse<ClaimResponse> response = BulkResponse.of(results);
+        log.info("createClaims accepted {}/{} claims", response.succeeded(), response.total());
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ClaimResponse getClaimById(Long id) {
         log.info("getClaimById called with id={}", id);
-        Claim existing =  reusableGetById(id);
-        return claimMapper.toDTO(existing);
+        if (missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.CLAIM, id)) {
+            throw new NotFoundException("Claim not found");
+        }
+        return claimRepository.findResponseById(id)
+                // A replica may not have the claim yet; only the primary can say it does not exist.
+                .or(() -> primaryReads.mayBeStale() ? primaryReads.read(() -> claimRepository.findResponseById(id)) : Optional.empty())
+                .orElseThrow(() -> {
+                    missingIdGuard.recordMissing(MissingIdGuard.IdSpace.CLAIM, id);
+                    return new NotFoundException("Claim not found");
+                });
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ClaimResponse> getClaimsByPolicyId(Long policyId) {
         log.info("getClaimsByPolicyId called with policyId={}", policyId);
-        List<Claim> claimsList = claimRepository.findClaimsByPolicyId(policyId);
-        if (claimsList.isEmpty() && !policyRepository.existsById(policyId)) {
+        Optional<List<ClaimResponse>> cached = claimListCache.get(policyId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, policyId)) {
             throw new NotFoundException(String.format("Policy with id %d not found", policyId));
         }
-        return claimsList.stream()
-                .map(claimMapper::toDTO)
-                .collect(Collectors.toList());
+        List<ClaimResponse> claims = claimRepository.findResponsesByPolicyId(policyId);
+        if (claims.isEmpty() && primaryReads.mayBeStale()) {
+            // A replica may not have the policy or its first claims yet; an empty list is cached like any other.
+            claims = primaryReads.read(() -> claimRepository.findResponsesByPolicyId(policyId));
+        }
+        // Only an uncached empty list needs the existence check; the result is cached either way.
+        if (claims.isEmpty() && !policyExists(policyId)) {
+            missingIdGuard.recordMissing(MissingIdGuard.IdSpace.POLICY, policyId);
+            throw new NotFoundException(String.format("Policy with id %d not found", policyId));
+        }
+        claimListCache.put(policyId, claims);
+        return claims;
+    }
+
+    // Not cached: analysts rarely repeat a query, and a replica a moment behind is fine for searching.
+    @Override
+    @Transactional(readOnly = true)
+    public ClaimSearchResponse searchClaims(ClaimSearchCriteria criteria, int limit) {
+        log.info("searchClaims called with status={} policyId={} createdFrom={} createdTo={} limit={}",
+                criteria.status(), criteria.policyId(), criteria.createdFrom(), criteria.createdTo(), limit);
+        return claimSearchRepository.search(criteria, Math.clamp(limit, 1, MAX_SEARCH_RESULTS));
     }
 
     @Transactional
+    @RetryOnConflict
     @Override
     public ClaimResponse updateStatus(Long id, UpdateClaimStatusDTO updateClaimStatusDTO) {
         log.info("updateStatus called with id={} status={}", id, updateClaimStatusDTO.claimStatus());
@@ -83,8 +223,13 @@ public class ClaimServiceImpl implements ClaimService {
             existing.setRejectionReason(updateClaimStatusDTO.rejectDescription());
         }
 
+        ClaimStatus previous = existing.getStatus();
         existing.setStatus(updateClaimStatusDTO.claimStatus());
-        Claim saved = claimRepository.save(existing);
+        Claim saved = claimRepository.saveAndFlush(existing);
+        if (previous == ClaimStatus.SUBMITTED && saved.getStatus() != ClaimStatus.SUBMITTED) {
+            policyClaimTotalsRepository.decide(saved.getPolicy().getId(), saved.getClaimAmount(),
+                    saved.getStatus() == ClaimStatus.APPROVED ? saved.getClaimAmount() : BigDecimal.ZERO);
+        }
 
         if (saved.getStatus() == ClaimStatus.APPROVED) {
             claimEventPublisher.publish(ClaimEventType.CLAIM_APPROVED, saved);
@@ -92,23 +237,252 @@ public class ClaimServiceImpl implements ClaimService {
             claimEventPublisher.publish(ClaimEventType.CLAIM_REJECTED, saved);
         }
 
-        return claimMapper.toDTO(saved);
+        ClaimResponse response = claimMapper.toDTO(saved);
+        claimListCache.onClaimSaved(response);
+        return response;
+    }
+
+    /**
+     * Loads every claim with one {@code IN} query and applies the same rules as
+     * {@link #updateStatus(Long, UpdateClaimStatusDTO)} to each of them in a single transaction,
+     * so the changes are flushed as batched updates. Updates that break a rule are reported and
+     * leave their claim untouched; the rest are still applied. A concurrent change to any of the
+     * claims fails the whole transaction, which is then retried against the current state.
+     */
+    @Override
+    @RetryOnConflict
+    public BulkResponse<ClaimResponse> updateStatuses(List<ClaimStatusUpdate> updates) {
+        log.info("updateStatuses called with {} updates", updates.size());
+        List<BulkItemResult<ClaimResponse>> results = new ArrayList<>(Collections.nCopies(updates.size(), null));
+        Map<Integer, Long> pending = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            ClaimStatusUpdate update = updates.get(i);
+            Map<String, List<String>> fieldErrors = validate(update, "update", "Update should not be empty");
+            if (!fieldErrors.isEmpty()) {
+                results.set(i, BulkItemResult.invalid(i, fieldErrors));
+            } else if (!seen.add(update.claimId())) {
+                results.set(i, BulkItemResult.failed(i, "Claim appears more than once in the batch"));
+            } else if (update.claimStatus() == ClaimStatus.REJECTED
+                    && (update.rejectDescription() == null || update.rejectDescription().isBlank())) {
+                results.set(i, BulkItemResult.failed(i, "Claim status cannot be updated without reject description"));
+            } else if (missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.CLAIM, update.claimId())) {
+                results.set(i, BulkItemResult.failed(i, "Claim not found"));
+            } else {
+                pending.put(i, update.claimId());
+            }
+        }
+
+        Map<Integer, Claim> updated = pending.isEmpty()
+                ? Map.of()
+                : transactionTemplate.execute(status -> applyStatuses(updates, pending, results));
+
+        List<ClaimResponse> responses = new ArrayList<>(updated.size());
+        updated.forEach((index, claim) -> responses.add(results.get(index).data()));
+        claimListCache.onClaimsSaved(responses);
+
+        BulkResponse<ClaimResponse> response = BulkResponse.of(results);
+        log.info("updateStatuses applied {}/{} updates", response.succeeded(), response.total());
+        return response;
+    }
+
+    private Map<Integer, Claim> applyStatuses(List<ClaimStatusUpdate> updates, Map<Integer, Long> pending,
+                                              List<BulkItemResult<ClaimResponse>> results) {
+        Map<Long, Claim> claims = claimRepository.findAllById(pending.values()).stream()
+                .collect(Collectors.toMap(Claim::getId, Function.identity()));
+        Map<Integer, Claim> updated = new LinkedHashMap<>();
+        List<Claim> decided = new ArrayList<>();
+        pending.forEach((index, claimId) -> {
+            Claim claim = claims.get(claimId);
+            if (claim == null) {
+                missingIdGuard.recordMissing(MissingIdGuard.IdSpace.CLAIM, claimId);
+                results.set(index, BulkItemResult.failed(index, "Claim not found"));
+                return;
+            }
+            ClaimStatusUpdate update = updates.get(index);
+            ClaimStatus previous = claim.getStatus();
+            try {
+                // Status first: it is the only step that can still refuse, and nothing has changed yet if it does.
+                claim.setStatus(update.claimStatus());
+            } catch (BusinessException ex) {
+                results.set(index, BulkItemResult.failed(index, ex.getMessage()));
+                return;
+            }
+            if (previous == ClaimStatus.SUBMITTED && update.claimStatus() != ClaimStatus.SUBMITTED) {
+                decided.add(claim);
+            }
+            if (update.claimStatus() == ClaimStatus.REJECTED) {
+                claim.setRejectionReason(update.rejectDescription());
+            }
+            updated.put(index, claim);
+        });
+        claimRepository.flush();
+        if (!decided.isEmpty()) {
+            Map<Long, PolicyClaimTotals> totals = lockTotals(decided.stream().map(claim -> claim.getPolicy().getId()).toList());
+            for (Claim claim : decided) {
+                PolicyClaimTotals policyTotals = totals.get(claim.getPolicy().getId());
+                if (claim.getStatus() == ClaimStatus.APPROVED) {
+                    policyTotals.approve(claim.getClaimAmount());
+                } else {
+                    policyTotals.reject(claim.getClaimAmount());
+                }
+            }
+        }
+        Map<ClaimEventType, List<Claim>> events = new EnumMap<>(ClaimEventType.class);
+        updated.forEach((index, claim) -> {
+            results.set(index, BulkItemResult.succeeded(index, claimMapper.toDTO(claim)));
+            if (claim.getStatus() == ClaimStatus.APPROVED) {
+                events.computeIfAbsent(ClaimEventType.CLAIM_APPROVED, type -> new ArrayList<>()).add(claim);
+            } else if (claim.getStatus() == ClaimStatus.REJECTED) {
+                events.computeIfAbsent(ClaimEventType.CLAIM_REJECTED, type -> new ArrayList<>()).add(claim);
+            }
+        });
+        claimEventPublisher.publishAll(events);
+        return updated;
     }
 
     private Claim reusableGetById(Long id){
         log.debug("reusableGetById called with id={}", id);
+        if (missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.CLAIM, id)) {
+            throw new NotFoundException("Claim not found");
+        }
         return claimRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Claim not found"));
+                .orElseThrow(() -> {
+                    missingIdGuard.recordMissing(MissingIdGuard.IdSpace.CLAIM, id);
+                    return new NotFoundException("Claim not found");
+                });
+    }
+
+    private boolean policyExists(Long policyId) {
+        return primaryReads.mayBeStale()
+                ? primaryReads.read(() -> policyRepository.existsById(policyId))
+                : policyRepository.existsById(policyId);
     }
+
     private void validateClaim(Policy existingPolicy, ClaimRequest claimRequest){
         log.debug("validateClaim called for policyId={} claimAmount={}",
                 existingPolicy.getId(), claimRequest.claimAmount());
+        String rejection = rejectionReason(existingPolicy, claimRequest);
+        if (rejection != null) {
+            throw new BusinessException(rejection);
+        }
+    }
+
+    private static String rejectionReason(Policy existingPolicy, ClaimRequest claimRequest) {
         if(!existingPolicy.getStatus().equals(PolicyStatus.ACTIVE)){
-            throw new BusinessException("Claims can be submitted only for ACTIVE policies");
+            return "Claims can be submitted only for ACTIVE policies";
         }else if(claimRequest.claimAmount().compareTo(existingPolicy.getCoverageAmount()) == 1){
-            throw new BusinessException("Claim amount cannot exceed policy coverage amount!");
+            return "Claim amount cannot exceed policy coverage amount!";
         }else if(claimRequest.incidentDate().isBefore(existingPolicy.getStartDate()) || claimRequest.incidentDate().isAfter(existingPolicy.getEndDate())){
-            throw new BusinessException("Incident date should be between policy valid date!");
+            return "Incident date should be between policy valid date!";
+        }
+        return null;
+    }
+
+    private Map<String, List<String>> validate(Object item, String itemName, String emptyMessage) {
+        if (item == null) {
+            return Map.of(itemName, List.of(emptyMessage));
+        }
+        return validator.validate(item).stream()
+                .collect(Collectors.groupingBy(
+                        violation -> violation.getPropertyPath().toString(),
+                        Collectors.mapping(ConstraintViolation::getMessage, Collectors.toList())));
+    }
+
+    private Map<Long, Policy> loadPolicies(List<Long> policyIds) {
+        Set<Long> ids = new LinkedHashSet<>(policyIds);
+        ids.removeIf(id -> missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, id));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Policy> policies = policyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Policy::getId, Function.identity()));
+        ids.stream()
+                .filter(id -> !policies.containsKey(id))
+                .forEach(id -> missingIdGuard.recordMissing(MissingIdGuard.IdSpace.POLICY, id));
+        return policies;
+    }
+
+    private Map<Integer, Claim> saveChunk(List<ClaimRequest> claimRequests, List<Integer> chunk, Map<Long, Policy> policies,
+                                          List<BulkItemResult<ClaimResponse>> results) {
+        try {
+            Map<Integer, Claim> inserted = transactionTemplate.execute(status -> insertWithinCoverage(claimRequests, chunk, policies));
+            for (Integer index : chunk) {
+                if (!inserted.containsKey(index)) {
+                    results.set(index, BulkItemResult.failed(index, EXCEEDS_COVERAGE));
+                }
+            }
+            return inserted;
+        } catch (RuntimeException ex) {
+            log.warn("Bulk insert of {} claims failed, retrying them one by one: {}", chunk.size(), ex.getMessage());
+        } finally {
+            // The request-scoped persistence context would otherwise keep every inserted claim managed.
+            entityManager.clear();
+        }
+
+        Map<Integer, Claim> saved = new LinkedHashMap<>();
+        for (Integer index : chunk) {
+            try {
+                ClaimRequest claimRequest = claimRequests.get(index);
+                Policy policy = policies.get(claimRequest.policyId());
+                Claim persisted = transactionTemplate.execute(status -> {
+                    if (policyClaimTotalsRepository.submitWithinCoverage(
+                            policy.getId(), claimRequest.claimAmount(), policy.getCoverageAmount()) == 0) {
+                        return null;
+                    }
+                    Claim inserted = claimRepository.saveAndFlush(toEntity(claimRequest, policies));
+                    claimEventPublisher.publish(ClaimEventType.CLAIM_SUBMITTED, inserted);
+                    return inserted;
+                });
+                if (persisted == null) {
+                    results.set(index, BulkItemResult.failed(index, EXCEEDS_COVERAGE));
+                } else {
+                    saved.put(index, persisted);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Bulk insert of claim at index {} failed: {}", index, ex.getMessage());
+                results.set(index, BulkItemResult.failed(index, "Claim could not be saved"));
+            } finally {
+                entityManager.clear();
+            }
+        }
+        return saved;
+    }
+
+    // Checks the chunk's claims against their policies' locked totals in order, so a claim is only
+    // refused once those before it in the batch have used up the coverage.
+    private Map<Integer, Claim> insertWithinCoverage(List<ClaimRequest> claimRequests, List<Integer> chunk,
+                                                     Map<Long, Policy> policies) {
+        Map<Long, PolicyClaimTotals> totals = lockTotals(chunk.stream().map(i -> claimRequests.get(i).policyId()).toList());
+        List<Integer> within = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            ClaimRequest claimRequest = claimRequests.get(index);
+            PolicyClaimTotals policyTotals = totals.get(claimRequest.policyId());
+            if (policyTotals.canCover(claimRequest.claimAmount(), policies.get(claimRequest.policyId()).getCoverageAmount())) {
+                policyTotals.submit(claimRequest.claimAmount());
+                within.add(index);
+            }
         }
+        List<Claim> inserted = claimRepository.saveAll(within.stream().map(i -> toEntity(claimRequests.get(i), policies)).toList());
+        claimRepository.flush();
+        claimEventPublisher.publishAll(ClaimEventType.CLAIM_SUBMITTED, inserted);
+        Map<Integer, Claim> saved = new LinkedHashMap<>();
+        for (int k = 0; k < within.size(); k++) {
+            saved.put(within.get(k), inserted.get(k));
+        }
+        return saved;
+    }
+
+    private Map<Long, PolicyClaimTotals> lockTotals(Collection<Long> policyIds) {
+        Set<Long> ids = new LinkedHashSet<>(policyIds);
+        policyClaimTotalsRepository.createMissing(ids);
+        return policyClaimTotalsRepository.lockAll(ids).stream()
+                .collect(Collectors.toMap(PolicyClaimTotals::getPolicyId, Function.identity()));
+    }
+
+    private Claim toEntity(ClaimRequest claimRequest, Map<Long, Policy> policies) {
+        Claim claim = claimMapper.toEntity(claimRequest);
+        claim.setPolicy(policies.get(claimRequest.policyId()));
+        return claim;
     }
 }
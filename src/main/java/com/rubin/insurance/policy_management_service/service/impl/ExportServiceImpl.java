@@ -0,0 +1,113 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.TooManyRequestsException;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimExportCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
+import com.rubin.insurance.policy_management_service.repository.ExportRepository;
+import com.rubin.insurance.policy_management_service.service.ExportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams exports from a read-only transaction, so they are served by a read replica when one is
+ * configured and never compete with writes on the primary.
+ * <p>
+ * Each export holds a database connection for as long as the client takes to read it, so at most
+ * {@code max-concurrent} run at once and further requests are answered 429. Backpressure comes from
+ * the blocking response stream: while the client's socket is full the writer blocks, and the
+ * cursor fetches no further rows until it can write again.
+ */
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportRepository exportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore slots;
+    private final int maxConcurrent;
+
+    public ExportServiceImpl(ExportRepository exportRepository,
+                             TransactionTemplate transactionTemplate,
+                             JsonMapper jsonMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.exportRepository = exportRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.slots = new Semaphore(this.maxConcurrent);
+        Gauge.builder("export.active", slots, s -> this.maxConcurrent - s.availablePermits())
+                .description("Exports currently streaming")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public StreamingResponseBody exportPolicies(PolicySearchCriteria criteria, ExportFormat format, boolean gzip) {
+        return export("policies", format, gzip, writer -> exportRepository.streamPolicies(criteria, writer));
+    }
+
+    @Override
+    public StreamingResponseBody exportClaims(ClaimExportCriteria criteria, ExportFormat format, boolean gzip) {
+        return export("claims", format, gzip, writer -> exportRepository.streamClaims(criteria, writer));
+    }
+
+    private StreamingResponseBody export(String dataset, ExportFormat format, boolean gzip,
+                                         Function<ExportWriter, Long> query) {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many exports are running, please retry later");
+        }
+        Counter rowCounter = Counter.builder("export.rows")
+                .description("Rows written by exports")
+                .tag("dataset", dataset)
+                .tag("format", format.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        return outputStream -> {
+            long started = System.nanoTime();
+            try {
+                OutputStream out = gzip
+                        ? new GZIPOutputStream(outputStream, BUFFER_SIZE)
+                        : new BufferedOutputStream(outputStream, BUFFER_SIZE);
+                Long rows = readOnlyTransaction.execute(status ->
+                        query.apply(ExportWriter.of(format, out, jsonMapper, rowCounter::increment)));
+                if (out instanceof GZIPOutputStream compressed) {
+                    compressed.finish();
+                }
+                out.flush();
+                log.info("Exported {} {} as {} in {} ms", rows, dataset, format, (System.nanoTime() - started) / 1_000_000);
+            } catch (UncheckedIOException ex) {
+                // The client went away or stopped reading; the transaction is already rolled back.
+                log.info("{} export aborted after {} ms: {}", dataset, (System.nanoTime() - started) / 1_000_000,
+                        ex.getCause().getMessage());
+                throw ex.getCause();
+            } catch (IOException | RuntimeException ex) {
+                log.warn("{} export failed: {}", dataset, ex.getMessage());
+                throw ex;
+            } finally {
+                slots.release();
+            }
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes each row of a result set to the output as soon as it is read, so nothing but the current
+ * row is held. Column labels become field names or the CSV header; values are rendered from the
+ * column's SQL type, so numbers stay numbers in NDJSON and timestamps are ISO-8601 instants.
+ * Returns the number of rows written.
+ */
+abstract class ExportWriter implements ResultSetExtractor<Long> {
+
+    private enum Kind { INTEGER, DECIMAL, DATE, TIMESTAMP, TEXT }
+
+    // Rows between progress callbacks; keeps the metric current during long exports without a call per row.
+    static final int PROGRESS_INTERVAL = 1000;
+
+    private final LongConsumer progress;
+
+    protected String[] names;
+    private Kind[] kinds;
+
+    ExportWriter(LongConsumer progress) {
+        this.progress = progress;
+    }
+
+    static ExportWriter of(ExportFormat format, OutputStream out, JsonMapper jsonMapper, LongConsumer progress) {
+        return switch (format) {
+            case NDJSON -> new Ndjson(out, jsonMapper, progress);
+            case CSV -> new Csv(out, progress);
+        };
+    }
+
+    @Override
+    public Long extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columns = metaData.getColumnCount();
+        names = new String[columns];
+        kinds = new Kind[columns];
+        for (int i = 0; i < columns; i++) {
+            names[i] = metaData.getColumnLabel(i + 1);
+            kinds[i] = kindOf(metaData.getColumnType(i + 1));
+        }
+        try {
+            begin();
+            long rows = 0;
+            while (rs.next()) {
+                writeRow(rs);
+                if (++rows % PROGRESS_INTERVAL == 0) {
+                    progress.accept(PROGRESS_INTERVAL);
+                }
+            }
+            progress.accept(rows % PROGRESS_INTERVAL);
+            finish();
+            return rows;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    protected abstract void begin() throws IOException;
+
+    protected abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+    protected abstract void finish() throws IOException;
+
+    /** The value of column {@code i} (0-based) as a Long, BigDecimal or String, or null. */
+    protected Object value(ResultSet rs, int i) throws SQLException {
+        int column = i + 1;
+        Object value = switch (kinds[i]) {
+            case INTEGER -> rs.getLong(column);
+            case DECIMAL -> rs.getBigDecimal(column);
+            case DATE -> rs.getObject(column, LocalDate.class);
+            case TIMESTAMP -> {
+                Timestamp timestamp = rs.getTimestamp(column);
+                yield timestamp == null ? null : timestamp.toInstant();
+            }
+            case TEXT -> rs.getString(column);
+        };
+        if (value == null || rs.wasNull()) {
+            return null;
+        }
+        return value instanceof Long || value instanceof BigDecimal || value instanceof String ? value : value.toString();
+    }
+
+    private static Kind kindOf(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> Kind.INTEGER;
+            case Types.NUMERIC, Types.DECIMAL -> Kind.DECIMAL;
+            case Types.DATE -> Kind.DATE;
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> Kind.TIMESTAMP;
+            default -> Kind.TEXT;
+        };
+    }
+
+    /** One JSON object per line. */
+    static final class Ndjson extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out, JsonMapper jsonMapper, LongConsumer progress) {
+            super(progress);
+            // Each object ends its own line, so nothing goes between them.
+            this.generator = jsonMapper.writer().withRootValueSeparator("").createGenerator(out);
+        }
+
+        @Override
+        protected void begin() {
+        }
+
+        @Override
+        protected void writeRow(ResultSet rs) throws SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                switch (value(rs, i)) {
+                    case null -> generator.writeNullProperty(names[i]);
+                    case Long number -> generator.writeNumberProperty(names[i], number);
+                    case BigDecimal number -> generator.writeNumberProperty(names[i], number);
+                    case Object text -> generator.writeStringProperty(names[i], text.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void finish() {
+            generator.flush();
+        }
+    }
+
+    /** RFC 4180: a header line, CRLF line ends, fields quoted only when they need it. */
+    static final class Csv extends ExportWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out, LongConsumer progress) {
+            super(progress);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        protected void begin() throws IOException {
+            for (int i = 0; i < names.length; i++) {
+                field(i, names[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        protected void writeRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < names.length; i++) {
+                Object value = value(rs, i);
+                field(i, value == null ? "" : value.toString());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void field(int i, String value) throws IOException {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.configuration.cache.PolicyPageCache;
+import com.rubin.insurance.policy_management_service.messaging.events.PolicyEventType;
+import com.rubin.insurance.policy_management_service.messaging.publisher.PolicyEventPublisher;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves ACTIVE policies whose end date has passed to EXPIRED.
+ * <p>
+ * Each batch is one {@code UPDATE ... RETURNING} statement over at most {@code batch-size} rows, so
+ * no entities are loaded and locks are held only for that statement. Due rows are claimed with
+ * {@code FOR UPDATE SKIP LOCKED}: nodes sweeping at the same time split the work instead of
+ * waiting on each other, and a row renewed or cancelled meanwhile is re-checked before it is
+ * updated. A batch's POLICY_EXPIRED events are written to the outbox in the same transaction.
+ */
+@Slf4j
+@Service
+public class PolicyExpirySweeper {
+
+    static final String EXPIRE_DUE_POLICIES = """
+            WITH due AS (
+                SELECT id FROM policies
+                WHERE status = 'ACTIVE' AND end_date < ?
+                ORDER BY end_date, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            UPDATE policies p
+            SET status = 'EXPIRED', updated_at = now(), version = p.version + 1
+            FROM due
+            WHERE p.id = due.id
+            RETURNING p.id, p.policy_number, p.customer_email, p.policy_type, p.start_date, p.end_date,
+                      p.coverage_amount, p.premium_amount
+            """;
+
+    private static final RowMapper<Policy> EXPIRED_POLICY = (rs, rowNum) -> Policy.builder()
+            .id(rs.getLong("id"))
+            .policyNumber(rs.getString("policy_number"))
+            .customerEmail(rs.getString("customer_email"))
+            .policyType(PolicyType.valueOf(rs.getString("policy_type")))
+            .startDate(rs.getObject("start_date", LocalDate.class))
+            .endDate(rs.getObject("end_date", LocalDate.class))
+            .coverageAmount(rs.getBigDecimal("coverage_amount"))
+            .premiumAmount(rs.getBigDecimal("premium_amount"))
+            .status(PolicyStatus.EXPIRED)
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final PolicyPageCache policyPageCache;
+    private final PolicyEventPublisher policyEventPublisher;
+    private final Counter expiredCounter;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public PolicyExpirySweeper(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               CacheManager cacheManager,
+                               PolicyPageCache policyPageCache,
+                               PolicyEventPublisher policyEventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${policy.expiry.enabled:true}") boolean enabled,
+                               @Value("${policy.expiry.batch-size:500}") int batchSize,
+                               @Value("${policy.expiry.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.policyPageCache = policyPageCache;
+        this.policyEventPublisher = policyEventPublisher;
+        this.expiredCounter = Counter.builder("policy.expiry.expired")
+                .description("Policies moved to EXPIRED by the expiry sweeper")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+    }
+
+    @Scheduled(fixedDelayString = "${policy.expiry.interval:15m}",
+            initialDelayString = "${policy.expiry.initial-delay:1m}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        long started = System.nanoTime();
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Policy> expired = transactionTemplate.execute(status -> expireBatch(today));
+                if (!expired.isEmpty()) {
+                    onExpired(expired);
+                    total += expired.size();
+                }
+                // A short batch means the rest is done or locked by a peer that is sweeping it.
+                if (expired.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Policy expiry sweep stopped after {} policies: {}", total, ex.getMessage());
+        }
+        if (total > 0) {
+            log.info("Expired {} policies ending before {} in {} ms", total, today, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private List<Policy> expireBatch(LocalDate today) {
+        List<Policy> expired = jdbcTemplate.query(EXPIRE_DUE_POLICIES, EXPIRED_POLICY, today, batchSize);
+        if (!expired.isEmpty()) {
+            policyEventPublisher.publishAll(PolicyEventType.POLICY_EXPIRED, expired);
+        }
+        return expired;
+    }
+
+    // The batch has committed by now, so readers can no longer load the old state back in.
+    private void onExpired(List<Policy> expired) {
+        expiredCounter.increment(expired.size());
+        List<Long> ids = expired.stream().map(Policy::getId).toList();
+        Cache cache = cacheManager.getCache(PolicyServiceImpl.CACHE_POLICY_BY_ID);
+        if (cache != null) {
+            for (Long id : ids) {
+                try {
+                    cache.evict(id);
+                } catch (Exception ex) {
+                    // The entry runs out at its TTL; until then it still shows the policy as ACTIVE.
+                    log.warn("Failed to evict expired policy {} from cache: {}", id, ex.getMessage());
+                }
+            }
+        }
+        policyPageCache.onPoliciesUpdated(ids);
+    }
+}
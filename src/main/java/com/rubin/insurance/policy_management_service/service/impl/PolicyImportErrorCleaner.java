@@ -0,0 +1,58 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.repository.PolicyImportErrorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Deletes import error reports once they are older than {@code import.report-retention}, in
+ * batches of {@code import.report-cleanup-batch-size} rows. Nodes running it at the same time
+ * only split the work between them.
+ */
+@Slf4j
+@Service
+public class PolicyImportErrorCleaner {
+
+    private final PolicyImportErrorRepository policyImportErrorRepository;
+    private final Counter deletedCounter;
+    private final Duration retention;
+    private final int batchSize;
+
+    public PolicyImportErrorCleaner(PolicyImportErrorRepository policyImportErrorRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${import.report-retention:7d}") Duration retention,
+                                    @Value("${import.report-cleanup-batch-size:10000}") int batchSize) {
+        this.policyImportErrorRepository = policyImportErrorRepository;
+        this.deletedCounter = Counter.builder("policy.import.errors.deleted")
+                .description("Import error report rows deleted after their retention")
+                .register(meterRegistry);
+        this.retention = retention;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${import.report-cleanup-interval:1h}",
+            initialDelayString = "${import.report-cleanup-initial-delay:5m}")
+    public void cleanUp() {
+        long deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = policyImportErrorRepository.deleteExpired(retention, batchSize);
+                deleted += batch;
+                deletedCounter.increment(batch);
+            } while (batch >= batchSize);
+        } catch (Exception ex) {
+            log.warn("Import error report cleanup stopped after {} rows: {}", deleted, ex.getMessage());
+            return;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} import error report rows older than {}", deleted, retention);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard;
+import com.rubin.insurance.policy_management_service.configuration.cache.PolicyPageCache;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.ApiException;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.NotFoundException;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.TooManyRequestsException;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyImportResult;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyType;
+import com.rubin.insurance.policy_management_service.repository.PolicyImportErrorRepository;
+import com.rubin.insurance.policy_management_service.repository.PolicyImportErrorRepository.Problem;
+import com.rubin.insurance.policy_management_service.repository.PolicyImportRepository;
+import com.rubin.insurance.policy_management_service.service.PolicyImportService;
+import com.rubin.insurance.policy_management_service.utils.CsvRecordReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Imports policies from CSV at COPY speed.
+ * <p>
+ * The upload is parsed one record at a time and each row is checked with the same
+ * {@link PolicyRequest} constraints as the API. Valid rows are collected into chunks of
+ * {@code chunk-size} and loaded through {@link PolicyImportRepository}, one transaction per chunk,
+ * so memory stays flat and a failure loses at most one chunk. Rejected rows are recorded in an
+ * error report, one line per problem, stored in {@code policy_import_errors} so it can be
+ * downloaded from any node until its retention passes.
+ * <p>
+ * Imported policies do not publish POLICY_CREATED events: a migrated book of business is not new
+ * to its customers, and an email per row would be both wrong and slow.
+ */
+@Slf4j
+@Service
+public class PolicyImportServiceImpl implements PolicyImportService {
+
+    static final List<String> COLUMNS = List.of(
+            "customerName", "customerEmail", "policyType", "coverageAmount", "premiumAmount", "startDate", "endDate");
+
+    private static final int MAX_RECORD_LENGTH = 8192;
+    private static final int MAX_TEXT_LENGTH = 255;
+    // NUMERIC(15,2)
+    private static final int MAX_INTEGER_DIGITS = 13;
+    private static final int MAX_DECIMALS = 2;
+
+    private final PolicyImportRepository policyImportRepository;
+    private final PolicyImportErrorRepository policyImportErrorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final PolicyPageCache policyPageCache;
+    private final MissingIdGuard missingIdGuard;
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+    private final Timer chunkTimer;
+    private final Semaphore slots;
+    private final int chunkSize;
+
+    public PolicyImportServiceImpl(PolicyImportRepository policyImportRepository,
+                                   PolicyImportErrorRepository policyImportErrorRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   Validator validator,
+                                   PolicyPageCache policyPageCache,
+                                   MissingIdGuard missingIdGuard,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${import.chunk-size:5000}") int chunkSize,
+                                   @Value("${import.max-concurrent:1}") int maxConcurrent) {
+        this.policyImportRepository = policyImportRepository;
+        this.policyImportErrorRepository = policyImportErrorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.policyPageCache = policyPageCache;
+        this.missingIdGuard = missingIdGuard;
+        this.importedCounter = rowCounter(meterRegistry, "imported");
+        this.rejectedCounter = rowCounter(meterRegistry, "rejected");
+        this.chunkTimer = Timer.builder("policy.import.chunk")
+                .description("Time to COPY and merge one chunk of imported policies")
+                .register(meterRegistry);
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public PolicyImportResult importPolicies(InputStream csv) {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many imports are running, please retry later");
+        }
+        try {
+            Run run = new Run(UUID.randomUUID());
+            CsvRecordReader reader = new CsvRecordReader(
+                    new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 64 * 1024), MAX_RECORD_LENGTH);
+            int[] positions = positions(readHeader(reader));
+            log.info("Import {} started", run.importId);
+            run.read(reader, positions);
+            return run.result();
+        } finally {
+            slots.release();
+        }
+    }
+
+    @Override
+    public StreamingResponseBody getErrorReport(String importId) {
+        UUID id;
+        try {
+            id = UUID.fromString(importId);
+        } catch (IllegalArgumentException ex) {
+            throw new NotFoundException("Import error report not found");
+        }
+        // Checked up front so an unknown or expired report is a 404 rather than an empty download.
+        if (!policyImportErrorRepository.exists(id)) {
+            throw new NotFoundException("Import error report not found");
+        }
+        return outputStream -> {
+            Writer report = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            report.write("line,field,message\n");
+            transactionTemplate.execute(status -> {
+                policyImportErrorRepository.forEach(id, problem -> {
+                    try {
+                        report.write(problem.line() + "," + csvField(problem.field()) + "," + csvField(problem.message()) + "\n");
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                return null;
+            });
+            report.flush();
+        };
+    }
+
+    private static List<String> readHeader(CsvRecordReader reader) {
+        try {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new BadRequestException("The file is empty; expected a header line with " + COLUMNS);
+            }
+            return header;
+        } catch (IOException ex) {
+            throw new BadRequestException("Could not read the uploaded file: " + ex.getMessage());
+        }
+    }
+
+    // Position of each of COLUMNS in the file; the file may order them freely and carry extra columns.
+    private static int[] positions(List<String> header) {
+        Map<String, Integer> byName = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byName.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] positions = new int[COLUMNS.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = byName.get(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (position == null) {
+                missing.add(COLUMNS.get(i));
+            } else {
+                positions[i] = position;
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("The header is missing the columns " + missing);
+        }
+        return positions;
+    }
+
+    /** Parses and validates one record; problems are added to {@code errors} by field. */
+    PolicyRequest parse(List<String> record, int[] positions, Map<String, List<String>> errors) {
+        String[] values = new String[COLUMNS.size()];
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= record.size()) {
+                errors.computeIfAbsent("row", k -> new ArrayList<>())
+                        .add("Expected at least " + (positions[i] + 1) + " fields but found " + record.size());
+                return null;
+            }
+            String value = record.get(positions[i]).trim();
+            values[i] = value.isEmpty() ? null : value;
+        }
+        PolicyRequest policy = new PolicyRequest(
+                text(values[0], "customerName", errors),
+                text(values[1], "customerEmail", errors),
+                policyType(values[2], errors),
+                amount(values[3], "coverageAmount", errors),
+                amount(values[4], "premiumAmount", errors),
+                date(values[5], "startDate", errors),
+                date(values[6], "endDate", errors));
+        // Fields that did not parse are null now; their "required" violations would only repeat the parse error.
+        Set<String> unparsed = Set.copyOf(errors.keySet());
+        for (ConstraintViolation<PolicyRequest> violation : validator.validate(policy)) {
+            String field = violation.getPropertyPath().toString();
+            if (!unparsed.contains(field)) {
+                errors.computeIfAbsent(field.isEmpty() ? "row" : field, k -> new ArrayList<>()).add(violation.getMessage());
+            }
+        }
+        return errors.isEmpty() ? policy : null;
+    }
+
+    private static String text(String value, String field, Map<String, List<String>> errors) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            errors.computeIfAbsent(field, k -> new ArrayList<>()).add("Should be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static PolicyType policyType(String value, Map<String, List<String>> errors) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return PolicyType.fromValue(value);
+        } catch (ApiException ex) {
+            errors.computeIfAbsent("policyType", k -> new ArrayList<>()).add(ex.getMessage());
+            return null;
+        }
+    }
+
+    private static BigDecimal amount(String value, String field, Map<String, List<String>> errors) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal amount = new BigDecimal(value);
+            if (amount.scale() > MAX_DECIMALS || amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+                errors.computeIfAbsent(field, k -> new ArrayList<>()).add("Should have at most " + MAX_INTEGER_DIGITS
+                        + " digits before and " + MAX_DECIMALS + " after the decimal point");
+                return null;
+            }
+            return amount;
+        } catch (NumberFormatException ex) {
+            errors.computeIfAbsent(field, k -> new ArrayList<>()).add("Should be a number");
+            return null;
+        }
+    }
+
+    private static LocalDate date(String value, String field, Map<String, List<String>> errors) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            errors.computeIfAbsent(field, k -> new ArrayList<>()).add("Should be a date (YYYY-MM-DD)");
+            return null;
+        }
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("policy.import.rows")
+                .description("Rows of policy imports, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /** State of one import: the pending chunk, the counts and the problems not yet written to the error report. */
+    private final class Run {
+
+        private final UUID importId;
+        private final long started = System.nanoTime();
+        private List<Long> pendingLines = new ArrayList<>();
+        private List<PolicyRequest> pending = new ArrayList<>();
+        private List<Problem> problems = new ArrayList<>();
+        private boolean reported;
+        private long rows;
+        private long imported;
+        private long rejected;
+        private boolean complete = true;
+
+        private Run(UUID importId) {
+            this.importId = importId;
+        }
+
+        void read(CsvRecordReader reader, int[] positions) {
+            while (true) {
+                List<String> record;
+                try {
+                    record = reader.next();
+                } catch (IOException | ApiException ex) {
+                    // The rest of the file cannot be trusted; keep what was read so far.
+                    complete = false;
+                    log.warn("Import {} stopped reading after {} rows: {}", importId, rows, ex.getMessage());
+                    reportProblem(reader.getRecordLine(), "file", "Reading stopped: " + ex.getMessage());
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                rows++;
+                Map<String, List<String>> errors = new LinkedHashMap<>();
+                PolicyRequest policy = parse(record, positions, errors);
+                if (policy == null) {
+                    reject(reader.getRecordLine(), errors);
+                    continue;
+                }
+                pendingLines.add(reader.getRecordLine());
+                pending.add(policy);
+                if (pending.size() >= chunkSize) {
+                    flush();
+                }
+            }
+            flush();
+            writeProblems();
+        }
+
+        PolicyImportResult result() {
+            long durationMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Import {} finished in {} ms: {} rows, {} imported, {} rejected{}",
+                    importId, durationMillis, rows, imported, rejected, complete ? "" : ", file not read to the end");
+            String errorReport = reported ? "/policy/import/" + importId + "/errors" : null;
+            return new PolicyImportResult(importId.toString(), rows, imported, rejected, errorReport, complete, durationMillis);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Timer.Sample sample = Timer.start();
+            // Handed to the repository as is, so the next chunk starts on new lists.
+            List<PolicyRequest> chunk = pending;
+            List<Long> chunkLines = pendingLines;
+            pending = new ArrayList<>();
+            pendingLines = new ArrayList<>();
+            List<Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> {
+                    List<Long> allocated = policyImportRepository.allocateIds(chunk.size());
+                    policyImportRepository.insert(allocated, chunk);
+                    return allocated;
+                });
+            } catch (RuntimeException ex) {
+                String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                log.warn("Import {} could not load a chunk of {} rows: {}", importId, chunk.size(), message);
+                for (Long line : chunkLines) {
+                    reject(line, Map.of("row", List.of("Could not be imported: " + message)));
+                }
+                return;
+            } finally {
+                sample.stop(chunkTimer);
+            }
+            policyPageCache.onPoliciesCreated(ids);
+            missingIdGuard.registerCreated(MissingIdGuard.IdSpace.POLICY, ids);
+            imported += ids.size();
+            importedCounter.increment(ids.size());
+            log.info("Import {} progress: {} rows read, {} imported, {} rejected", importId, rows, imported, rejected);
+        }
+
+        private void reject(long line, Map<String, List<String>> errors) {
+            rejected++;
+            rejectedCounter.increment();
+            for (Map.Entry<String, List<String>> error : errors.entrySet()) {
+                for (String message : error.getValue()) {
+                    reportProblem(line, error.getKey(), message);
+                }
+            }
+        }
+
+        private void reportProblem(long line, String field, String message) {
+            reported = true;
+            problems.add(new Problem(line, field, message));
+            if (problems.size() >= chunkSize) {
+                writeProblems();
+            }
+        }
+
+        // Outside the chunk transactions on purpose: the problems of a chunk that failed must still be reported.
+        private void writeProblems() {
+            if (problems.isEmpty()) {
+                return;
+            }
+            policyImportErrorRepository.insert(importId, problems);
+            problems = new ArrayList<>();
+        }
+    }
+}
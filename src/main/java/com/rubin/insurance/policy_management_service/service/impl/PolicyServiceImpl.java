@@ -1,25 +1,50 @@
 package com.rubin.insurance.policy_management_service.service.impl;
 
+import com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard;
+import com.rubin.insurance.policy_management_service.configuration.cache.PolicyPageCache;
+import com.rubin.insurance.policy_management_service.configuration.datasource.PrimaryReads;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.NotFoundException;
+import com.rubin.insurance.policy_management_service.model.dto.BulkItemResult;
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
 import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyClaimSummary;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
 import com.rubin.insurance.policy_management_service.messaging.events.PolicyEventType;
 import com.rubin.insurance.policy_management_service.model.mapper.PolicyMapper;
 import com.rubin.insurance.policy_management_service.messaging.publisher.PolicyEventPublisher;
 import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.repository.PolicyClaimTotalsRepository;
 import com.rubin.insurance.policy_management_service.repository.PolicyRepository;
+import com.rubin.insurance.policy_management_service.repository.PolicySpecifications;
 import com.rubin.insurance.policy_management_service.service.PolicyService;
-import jakarta.transaction.Transactional;
+import com.rubin.insurance.policy_management_service.utils.KeysetCursor;
+import com.rubin.insurance.policy_management_service.utils.PaginationUtils;
+import com.rubin.insurance.policy_management_service.utils.RetryOnConflict;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -29,76 +54,262 @@ public class PolicyServiceImpl implements PolicyService {
     private final PolicyRepository policyRepository;
     private final PolicyMapper policyMapper;
     private final PolicyEventPublisher policyEventPublisher;
+    private final PolicyPageCache policyPageCache;
+    private final MissingIdGuard missingIdGuard;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final PrimaryReads primaryReads;
+    private final PolicyClaimTotalsRepository policyClaimTotalsRepository;
+
+    @Value("${bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
-    private static final String CACHE_POLICY_BY_ID = "policyById";
-    private static final String CACHE_POLICY_PAGE = "policyPages";
+    public static final String CACHE_POLICY_BY_ID = "policyById";
 
     @Override
-    @Caching(
-            put = @CachePut(value = CACHE_POLICY_BY_ID, key = "#result.id", condition = "#result != null"),
-            evict = @CacheEvict(value = CACHE_POLICY_PAGE, allEntries = true)
-    )
+    @Transactional
+    @CachePut(value = CACHE_POLICY_BY_ID, key = "#result.id", condition = "#result != null")
     public PolicyResponse savePolicy(PolicyRequest policy) {
         log.info("savePolicy called for customerEmail={} policyType={}", policy.customerEmail(), policy.policyType());
         Policy mapped = policyMapper.toEntity(policy);
         Policy saved =  policyRepository.save(mapped);
+        policyPageCache.onPolicyCreated(saved.getId());
+        missingIdGuard.registerCreated(MissingIdGuard.IdSpace.POLICY, saved.getId());
         policyEventPublisher.publish(PolicyEventType.POLICY_CREATED, saved);
         return policyMapper.toDto(saved);
     }
 
+    /**
+     * Validates every item on its own, then inserts the valid ones in chunks, each chunk in its own
+     * transaction so Hibernate can send it as JDBC batches. A chunk that fails is retried item by
+     * item, so only the offending policies are reported as failed. Each chunk writes its
+     * POLICY_CREATED events in its own transaction. New policies are not put into
+     * {@code policyById}; they are loaded on first read like any other cold entry.
+     */
     @Override
-    @Cacheable(value = CACHE_POLICY_BY_ID, key = "#id")
+    public BulkResponse<PolicyResponse> savePolicies(List<PolicyRequest> policies) {
+        log.info("savePolicies called with {} policies", policies.size());
+        List<BulkItemResult<PolicyResponse>> results = new ArrayList<>(Collections.nCopies(policies.size(), null));
+        List<Integer> valid = new ArrayList<>(policies.size());
+        for (int i = 0; i < policies.size(); i++) {
+            Map<String, List<String>> fieldErrors = validate(policies.get(i));
+            if (fieldErrors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results.set(i, BulkItemResult.invalid(i, fieldErrors));
+            }
+        }
+
+        int chunkSize = Math.max(1, bulkChunkSize);
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            Map<Integer, Policy> saved = saveChunk(policies, chunk, results);
+            if (saved.isEmpty()) {
+                continue;
+            }
+            List<Long> ids = saved.values().stream().map(Policy::getId).toList();
+            policyPageCache.onPoliciesCreated(ids);
+            missingIdGuard.registerCreated(MissingIdGuard.IdSpace.POLICY, ids);
+            saved.forEach((index, policy) -> results.set(index, BulkItemResult.succeeded(index, policyMapper.toDto(policy))));
+        }
+
+        BulkResponse<PolicyResponse> response = BulkResponse.of(results);
+        log.info("savePolicies created {}/{} policies", response.succeeded(), response.total());
+        return response;
+    }
+
+    /**
+     * The miss guard runs as the cache condition, ahead of the cache lookup, so a known-missing id
+     * skips L1, Redis and the fill lease. For an existing id it is an in-memory filter check, so
+     * the condition and the body's second check add no Redis round trip in front of L1.
+     */
+    @Override
+    @Cacheable(value = CACHE_POLICY_BY_ID, key = "#id", sync = true,
+            condition = "!@missingIdGuard.isKnownMissing(T(com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard$IdSpace).POLICY, #id)")
+    @Transactional(readOnly = true)
     public PolicyResponse getById(Long id) {
         log.info("getById called with id={}", id);
         Policy existing = reusableGetById(id);
         return policyMapper.toDto(existing);
     }
 
+    /**
+     * Not cached with the policy: the totals change with every claim written against it, and
+     * reading them is a single primary-key join.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PolicyClaimSummary getClaimSummary(Long id) {
+        log.info("getClaimSummary called with id={}", id);
+        if (missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, id)) {
+            throw new NotFoundException("Policy not found");
+        }
+        return policyClaimTotalsRepository.findSummary(id)
+                .or(() -> primaryReads.mayBeStale() ? primaryReads.read(() -> policyClaimTotalsRepository.findSummary(id)) : Optional.empty())
+                .orElseThrow(() -> {
+                    missingIdGuard.recordMissing(MissingIdGuard.IdSpace.POLICY, id);
+                    return new NotFoundException("Policy not found");
+                });
+    }
+
     @Override
-    @Cacheable(
-            value = CACHE_POLICY_PAGE,
-            key = "T(java.lang.String).format('p=%s_s=%s_sort=%s', #pageable.pageNumber, #pageable.pageSize, #pageable.sort.toString())"
-    )
+    @Transactional(readOnly = true)
     public PageResponse<PolicyResponse> getAllPolicies(Pageable pageable) {
         log.info("getAllPolicies called with page={} size={} sort={}",
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        PageResponse<PolicyResponse> cached = policyPageCache.get(pageable);
+        if (cached != null) {
+            return cached;
+        }
+        // A replica can still be behind a write whose generation bump has already happened, so only
+        // pages read from the primary are cached.
+        PolicyPageCache.Snapshot generations = primaryReads.mayBeStale() ? null : policyPageCache.snapshot();
         Page<Policy> existingPage = policyRepository.findAll(pageable);
-        return new PageResponse<>(existingPage.map(policyMapper::toDto));
+        PageResponse<PolicyResponse> response = new PageResponse<>(existingPage.map(policyMapper::toDto));
+        if (generations != null) {
+            policyPageCache.put(pageable, response, generations);
+        }
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<PolicyResponse> getPoliciesAfter(KeysetCursor cursor, int requestedPageSize, boolean includeTotal) {
+        int pageSize = PaginationUtils.resolvePageSize(requestedPageSize);
+        log.info("getPoliciesAfter called with sortKey={} afterId={} size={} includeTotal={}",
+                cursor.sortKey(), cursor.id(), pageSize, includeTotal);
+        // One extra row tells us whether another page exists without a count query.
+        List<Policy> rows = cursor.sortKey() == KeysetCursor.SortKey.CREATED_AT
+                ? policyRepository.findNextPageByCreatedAt(cursor.createdAt(), cursor.id(), pageSize + 1)
+                : policyRepository.findNextPageById(cursor.id(), pageSize + 1);
+
+        Long totalElements = includeTotal ? policyRepository.count() : null;
+        return toCursorPage(rows, cursor.sortKey(), pageSize, totalElements);
+    }
+
+    /**
+     * Each combination of filters becomes its own statement over the matching search index, walked
+     * in id order. Pages continue from the cursor's id, so deep pages cost the same as the first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<PolicyResponse> searchPolicies(PolicySearchCriteria criteria, KeysetCursor cursor, int requestedPageSize) {
+        int pageSize = PaginationUtils.resolvePageSize(requestedPageSize);
+        log.info("searchPolicies called with byEmail={} status={} type={} afterId={} size={}",
+                criteria.customerEmail() != null, criteria.status(), criteria.policyType(), cursor.id(), pageSize);
+        if (cursor.sortKey() != KeysetCursor.SortKey.ID) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+        List<Policy> rows = policyRepository.findBy(PolicySpecifications.search(criteria, cursor.id()),
+                query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+        return toCursorPage(rows, KeysetCursor.SortKey.ID, pageSize, null);
     }
 
     @Transactional
+    @RetryOnConflict
     @Override
-    @Caching(
-            put =  @CachePut(value = CACHE_POLICY_BY_ID, key = "#id", condition = "#result != null"),
-            evict = @CacheEvict(value = CACHE_POLICY_PAGE, allEntries = true)
-    )
+    @CachePut(value = CACHE_POLICY_BY_ID, key = "#id", condition = "#result != null")
     public PolicyResponse renewPolicy(Long id) {
         log.info("renewPolicy called with id={}", id);
         Policy existing = reusableGetById(id);
         existing.renew();
-        Policy updated = policyRepository.save(existing);
+        Policy updated = policyRepository.saveAndFlush(existing);
+        policyPageCache.onPolicyUpdated(id);
         policyEventPublisher.publish(PolicyEventType.POLICY_RENEWED, updated);
         return policyMapper.toDto(updated);
     }
 
     @Transactional
+    @RetryOnConflict
     @Override
-    @Caching(
-            put = @CachePut(value = CACHE_POLICY_BY_ID, key = "#result.id"),
-            evict = @CacheEvict(value = CACHE_POLICY_PAGE, allEntries = true)
-    )
+    @CachePut(value = CACHE_POLICY_BY_ID, key = "#result.id")
     public PolicyResponse cancelPolicy(Long id) {
         log.info("cancelPolicy called with id={}", id);
         Policy existing = reusableGetById(id);
         existing.cancel();
-        Policy updated = policyRepository.save(existing);
+        Policy updated = policyRepository.saveAndFlush(existing);
+        policyPageCache.onPolicyUpdated(id);
         policyEventPublisher.publish(PolicyEventType.POLICY_CANCELLED, updated);
         return policyMapper.toDto(updated);
     }
 
+    private Map<String, List<String>> validate(PolicyRequest policy) {
+        if (policy == null) {
+            return Map.of("policy", List.of("Policy should not be empty"));
+        }
+        return validator.validate(policy).stream()
+                .collect(Collectors.groupingBy(
+                        violation -> violation.getPropertyPath().toString(),
+                        Collectors.mapping(ConstraintViolation::getMessage, Collectors.toList())));
+    }
+
+    private Map<Integer, Policy> saveChunk(List<PolicyRequest> policies, List<Integer> chunk,
+                                           List<BulkItemResult<PolicyResponse>> results) {
+        Map<Integer, Policy> saved = new LinkedHashMap<>();
+        try {
+            List<Policy> persisted = transactionTemplate.execute(status -> {
+                List<Policy> entities = chunk.stream().map(i -> policyMapper.toEntity(policies.get(i))).toList();
+                List<Policy> inserted = policyRepository.saveAll(entities);
+                policyRepository.flush();
+                policyEventPublisher.publishAll(PolicyEventType.POLICY_CREATED, inserted);
+                return inserted;
+            });
+            for (int k = 0; k < chunk.size(); k++) {
+                saved.put(chunk.get(k), persisted.get(k));
+            }
+            return saved;
+        } catch (RuntimeException ex) {
+            log.warn("Bulk insert of {} policies failed, retrying them one by one: {}", chunk.size(), ex.getMessage());
+        } finally {
+            // The request-scoped persistence context would otherwise keep every inserted policy managed.
+            entityManager.clear();
+        }
+
+        for (Integer index : chunk) {
+            try {
+                Policy persisted = transactionTemplate.execute(status -> {
+                    Policy inserted = policyRepository.saveAndFlush(policyMapper.toEntity(policies.get(index)));
+                    policyEventPublisher.publish(PolicyEventType.POLICY_CREATED, inserted);
+                    return inserted;
+                });
+                saved.put(index, persisted);
+            } catch (RuntimeException ex) {
+                log.warn("Bulk insert of policy at index {} failed: {}", index, ex.getMessage());
+                results.set(index, BulkItemResult.failed(index, "Policy could not be saved"));
+            } finally {
+                entityManager.clear();
+            }
+        }
+        return saved;
+    }
+
+    private PageResponse<PolicyResponse> toCursorPage(List<Policy> rows, KeysetCursor.SortKey sortKey, int pageSize,
+                                                      Long totalElements) {
+        boolean hasNext = rows.size() > pageSize;
+        List<Policy> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Policy last = page.getLast();
+            nextCursor = KeysetCursor.after(sortKey, last.getCreatedAt(), last.getId()).encode();
+        }
+        return new PageResponse<>(
+                page.stream().map(policyMapper::toDto).toList(),
+                new PageResponse.CursorMetadata(pageSize, nextCursor, hasNext, totalElements));
+    }
+
     private Policy reusableGetById(Long id){
         log.debug("reusableGetById called with id={}", id);
-        return policyRepository.findById(id).orElseThrow(() -> new NotFoundException("Policy not found"));
+        if (missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, id)) {
+            throw new NotFoundException("Policy not found");
+        }
+        return policyRepository.findById(id)
+                // A replica may not have the policy yet; only the primary can say it does not exist.
+                .or(() -> primaryReads.mayBeStale() ? primaryReads.read(() -> policyRepository.findById(id)) : Optional.empty())
+                .orElseThrow(() -> {
+                    missingIdGuard.recordMissing(MissingIdGuard.IdSpace.POLICY, id);
+                    return new NotFoundException("Policy not found");
+                });
     }
 
 }
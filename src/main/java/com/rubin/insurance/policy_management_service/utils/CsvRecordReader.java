@@ -0,0 +1,122 @@
+package com.rubin.insurance.policy_management_service.utils;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so a file of any size is parsed in constant memory.
+ * Quoted fields may contain commas, doubled quotes and line breaks; lines may end in CRLF or LF.
+ * A record longer than {@code maxRecordLength} characters is rejected, which also stops an
+ * unterminated quote from swallowing the rest of the input.
+ */
+public class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+
+    public CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /** The line the last record returned by {@link #next()} started on, 1-based. */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at the end of the input. Blank lines are skipped.
+     */
+    public List<String> next() throws IOException {
+        int c;
+        do {
+            recordLine = line;
+            c = read();
+            if (c == '\r') {
+                c = read();
+            }
+            if (c == '\n') {
+                line++;
+            }
+        } while (c == '\n');
+        if (c == -1) {
+            return null;
+        }
+        unread(c);
+
+        List<String> fields = new ArrayList<>();
+        int length = 0;
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        field.setLength(0);
+        while (true) {
+            c = read();
+            if (++length > maxRecordLength) {
+                throw new BadRequestException("Line " + recordLine + " is longer than " + maxRecordLength + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new BadRequestException("Line " + recordLine + " has an unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
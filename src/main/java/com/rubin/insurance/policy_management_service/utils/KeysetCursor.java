@@ -0,0 +1,63 @@
+package com.rubin.insurance.policy_management_service.utils;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination.
+ * Encodes the sort key and the position of the last row returned, so the next page is a
+ * bounded index range scan instead of an OFFSET over every preceding row.
+ */
+public record KeysetCursor(SortKey sortKey, Instant createdAt, long id) {
+
+    public enum SortKey {
+        ID,
+        CREATED_AT;
+
+        public static SortKey fromValue(String v) {
+            for (SortKey key : values()) {
+                if (key.name().replace("_", "").equalsIgnoreCase(v.replace("_", ""))) {
+                    return key;
+                }
+            }
+            throw new BadRequestException("Sort key should be amongst : [id, createdAt]");
+        }
+    }
+
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor first(SortKey sortKey) {
+        return new KeysetCursor(sortKey, Instant.EPOCH, 0L);
+    }
+
+    public static KeysetCursor after(SortKey sortKey, Instant createdAt, long id) {
+        return new KeysetCursor(sortKey, sortKey == SortKey.CREATED_AT ? createdAt : null, id);
+    }
+
+    public String encode() {
+        String raw = sortKey == SortKey.CREATED_AT
+                ? sortKey.name() + SEPARATOR + createdAt + SEPARATOR + id
+                : sortKey.name() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            if (sortKey == SortKey.CREATED_AT && parts.length == 3) {
+                return new KeysetCursor(sortKey, Instant.parse(parts[1]), Long.parseLong(parts[2]));
+            }
+            if (sortKey == SortKey.ID && parts.length == 2) {
+                return new KeysetCursor(sortKey, null, Long.parseLong(parts[1]));
+            }
+        } catch (RuntimeException ignored) {
+            // fall through to a uniform error for any malformed token
+        }
+        throw new BadRequestException("Invalid pagination cursor");
+    }
+}
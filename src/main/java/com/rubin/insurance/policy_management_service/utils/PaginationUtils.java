@@ -2,16 +2,24 @@ package com.rubin.insurance.policy_management_service.utils;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 
 public abstract class PaginationUtils {
 
     public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
 
     public static Pageable createPageable(int page, int elementsSize){
         int pageIndex = Math.max(0, page - 1);
-        int pageSize = elementsSize <= 0 ?  DEFAULT_PAGE_SIZE : elementsSize;
+        int pageSize = resolvePageSize(elementsSize);
 
-        return PageRequest.of(pageIndex, pageSize);
+        // A stable order keeps offset pages deterministic and lets the page cache scope invalidation by id.
+        return PageRequest.of(pageIndex, pageSize, Sort.by("id"));
+    }
+
+    // Capped so a single request cannot dump the table, and so pageSize + 1 look-aheads cannot overflow.
+    public static int resolvePageSize(int elementsSize) {
+        return elementsSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(elementsSize, MAX_PAGE_SIZE);
     }
 }
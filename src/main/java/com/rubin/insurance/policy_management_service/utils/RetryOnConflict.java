@@ -0,0 +1,29 @@
+package com.rubin.insurance.policy_management_service.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
+
+/**
+ * Retries the annotated method a few times when it loses an optimistic locking race, bounded by
+ * {@code concurrency.conflict-retry.*}.
+ * <p>
+ * Only for transitions that are safe to repeat: each attempt must run in its own transaction,
+ * re-read the entity and re-check its rules, so a retry either applies the change to the current
+ * state or fails with the error that state calls for. Once the retries are used up the conflict
+ * reaches the client as a 409.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(includes = OptimisticLockingFailureException.class,
+        maxRetriesString = "${concurrency.conflict-retry.max-retries:2}",
+        delayString = "${concurrency.conflict-retry.delay:20ms}",
+        jitterString = "${concurrency.conflict-retry.jitter:10ms}")
+public @interface RetryOnConflict {
+}
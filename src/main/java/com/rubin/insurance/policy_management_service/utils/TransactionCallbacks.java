@@ -0,0 +1,24 @@
+package com.rubin.insurance.policy_management_service.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public abstract class TransactionCallbacks {
+
+    /**
+     * Runs the action once the surrounding transaction commits, or immediately when there is none.
+     * A rolled-back transaction never runs it.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
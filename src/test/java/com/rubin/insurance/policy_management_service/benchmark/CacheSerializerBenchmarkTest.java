@@ -0,0 +1,99 @@
+package com.rubin.insurance.policy_management_service.benchmark;
+
+import com.rubin.insurance.policy_management_service.configuration.cache.CompactCacheValueSerializer;
+import com.rubin.insurance.policy_management_service.configuration.cache.GenerationStampedPage;
+import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the default polymorphic JSON cache serializer with the compact binary one.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class CacheSerializerBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    private final RedisSerializer<Object> json = GenericJacksonJsonRedisSerializer.builder()
+            .enableDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                    .allowIfSubType("com.rubin.insurance")
+                    .allowIfSubType("java.")
+                    .build())
+            .build();
+
+    private final RedisSerializer<Object> compact = new CompactCacheValueSerializer(json);
+
+    @Test
+    void policyById() {
+        compare("policyById", policy(1));
+    }
+
+    @Test
+    void policyPages() {
+        List<PolicyResponse> content = LongStream.rangeClosed(1, 10).mapToObj(this::policy).toList();
+        PageResponse<PolicyResponse> page = new PageResponse<>(new PageImpl<>(content, PageRequest.of(0, 10), 1_000_000));
+        compare("policyPages", new GenerationStampedPage(page, Map.of("epoch", 1_760_000_000_000_000L, "seg:0", 42L)));
+    }
+
+    private void compare(String cacheName, Object value) {
+        Result jsonResult = measure(json, value);
+        Result compactResult = measure(compact, value);
+        System.out.printf("%n[%s]%n", cacheName);
+        System.out.printf("%-8s %8s %14s %14s%n", "format", "bytes", "ser ops/s", "de ops/s");
+        System.out.printf("%-8s %8d %,14.0f %,14.0f%n", "json", jsonResult.bytes, jsonResult.serOpsPerSec, jsonResult.deOpsPerSec);
+        System.out.printf("%-8s %8d %,14.0f %,14.0f%n", "compact", compactResult.bytes, compactResult.serOpsPerSec, compactResult.deOpsPerSec);
+        System.out.printf("size ratio %.2f, ser speedup %.2fx, de speedup %.2fx%n",
+                (double) compactResult.bytes / jsonResult.bytes,
+                compactResult.serOpsPerSec / jsonResult.serOpsPerSec,
+                compactResult.deOpsPerSec / jsonResult.deOpsPerSec);
+    }
+
+    private Result measure(RedisSerializer<Object> serializer, Object value) {
+        byte[] bytes = serializer.serialize(value);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serializer.serialize(value).length;
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        double serSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        double deSeconds = (System.nanoTime() - start) / 1e9;
+
+        if (sink == 42) {
+            System.out.println();
+        }
+        return new Result(bytes.length, MEASURED_ITERATIONS / serSeconds, MEASURED_ITERATIONS / deSeconds);
+    }
+
+    private PolicyResponse policy(long id) {
+        return new PolicyResponse(id, String.format("POL-2025-%06d", id), "John Smith", "john.smith@example.com", "HEALTH",
+                new BigDecimal("100000.00"), new BigDecimal("1500.00"),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1), "ACTIVE");
+    }
+
+    private record Result(int bytes, double serOpsPerSec, double deOpsPerSec) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.rubin.insurance.policy_management_service.benchmark;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.entity.claim.Claim;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.mapper.ClaimMapper;
+import com.rubin.insurance.policy_management_service.model.mapper.ClaimMapperImpl;
+import com.rubin.insurance.policy_management_service.repository.ClaimRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the heap allocated per claim read when Hibernate hydrates managed {@link Claim}
+ * entities that are then mapped to {@link ClaimResponse}, against selecting straight into
+ * {@link ClaimResponse} with the repository's constructor projection.
+ * <p>
+ * Needs a reachable, migrated Postgres ({@code BENCHMARK_POSTGRES_URL}, {@code POSTGRES_USER},
+ * {@code POSTGRES_PASSWORD}) and is skipped otherwise. It inserts one policy with
+ * {@value #CLAIMS} claims and deletes them again afterwards. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ClaimReadAllocationBenchmarkTest {
+
+    private static final int CLAIMS = 5_000;
+    private static final int WARMUP_REQUESTS = 30;
+    private static final int MEASURED_REQUESTS = 100;
+
+    private final ClaimMapper claimMapper = new ClaimMapperImpl();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private SessionFactory sessionFactory;
+    private long policyId;
+    private long claimId;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            sessionFactory = new Configuration()
+                    .addAnnotatedClass(Policy.class)
+                    .addAnnotatedClass(Claim.class)
+                    .setProperty("hibernate.connection.url",
+                            env("BENCHMARK_POSTGRES_URL", "jdbc:postgresql://localhost:5432/insurance_db"))
+                    .setProperty("hibernate.connection.username", env("POSTGRES_USER", "postgres"))
+                    .setProperty("hibernate.connection.password", env("POSTGRES_PASSWORD", "postgres"))
+                    .setProperty("hibernate.hbm2ddl.auto", "none")
+                    .buildSessionFactory();
+            sessionFactory.inTransaction(session -> session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1 FROM claims LIMIT 1");
+                }
+            }));
+        } catch (RuntimeException ex) {
+            if (sessionFactory != null) {
+                sessionFactory.close();
+                sessionFactory = null;
+            }
+            assumeTrue(false, "Migrated Postgres not reachable: " + ex.getMessage());
+        }
+        sessionFactory.inTransaction(session -> session.doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO policies (id, policy_number, customer_name, customer_email, policy_type,
+                        coverage_amount, premium_amount, start_date, end_date, status, created_at, updated_at)
+                    VALUES (nextval('policy_id_seq'), 'BENCH-' || currval('policy_id_seq'), 'Benchmark Customer',
+                        'benchmark@example.com', 'HEALTH', 100000.00, 500.00, ?, ?, 'ACTIVE', now(), now())
+                    RETURNING id
+                    """)) {
+                insert.setDate(1, Date.valueOf(LocalDate.of(2025, 1, 1)));
+                insert.setDate(2, Date.valueOf(LocalDate.of(2030, 1, 1)));
+                try (ResultSet rs = insert.executeQuery()) {
+                    rs.next();
+                    policyId = rs.getLong(1);
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO claims (id, policy_id, claim_number, description, claim_amount, incident_date,
+                        status, created_at, updated_at)
+                    VALUES (nextval('claim_id_seq'), ?, 'BCH-' || currval('claim_id_seq'), ?, ?, ?, 'SUBMITTED', now(), now())
+                    """)) {
+                for (int i = 0; i < CLAIMS; i++) {
+                    insert.setLong(1, policyId);
+                    insert.setString(2, "Benchmark claim " + i + " for water damage in the basement");
+                    insert.setBigDecimal(3, new BigDecimal("1250.00"));
+                    insert.setDate(4, Date.valueOf(LocalDate.of(2025, 6, 1)));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }));
+        claimId = sessionFactory.fromSession(session -> session
+                .createSelectionQuery("SELECT max(c.id) FROM Claim c WHERE c.policy.id = :policyId", Long.class)
+                .setParameter("policyId", policyId)
+                .getSingleResult());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sessionFactory == null) {
+            return;
+        }
+        sessionFactory.inTransaction(session -> session.doWork(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM claims WHERE policy_id = ?")) {
+                delete.setLong(1, policyId);
+                delete.executeUpdate();
+            }
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM policies WHERE id = ?")) {
+                delete.setLong(1, policyId);
+                delete.executeUpdate();
+            }
+        }));
+        sessionFactory.close();
+    }
+
+    @Test
+    void claimsByPolicy() {
+        compare("claims by policy, " + CLAIMS + " claims",
+                session -> session.createSelectionQuery("FROM Claim c WHERE c.policy.id = :policyId", Claim.class)
+                        .setParameter("policyId", policyId)
+                        .getResultList()
+                        .stream()
+                        .map(claimMapper::toDTO)
+                        .toList(),
+                session -> session.createSelectionQuery(
+                                ClaimRepository.SELECT_CLAIM_RESPONSE + "WHERE c.policy.id = :policyId", ClaimResponse.class)
+                        .setParameter("policyId", policyId)
+                        .getResultList());
+    }
+
+    @Test
+    void claimById() {
+        compare("claim by id",
+                session -> List.of(claimMapper.toDTO(session.find(Claim.class, claimId))),
+                session -> session.createSelectionQuery(
+                                ClaimRepository.SELECT_CLAIM_RESPONSE + "WHERE c.id = :id", ClaimResponse.class)
+                        .setParameter("id", claimId)
+                        .getResultList());
+    }
+
+    private void compare(String name,
+                         Function<Session, List<ClaimResponse>> entities,
+                         Function<Session, List<ClaimResponse>> projection) {
+        assertEquals(sessionFactory.fromSession(entities::apply), sessionFactory.fromSession(projection::apply));
+
+        Result before = measure(entities, false);
+        Result readOnly = measure(entities, true);
+        Result after = measure(projection, true);
+
+        System.out.printf("%n[%s]%n", name);
+        System.out.printf("%-32s %14s %10s%n", "path", "bytes/request", "ms/request");
+        print("entities + mapper", before);
+        print("entities + mapper, read-only", readOnly);
+        print("ClaimResponse projection", after);
+        System.out.printf("allocation ratio %.2f, speedup %.2fx%n",
+                (double) after.bytesPerRequest / before.bytesPerRequest, before.millisPerRequest / after.millisPerRequest);
+    }
+
+    // One session per request, the way the service runs each read in its own transaction.
+    private Result measure(Function<Session, List<ClaimResponse>> read, boolean readOnly) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            sink += request(read, readOnly);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            sink += request(read, readOnly);
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return new Result(allocated / MEASURED_REQUESTS, elapsed / 1e6 / MEASURED_REQUESTS);
+    }
+
+    private int request(Function<Session, List<ClaimResponse>> read, boolean readOnly) {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(readOnly);
+            return read.apply(session).size();
+        });
+    }
+
+    private static void print(String path, Result result) {
+        System.out.printf("%-32s %,14d %10.2f%n", path, result.bytesPerRequest, result.millisPerRequest);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private record Result(long bytesPerRequest, double millisPerRequest) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.rubin.insurance.policy_management_service.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Times the claim description search on {@value #ROWS} claims, comparing a plain {@code ILIKE} scan
+ * with the ranked query of {@code ClaimSearchRepository} over the GIN index of changelog 011.
+ * Descriptions are built from a small vocabulary, so some words match a handful of claims and
+ * others match hundreds of thousands, which is where the candidate cap matters.
+ * <p>
+ * Needs a reachable Postgres ({@code BENCHMARK_POSTGRES_URL}, {@code POSTGRES_USER},
+ * {@code POSTGRES_PASSWORD}) and is skipped otherwise. Everything runs against a temporary table.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ClaimSearchBenchmarkTest {
+
+    private static final int ROWS = 2_000_000;
+    private static final int PAGE = 20;
+    private static final int MAX_CANDIDATES = 10_000;
+    private static final int RUNS = 50;
+
+    // Search words, and the ILIKE pattern an analyst would otherwise have used.
+    private static final Map<String, String[]> SEARCHES = new LinkedHashMap<>();
+
+    static {
+        SEARCHES.put("rare word", new String[]{"arson", "%arson%", ""});
+        SEARCHES.put("common word", new String[]{"water", "%water%", ""});
+        SEARCHES.put("phrase", new String[]{"\"rear collision\"", "%rear collision%", ""});
+        SEARCHES.put("common word, one policy", new String[]{"water", "%water%", " AND policy_id = 4242"});
+        SEARCHES.put("common word, SUBMITTED", new String[]{"water", "%water%", " AND status = 'SUBMITTED'"});
+    }
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", env("POSTGRES_USER", "postgres"));
+        properties.setProperty("password", env("POSTGRES_PASSWORD", "postgres"));
+        try {
+            connection = DriverManager.getConnection(
+                    env("BENCHMARK_POSTGRES_URL", "jdbc:postgresql://localhost:5432/insurance_db"), properties);
+        } catch (SQLException ex) {
+            assumeTrue(false, "Postgres not reachable: " + ex.getMessage());
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TEMP TABLE bench_claims (
+                        id BIGINT PRIMARY KEY,
+                        policy_id BIGINT NOT NULL,
+                        description VARCHAR(500) NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        created_at TIMESTAMP NOT NULL,
+                        description_tsv tsvector GENERATED ALWAYS AS (to_tsvector('english', description)) STORED)
+                    """);
+            statement.execute("""
+                    INSERT INTO bench_claims (id, policy_id, description, status, created_at)
+                    SELECT i, i %% 500000,
+                           (ARRAY['Rear collision at low speed', 'Water damage from burst pipe', 'Hail damage to roof',
+                                  'Stolen laptop from car', 'Kitchen fire', 'Broken windshield on highway'])[1 + i %% 6]
+                           || CASE WHEN i %% 100000 = 0 THEN ', suspected arson' ELSE '' END
+                           || ', reported by customer ' || i,
+                           CASE WHEN i %% 10 = 0 THEN 'SUBMITTED' WHEN i %% 10 = 1 THEN 'REJECTED' ELSE 'APPROVED' END,
+                           TIMESTAMP '2020-01-01' + (i %% 2190) * INTERVAL '1 day'
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(ROWS));
+            statement.execute("CREATE INDEX bench_claims_policy ON bench_claims (policy_id)");
+            statement.execute("CREATE INDEX bench_claims_tsv ON bench_claims USING GIN (description_tsv)");
+            statement.execute("ANALYZE bench_claims");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void claimSearch() throws SQLException {
+        Map<String, Double> scan = new LinkedHashMap<>();
+        Map<String, Double> ranked = new LinkedHashMap<>();
+        for (Map.Entry<String, String[]> search : SEARCHES.entrySet()) {
+            String[] args = search.getValue();
+            scan.put(search.getKey(), median("SELECT * FROM bench_claims WHERE description ILIKE '" + args[1] + "'"
+                    + args[2] + " ORDER BY id DESC LIMIT " + PAGE));
+            ranked.put(search.getKey(), median(rankedSql(args[0], args[2])));
+        }
+
+        System.out.printf("%n[claim search, %,d claims, page of %d, median of %d runs]%n", ROWS, PAGE, RUNS);
+        System.out.printf("%-26s %12s %12s %9s%n", "search", "ILIKE (ms)", "ranked (ms)", "speedup");
+        SEARCHES.keySet().forEach(name -> System.out.printf("%-26s %12.3f %12.3f %8.1fx%n",
+                name, scan.get(name), ranked.get(name), scan.get(name) / ranked.get(name)));
+    }
+
+    // Same shape as ClaimSearchRepository.SEARCH.
+    private static String rankedSql(String query, String filter) {
+        return """
+                SELECT m.*, ts_headline('english', m.description, m.query, 'MaxFragments=2, MaxWords=20, MinWords=5')
+                FROM (
+                    SELECT candidates.id, candidates.description, candidates.query,
+                           ts_rank_cd(candidates.description_tsv, candidates.query) AS rank,
+                           count(*) OVER () > %d AS truncated
+                    FROM (
+                        SELECT c.*, q.query
+                        FROM bench_claims c, websearch_to_tsquery('english', '%s') AS q(query)
+                        WHERE c.description_tsv @@ q.query%s
+                        LIMIT %d) candidates
+                    ORDER BY rank DESC, id DESC
+                    LIMIT %d) m
+                ORDER BY m.rank DESC, m.id DESC
+                """.formatted(MAX_CANDIDATES, query, filter.replace(" AND ", " AND c."), MAX_CANDIDATES + 1, PAGE);
+    }
+
+    private double median(String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            // Warm the buffer cache and let the driver switch to a server-side prepared statement.
+            for (int i = 0; i < 5; i++) {
+                drain(statement);
+            }
+            double[] millis = new double[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long started = System.nanoTime();
+                drain(statement);
+                millis[i] = (System.nanoTime() - started) / 1e6;
+            }
+            Arrays.sort(millis);
+            return millis[RUNS / 2];
+        }
+    }
+
+    private static void drain(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,185 @@
+package com.rubin.insurance.policy_management_service.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the two ways of loading a large file of policies:
+ * <ul>
+ *     <li>batched inserts: the bulk endpoint's path, multi-row INSERTs of 500 per transaction</li>
+ *     <li>COPY: the import's path, COPY of 5,000 rows into a temporary staging table and one
+ *     INSERT ... SELECT into the target per transaction</li>
+ * </ul>
+ * Needs a reachable Postgres ({@code BENCHMARK_POSTGRES_URL}, {@code POSTGRES_USER},
+ * {@code POSTGRES_PASSWORD}) and is skipped otherwise. Everything runs against temporary tables.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ImportThroughputBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int INSERT_CHUNK = 500;
+    private static final int COPY_CHUNK = 5_000;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", env("POSTGRES_USER", "postgres"));
+        properties.setProperty("password", env("POSTGRES_PASSWORD", "postgres"));
+        properties.setProperty("reWriteBatchedInserts", "true");
+        try {
+            connection = DriverManager.getConnection(
+                    env("BENCHMARK_POSTGRES_URL", "jdbc:postgresql://localhost:5432/insurance_db"), properties);
+        } catch (SQLException ex) {
+            assumeTrue(false, "Postgres not reachable: " + ex.getMessage());
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TEMP TABLE bench_policies (
+                        id BIGINT PRIMARY KEY,
+                        policy_number VARCHAR(20) NOT NULL UNIQUE,
+                        customer_name VARCHAR(255) NOT NULL,
+                        customer_email VARCHAR(255) NOT NULL,
+                        policy_type VARCHAR(20) NOT NULL,
+                        coverage_amount NUMERIC(15,2) NOT NULL,
+                        premium_amount NUMERIC(15,2) NOT NULL,
+                        start_date DATE NOT NULL,
+                        end_date DATE NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        created_at TIMESTAMP NOT NULL DEFAULT now(),
+                        updated_at TIMESTAMP NOT NULL DEFAULT now())
+                    """);
+            statement.execute("""
+                    CREATE TEMP TABLE bench_staging (
+                        id BIGINT NOT NULL,
+                        policy_number VARCHAR(20) NOT NULL,
+                        customer_name VARCHAR(255) NOT NULL,
+                        customer_email VARCHAR(255) NOT NULL,
+                        policy_type VARCHAR(20) NOT NULL,
+                        coverage_amount NUMERIC(15,2) NOT NULL,
+                        premium_amount NUMERIC(15,2) NOT NULL,
+                        start_date DATE NOT NULL,
+                        end_date DATE NOT NULL
+                    ) ON COMMIT DELETE ROWS
+                    """);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void policyImport() throws SQLException {
+        // Warm up the connection and the server's plan cache on both paths first.
+        batchedInserts(10_000);
+        copyAndMerge(10_000);
+
+        double before = batchedInserts(ROWS);
+        double after = copyAndMerge(ROWS);
+
+        System.out.printf("%n[policy import, %,d rows]%n", ROWS);
+        System.out.printf("%-32s %,14.0f rows/s%n", "batched INSERT, 500 per commit", before);
+        System.out.printf("%-32s %,14.0f rows/s%n", "COPY + merge, 5000 per commit", after);
+        System.out.printf("speedup %.2fx%n", after / before);
+    }
+
+    private double batchedInserts(int rows) throws SQLException {
+        truncate();
+        long started = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO bench_policies (id, policy_number, customer_name, customer_email, policy_type,
+                    coverage_amount, premium_amount, start_date, end_date, status)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE')
+                """)) {
+            for (int id = 1; id <= rows; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, String.format("POL-2025-%08d", id));
+                insert.setString(3, "Customer " + id);
+                insert.setString(4, "customer" + id + "@example.com");
+                insert.setString(5, "HEALTH");
+                insert.setBigDecimal(6, new BigDecimal("100000.00"));
+                insert.setBigDecimal(7, new BigDecimal("500.00"));
+                insert.setDate(8, Date.valueOf(LocalDate.of(2025, 1, 1)));
+                insert.setDate(9, Date.valueOf(LocalDate.of(2026, 1, 1)));
+                insert.addBatch();
+                if (id % INSERT_CHUNK == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return rows / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private double copyAndMerge(int rows) throws SQLException {
+        truncate();
+        long started = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement merge = connection.prepareStatement("""
+                INSERT INTO bench_policies (id, policy_number, customer_name, customer_email, policy_type,
+                    coverage_amount, premium_amount, start_date, end_date, status)
+                SELECT id, policy_number, customer_name, customer_email, policy_type,
+                    coverage_amount, premium_amount, start_date, end_date, 'ACTIVE'
+                FROM bench_staging
+                """)) {
+            StringBuilder row = new StringBuilder(256);
+            for (int first = 1; first <= rows; first += COPY_CHUNK) {
+                CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY bench_staging FROM STDIN WITH (FORMAT csv)");
+                for (int id = first; id < first + COPY_CHUNK && id <= rows; id++) {
+                    row.setLength(0);
+                    row.append(id).append(',').append(String.format("POL-2025-%08d", id))
+                            .append(",Customer ").append(id).append(",customer").append(id)
+                            .append("@example.com,HEALTH,100000.00,500.00,2025-01-01,2026-01-01\n");
+                    byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                }
+                copy.endCopy();
+                merge.executeUpdate();
+                connection.commit();
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return rows / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE bench_policies");
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
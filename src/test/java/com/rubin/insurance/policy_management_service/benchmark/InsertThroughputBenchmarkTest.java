@@ -0,0 +1,189 @@
+package com.rubin.insurance.policy_management_service.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the JDBC round trips Hibernate issues for policy inserts before and after pooled id
+ * allocation and insert batching:
+ * <ul>
+ *     <li>before: {@code allocationSize = 1}, one {@code nextval} and one {@code INSERT} per row</li>
+ *     <li>after: {@code allocationSize = 50}, one {@code nextval} per 50 rows and batched inserts
+ *     rewritten into multi-row statements by the driver</li>
+ * </ul>
+ * Needs a reachable Postgres ({@code BENCHMARK_POSTGRES_URL}, {@code POSTGRES_USER},
+ * {@code POSTGRES_PASSWORD}) and is skipped otherwise. Everything runs against temporary tables.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class InsertThroughputBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int RUNS = 7;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", env("POSTGRES_USER", "postgres"));
+        properties.setProperty("password", env("POSTGRES_PASSWORD", "postgres"));
+        properties.setProperty("reWriteBatchedInserts", "true");
+        try {
+            connection = DriverManager.getConnection(
+                    env("BENCHMARK_POSTGRES_URL", "jdbc:postgresql://localhost:5432/insurance_db"), properties);
+        } catch (SQLException ex) {
+            assumeTrue(false, "Postgres not reachable: " + ex.getMessage());
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP SEQUENCE bench_seq_single INCREMENT BY 1");
+            statement.execute("CREATE TEMP SEQUENCE bench_seq_pooled INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("""
+                    CREATE TEMP TABLE bench_policies (
+                        id BIGINT PRIMARY KEY,
+                        policy_number VARCHAR(20) NOT NULL UNIQUE,
+                        customer_name VARCHAR(255) NOT NULL,
+                        customer_email VARCHAR(255) NOT NULL,
+                        policy_type VARCHAR(20) NOT NULL,
+                        coverage_amount NUMERIC(15,2) NOT NULL,
+                        premium_amount NUMERIC(15,2) NOT NULL,
+                        start_date DATE NOT NULL,
+                        end_date DATE NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        created_at TIMESTAMP NOT NULL DEFAULT now(),
+                        updated_at TIMESTAMP NOT NULL DEFAULT now())
+                    """);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void policyInserts() throws SQLException {
+        // Warm up the connection and the server's plan cache on both paths first.
+        singleRowInserts(2_000);
+        pooledBatchedInserts(2_000);
+
+        // Alternated so background noise on the server affects both paths alike.
+        double[] before = new double[RUNS];
+        double[] after = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            before[i] = singleRowInserts(ROWS);
+            after[i] = pooledBatchedInserts(ROWS);
+        }
+        Arrays.sort(before);
+        Arrays.sort(after);
+
+        System.out.printf("%n[policy inserts, %,d rows, median of %d runs]%n", ROWS, RUNS);
+        System.out.printf("%-32s %,14.0f rows/s%n", "allocationSize=1, no batching", before[RUNS / 2]);
+        System.out.printf("%-32s %,14.0f rows/s%n", "allocationSize=50, batch=50", after[RUNS / 2]);
+        System.out.printf("speedup %.2fx%n", after[RUNS / 2] / before[RUNS / 2]);
+    }
+
+    private double singleRowInserts(int rows) throws SQLException {
+        truncate();
+        long started = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_seq_single')");
+             PreparedStatement insert = connection.prepareStatement(insertSql())) {
+            for (int i = 0; i < rows; i++) {
+                long id = next(nextval);
+                bind(insert, id);
+                insert.executeUpdate();
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return rows / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private double pooledBatchedInserts(int rows) throws SQLException {
+        truncate();
+        long started = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_seq_pooled')");
+             PreparedStatement insert = connection.prepareStatement(insertSql())) {
+            long hi = 0;
+            long nextId = 1;
+            for (int i = 0; i < rows; i++) {
+                // Same arithmetic as Hibernate's pooled optimizer: each nextval covers the ids below it.
+                if (nextId > hi) {
+                    hi = next(nextval);
+                    nextId = hi - ALLOCATION_SIZE + 1;
+                }
+                bind(insert, nextId++);
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return rows / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE bench_policies");
+        }
+    }
+
+    private static String insertSql() {
+        return """
+                INSERT INTO bench_policies (id, policy_number, customer_name, customer_email, policy_type,
+                    coverage_amount, premium_amount, start_date, end_date, status)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+    }
+
+    private static long next(PreparedStatement nextval) throws SQLException {
+        try (ResultSet rs = nextval.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void bind(PreparedStatement insert, long id) throws SQLException {
+        insert.setLong(1, id);
+        insert.setString(2, String.format("POL-2025-%08d", id));
+        insert.setString(3, "Customer " + id);
+        insert.setString(4, "customer" + id + "@example.com");
+        insert.setString(5, "HEALTH");
+        insert.setBigDecimal(6, new BigDecimal("100000.00"));
+        insert.setBigDecimal(7, new BigDecimal("500.00"));
+        insert.setDate(8, Date.valueOf(LocalDate.of(2025, 1, 1)));
+        insert.setDate(9, Date.valueOf(LocalDate.of(2026, 1, 1)));
+        insert.setString(10, "ACTIVE");
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
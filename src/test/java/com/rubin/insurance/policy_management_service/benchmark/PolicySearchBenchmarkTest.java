@@ -0,0 +1,161 @@
+package com.rubin.insurance.policy_management_service.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Times the statements the policy search issues, one per filter combination, on a policy table of
+ * {@value #ROWS} rows shaped like production: about two policies per customer, 85% ACTIVE,
+ * 10% EXPIRED, 5% CANCELLED, start dates spread over six years.
+ * <ul>
+ *     <li>before: the single-column email and status indexes of changelog 002</li>
+ *     <li>after: changelog 010, which replaces the email index and adds indexes ending in id, so a
+ *     page is an index seek; the status index is kept</li>
+ * </ul>
+ * Needs a reachable Postgres ({@code BENCHMARK_POSTGRES_URL}, {@code POSTGRES_USER},
+ * {@code POSTGRES_PASSWORD}) and is skipped otherwise. Everything runs against a temporary table.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PolicySearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE = 20;
+    private static final int RUNS = 200;
+
+    // Same predicates and order Hibernate renders from PolicySpecifications, fetching one row extra.
+    private static final Map<String, String> SEARCHES = new LinkedHashMap<>();
+
+    static {
+        SEARCHES.put("email", "lower(customer_email) = 'customer123457@example.com' AND id > 0");
+        SEARCHES.put("status=CANCELLED, type=HOME", "status = 'CANCELLED' AND policy_type = 'HOME' AND id > 0");
+        SEARCHES.put("status=CANCELLED", "status = 'CANCELLED' AND id > 0");
+        SEARCHES.put("status=EXPIRED", "status = 'EXPIRED' AND id > 0");
+        SEARCHES.put("status=CANCELLED, deep page", "status = 'CANCELLED' AND id > 900000");
+        SEARCHES.put("start date, one week", "start_date >= DATE '2023-03-01' AND start_date <= DATE '2023-03-07' AND id > 0");
+        SEARCHES.put("ACTIVE, end date, one month", "status = 'ACTIVE' AND end_date >= DATE '2026-01-01' AND end_date <= DATE '2026-01-31' AND id > 0");
+        SEARCHES.put("type=LIFE", "policy_type = 'LIFE' AND id > 0");
+    }
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", env("POSTGRES_USER", "postgres"));
+        properties.setProperty("password", env("POSTGRES_PASSWORD", "postgres"));
+        try {
+            connection = DriverManager.getConnection(
+                    env("BENCHMARK_POSTGRES_URL", "jdbc:postgresql://localhost:5432/insurance_db"), properties);
+        } catch (SQLException ex) {
+            assumeTrue(false, "Postgres not reachable: " + ex.getMessage());
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TEMP TABLE bench_policies (
+                        id BIGINT PRIMARY KEY,
+                        customer_email VARCHAR(255) NOT NULL,
+                        policy_type VARCHAR(20) NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        start_date DATE NOT NULL,
+                        end_date DATE NOT NULL)
+                    """);
+            statement.execute("""
+                    INSERT INTO bench_policies
+                    SELECT i,
+                           CASE WHEN i %% 3 = 0 THEN 'Customer' ELSE 'customer' END || (i %% 500000) || '@example.com',
+                           (ARRAY['HEALTH', 'AUTO', 'HOME', 'LIFE'])[1 + i %% 4],
+                           CASE WHEN i %% 20 = 7 THEN 'CANCELLED' WHEN i %% 10 = 3 THEN 'EXPIRED' ELSE 'ACTIVE' END,
+                           DATE '2020-01-01' + (i::bigint * 7919 %% 2190)::int,
+                           DATE '2020-01-01' + (i::bigint * 7919 %% 2190)::int + 365
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(ROWS));
+            statement.execute("CREATE INDEX bench_active_end_date ON bench_policies (end_date, id) WHERE status = 'ACTIVE'");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void policySearch() throws SQLException {
+        execute("CREATE INDEX bench_email ON bench_policies (customer_email)",
+                "CREATE INDEX bench_status ON bench_policies (status)",
+                "ANALYZE bench_policies");
+        Map<String, Double> before = timeAll();
+
+        execute("DROP INDEX bench_email",
+                "CREATE INDEX bench_email_lower_id ON bench_policies (lower(customer_email), id)",
+                "CREATE INDEX bench_status_type_id ON bench_policies (status, policy_type, id)",
+                "CREATE INDEX bench_start_date_id ON bench_policies (start_date, id)",
+                "ANALYZE bench_policies");
+        Map<String, Double> after = timeAll();
+
+        System.out.printf("%n[policy search, %,d policies, page of %d, median of %d runs]%n", ROWS, PAGE, RUNS);
+        System.out.printf("%-30s %12s %12s %9s%n", "filters", "before (ms)", "after (ms)", "speedup");
+        SEARCHES.keySet().forEach(name -> System.out.printf("%-30s %12.3f %12.3f %8.1fx%n",
+                name, before.get(name), after.get(name), before.get(name) / after.get(name)));
+    }
+
+    private Map<String, Double> timeAll() throws SQLException {
+        Map<String, Double> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, String> search : SEARCHES.entrySet()) {
+            String sql = "SELECT * FROM bench_policies WHERE " + search.getValue() + " ORDER BY id LIMIT " + (PAGE + 1);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                // Warm the buffer cache and let the driver switch to a server-side prepared statement.
+                for (int i = 0; i < 20; i++) {
+                    drain(statement);
+                }
+                double[] millis = new double[RUNS];
+                for (int i = 0; i < RUNS; i++) {
+                    long started = System.nanoTime();
+                    drain(statement);
+                    millis[i] = (System.nanoTime() - started) / 1e6;
+                }
+                Arrays.sort(millis);
+                medians.put(search.getKey(), millis[RUNS / 2]);
+            }
+        }
+        return medians;
+    }
+
+    private static void drain(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+        }
+    }
+
+    private void execute(String... sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String s : sql) {
+                statement.execute(s);
+            }
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,103 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimListCacheTest {
+
+    @Mock
+    private CacheLoadLease writeLease;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private ClaimListCache claimListCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(ClaimListCache.CACHE_NAME);
+        claimListCache = new ClaimListCache(cacheManager, writeLease);
+        lenient().when(writeLease.tryAcquire(ClaimListCache.CACHE_NAME, "1")).thenReturn(true);
+    }
+
+    @Test
+    void testOnClaimSaved_AppendsToCachedList() {
+        claimListCache.put(1L, List.of(claim(2L, "SUBMITTED")));
+
+        claimListCache.onClaimSaved(claim(1L, "SUBMITTED"));
+
+        assertEquals(List.of(claim(1L, "SUBMITTED"), claim(2L, "SUBMITTED")), claimListCache.get(1L).orElseThrow());
+    }
+
+    @Test
+    void testOnClaimSaved_ReplacesExistingClaim() {
+        claimListCache.put(1L, List.of(claim(1L, "SUBMITTED"), claim(2L, "SUBMITTED")));
+
+        claimListCache.onClaimSaved(claim(2L, "APPROVED"));
+
+        assertEquals(List.of(claim(1L, "SUBMITTED"), claim(2L, "APPROVED")), claimListCache.get(1L).orElseThrow());
+    }
+
+    @Test
+    void testOnClaimSaved_UncachedListStaysUncached() {
+        claimListCache.onClaimSaved(claim(1L, "SUBMITTED"));
+
+        assertTrue(claimListCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void testOnClaimsSaved_MergesEveryClaimOfAPolicyAtOnce() {
+        claimListCache.put(1L, List.of(claim(2L, "SUBMITTED")));
+
+        claimListCache.onClaimsSaved(List.of(claim(3L, "SUBMITTED"), claim(2L, "APPROVED"), claim(1L, "SUBMITTED")));
+
+        assertEquals(List.of(claim(1L, "SUBMITTED"), claim(2L, "APPROVED"), claim(3L, "SUBMITTED")),
+                claimListCache.get(1L).orElseThrow());
+    }
+
+    @Test
+    void testOnClaimSaved_ReleasesTheListLeaseAfterMerging() {
+        claimListCache.put(1L, List.of(claim(2L, "SUBMITTED")));
+
+        claimListCache.onClaimSaved(claim(1L, "SUBMITTED"));
+
+        verify(writeLease).release(ClaimListCache.CACHE_NAME, "1");
+    }
+
+    @Test
+    void testOnClaimSaved_ConcurrentWriterEvictsInsteadOfMerging() {
+        claimListCache.put(1L, List.of(claim(2L, "SUBMITTED")));
+        when(writeLease.tryAcquire(ClaimListCache.CACHE_NAME, "1")).thenReturn(false);
+
+        claimListCache.onClaimSaved(claim(1L, "SUBMITTED"));
+
+        assertTrue(claimListCache.get(1L).isEmpty());
+        verify(writeLease, never()).release(ClaimListCache.CACHE_NAME, "1");
+    }
+
+    @Test
+    void testGet_EmptyListIsCached() {
+        claimListCache.put(1L, List.of());
+
+        assertEquals(List.of(), claimListCache.get(1L).orElseThrow());
+    }
+
+    private static ClaimResponse claim(Long id, String status) {
+        return new ClaimResponse(id, 1L, "CLM-2025-00000" + id, "Vehicle damage", new BigDecimal("500.00"),
+                LocalDate.of(2025, 1, 15), status, null, null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactCacheValueSerializerTest {
+
+    private RedisSerializer<Object> jsonSerializer;
+    private CompactCacheValueSerializer serializer;
+    private PolicyResponse policy;
+
+    @BeforeEach
+    void setUp() {
+        jsonSerializer = GenericJacksonJsonRedisSerializer.builder()
+                .enableDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.rubin.insurance")
+                        .allowIfSubType("java.")
+                        .build())
+                .build();
+        serializer = new CompactCacheValueSerializer(jsonSerializer);
+        policy = new PolicyResponse(1L, "POL-2025-000001", "John Smith", "john.smith@example.com", "HEALTH",
+                new BigDecimal("100000.00"), new BigDecimal("1500.00"),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1), "ACTIVE");
+    }
+
+    @Test
+    void testPolicy_RoundTrip() {
+        byte[] bytes = serializer.serialize(policy);
+
+        assertEquals(CompactCacheValueSerializer.MAGIC, bytes[0]);
+        assertEquals(policy, serializer.deserialize(bytes));
+        assertTrue(bytes.length < jsonSerializer.serialize(policy).length);
+    }
+
+    @Test
+    void testStampedPage_RoundTrip() {
+        PageResponse<PolicyResponse> page = new PageResponse<>(new PageImpl<>(List.of(policy), PageRequest.of(0, 10), 1));
+        GenerationStampedPage stamped = new GenerationStampedPage(page, Map.of("seg:0", 7L, "epoch", 1_700_000_000_000_000L));
+
+        Object decoded = serializer.deserialize(serializer.serialize(stamped));
+
+        assertEquals(stamped, decoded);
+    }
+
+    @Test
+    void testCursorPage_RoundTrip() {
+        PageResponse<PolicyResponse> page = new PageResponse<>(List.of(policy),
+                new PageResponse.CursorMetadata(10, "SUR8MQ", true, null));
+
+        assertEquals(page, serializer.deserialize(serializer.serialize(page)));
+    }
+
+    @Test
+    void testPolicyClaims_RoundTrip() {
+        PolicyClaims claims = new PolicyClaims(List.of(
+                new ClaimResponse(1L, 1L, "CLM-2025-000001", "Vehicle damage", new BigDecimal("5000.00"),
+                        LocalDate.of(2025, 1, 15), "SUBMITTED", null, Instant.parse("2025-01-16T10:15:30.123456Z")),
+                new ClaimResponse(2L, 1L, "CLM-2025-000002", "Broken window", new BigDecimal("300.00"),
+                        LocalDate.of(2025, 2, 1), "REJECTED", "Not covered", null)));
+
+        byte[] bytes = serializer.serialize(claims);
+
+        assertEquals(CompactCacheValueSerializer.MAGIC, bytes[0]);
+        assertEquals(claims, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testDeserialize_LegacyJsonEntry() {
+        byte[] legacy = jsonSerializer.serialize(policy);
+
+        assertEquals(policy, serializer.deserialize(legacy));
+    }
+
+    @Test
+    void testDeserialize_UnknownVersionIsMiss() {
+        byte[] bytes = serializer.serialize(policy);
+        bytes[2] = 99;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testSerialize_UnknownTypeFallsBackToJson() {
+        byte[] bytes = serializer.serialize("plain value");
+
+        assertNotEquals(CompactCacheValueSerializer.MAGIC, bytes[0]);
+        assertEquals("plain value", serializer.deserialize(bytes));
+    }
+}
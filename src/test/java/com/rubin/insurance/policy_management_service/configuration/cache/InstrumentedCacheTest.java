@@ -0,0 +1,96 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InstrumentedCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisOutageDetector outageDetector;
+    private InstrumentedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outageDetector = new RedisOutageDetector(meterRegistry, 2);
+        cache = new InstrumentedCache(new ConcurrentMapCache("policyById"), meterRegistry, outageDetector);
+    }
+
+    @Test
+    void testCountsHitsMissesPutsAndEvictions() {
+        cache.get(1L);
+        cache.put(1L, "policy-1");
+        cache.get(1L);
+        cache.evict(1L);
+
+        assertEquals(1.0, count("cache.gets", "result", "hit"));
+        assertEquals(1.0, count("cache.gets", "result", "miss"));
+        assertEquals(1.0, meterRegistry.get("cache.puts").tag("cache", "policyById").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.evictions").tag("cache", "policyById").counter().count());
+    }
+
+    @Test
+    void testGetWithLoader_TimesLoadAndCountsMiss() {
+        assertEquals("policy-1", cache.get(1L, () -> "policy-1"));
+        assertEquals("policy-1", cache.get(1L, () -> "reloaded"));
+
+        assertEquals(1, meterRegistry.get("cache.load").tag("cache", "policyById").timer().count());
+        assertEquals(1.0, count("cache.gets", "result", "miss"));
+        assertEquals(1.0, count("cache.gets", "result", "hit"));
+    }
+
+    @Test
+    void testGetWithLoader_LoaderFailureIsNotACacheError() {
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get(1L, () -> {
+            throw new IllegalStateException("not found");
+        }));
+
+        assertTrue(meterRegistry.find("cache.errors").counters().isEmpty());
+        assertFalse(outageDetector.isOutage());
+    }
+
+    @Test
+    void testFailuresAreCountedAndDetectOutage() {
+        Cache failing = mock(Cache.class);
+        when(failing.getName()).thenReturn("policyById");
+        when(failing.get(1L)).thenThrow(new RedisConnectionFailureException("connection refused"));
+        InstrumentedCache instrumented = new InstrumentedCache(failing, meterRegistry, outageDetector);
+
+        assertThrows(RedisConnectionFailureException.class, () -> instrumented.get(1L));
+        assertFalse(outageDetector.isOutage());
+        assertThrows(RedisConnectionFailureException.class, () -> instrumented.get(1L));
+
+        assertTrue(outageDetector.isOutage());
+        assertEquals(1.0, meterRegistry.get("cache.redis.outage").gauge().value());
+        assertEquals(2.0, meterRegistry.get("cache.errors")
+                .tags("operation", "get", "exception", "RedisConnectionFailureException").counter().count());
+
+        cache.put(1L, "policy-1");
+        assertFalse(outageDetector.isOutage());
+    }
+
+    @Test
+    void testTwoLevelCacheReportsItsOwnOutages() {
+        TwoLevelCache twoLevel = mock(TwoLevelCache.class);
+        when(twoLevel.getName()).thenReturn("policyById");
+        when(twoLevel.get(1L)).thenThrow(new RedisConnectionFailureException("connection refused"));
+        InstrumentedCache instrumented = new InstrumentedCache(twoLevel, meterRegistry, outageDetector);
+
+        assertThrows(RedisConnectionFailureException.class, () -> instrumented.get(1L));
+        assertThrows(RedisConnectionFailureException.class, () -> instrumented.get(1L));
+
+        assertFalse(outageDetector.isOutage());
+        assertEquals(2.0, meterRegistry.get("cache.errors").tag("operation", "get").counter().count());
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tags("cache", "policyById", tag, value).counter().count();
+    }
+}
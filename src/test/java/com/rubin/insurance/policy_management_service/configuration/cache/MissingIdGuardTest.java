@@ -0,0 +1,212 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MissingIdGuardTest {
+
+    private static final byte[] CHANNEL = "known-ids.created".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private MissingIdGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = spy(new ConcurrentMapCacheManager("policyMisses", "claimMisses"));
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new MissingIdGuard(cacheManager, redisTemplate, dataSource, new TransactionTemplate(transactionManager),
+                meterRegistry, "known-ids.created", 0.01);
+        ReflectionTestUtils.setField(guard, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    void testIsKnownMissing_BeforeFirstBuildEverythingMayExist() {
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 42L));
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(cacheManager, never()).getCache(any());
+    }
+
+    @Test
+    void testIsKnownMissing_MaybeNeverTouchesTheNegativeCache() {
+        guard.onChannelSubscribed(CHANNEL, 1);
+        rebuildWith(1L, 2L);
+        rebuildWith(1L, 2L);
+
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 2L));
+
+        verify(cacheManager, never()).getCache(any());
+    }
+
+    @Test
+    void testIsKnownMissing_TrustedNoAnsweredFromTheFilterAlone() {
+        guard.onChannelSubscribed(CHANNEL, 1);
+        rebuildWith(1L, 100L);
+        rebuildWith(1L, 100L);
+
+        assertTrue(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 50L));
+
+        verify(cacheManager, never()).getCache(any());
+        assertEquals(1.0, meterRegistry.get("known_ids.short_circuit").tag("source", "bloom").counter().count());
+    }
+
+    @Test
+    void testIsKnownMissing_NoAboveTheTrustedRangeNeedsAConfirmedMiss() {
+        guard.onChannelSubscribed(CHANNEL, 1);
+        rebuildWith(1L, 100L);
+        rebuildWith(1L, 100L);
+
+        // May be a peer's insert whose broadcast has not arrived yet.
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 150L));
+
+        guard.recordMissing(MissingIdGuard.IdSpace.POLICY, 150L);
+
+        assertTrue(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 150L));
+        assertEquals(1.0, meterRegistry.get("known_ids.short_circuit").tag("source", "negative-cache").counter().count());
+    }
+
+    @Test
+    void testRebuild_LatestScanIsNotTrustedYet() {
+        guard.onChannelSubscribed(CHANNEL, 1);
+        rebuildWith(1L, 100L);
+
+        // A lower id allocated before the scan may still commit after it.
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 50L));
+    }
+
+    @Test
+    void testRebuild_NotTrustedWithoutSubscription() {
+        rebuildWith(1L, 100L);
+        rebuildWith(1L, 100L);
+
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 50L));
+    }
+
+    @Test
+    void testOnChannelSubscribed_ResubscribeWithdrawsTrustUntilRebuilt() {
+        guard.onChannelSubscribed(CHANNEL, 1);
+        rebuildWith(1L, 100L);
+        rebuildWith(1L, 100L);
+
+        // Reconnected: broadcasts sent while disconnected are lost.
+        guard.onChannelSubscribed(CHANNEL, 1);
+
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 50L));
+
+        rebuildWith(1L, 100L);
+
+        assertTrue(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 50L));
+    }
+
+    @Test
+    void testRecordMissing_SkippedWhenTheFilterMayContainTheId() {
+        rebuildWith(1L, 2L);
+
+        guard.recordMissing(MissingIdGuard.IdSpace.POLICY, 2L);
+
+        assertNull(cacheManager.getCache("policyMisses").get(2L));
+    }
+
+    @Test
+    void testRebuild_IdsCreatedDuringScanSurviveTheSwap() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*)"), eq(Long.class))).thenReturn(1L);
+        doAnswer(invocation -> {
+            // Committed after the scan read past it; only the pending set carries it into the new filter.
+            guard.registerCreated(MissingIdGuard.IdSpace.POLICY, 5L);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(1L);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id FROM"), any(RowCallbackHandler.class));
+
+        guard.rebuild();
+
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 5L));
+        verify(redisTemplate, atLeastOnce()).convertAndSend("known-ids.created", "POLICY:5");
+    }
+
+    @Test
+    void testRebuild_FailureKeepsPreviousFilter() {
+        rebuildWith(1L);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*)"), eq(Long.class)))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        guard.rebuild();
+
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 1L));
+        verify(cacheManager, never()).getCache(any());
+    }
+
+    @Test
+    void testOnMessage_PeerIdsAreLearned() {
+        guard.onChannelSubscribed(CHANNEL, 1);
+        rebuildWith(1L, 100L);
+        rebuildWith(1L, 100L);
+
+        guard.onMessage(new DefaultMessage(CHANNEL, "POLICY:7,8".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 7L));
+        assertFalse(guard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 8L));
+    }
+
+    @Test
+    void testOnMessage_MalformedIgnored() {
+        rebuildWith(1L);
+
+        assertDoesNotThrow(() -> guard.onMessage(new DefaultMessage(CHANNEL,
+                "BOAT:x".getBytes(StandardCharsets.UTF_8)), null));
+    }
+
+    private void rebuildWith(Long... ids) {
+        List<Long> existing = List.of(ids);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*)"), eq(Long.class))).thenReturn((long) existing.size());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Long id : existing) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(id);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id FROM"), any(RowCallbackHandler.class));
+        guard.rebuild();
+        clearInvocations(jdbcTemplate);
+    }
+}
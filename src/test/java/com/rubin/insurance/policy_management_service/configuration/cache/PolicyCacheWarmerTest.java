@@ -0,0 +1,107 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.mapper.PolicyMapper;
+import com.rubin.insurance.policy_management_service.repository.ClaimRepository;
+import com.rubin.insurance.policy_management_service.repository.PolicyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyCacheWarmerTest {
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    @Mock
+    private PolicyMapper policyMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("policyById");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // The gauges only hold the warmer weakly; keep it reachable until they are read.
+    private PolicyCacheWarmer warmer;
+
+    @Test
+    void testRun_OpenClaimsFirstThenRecentUpdatesUpToSize() {
+        when(claimRepository.findPolicyIdsWithOpenClaims(any(), eq(3))).thenReturn(List.of(7L, 2L));
+        when(policyRepository.findRecentlyUpdatedIds(3)).thenReturn(List.of(2L, 9L, 4L));
+        when(policyRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Policy> policies = new ArrayList<>();
+            ids.forEach(id -> policies.add(Policy.builder().id(id).build()));
+            return policies;
+        });
+        when(policyMapper.toDto(any())).thenAnswer(invocation -> response(((Policy) invocation.getArgument(0)).getId()));
+
+        warmer(true, 3).run(null);
+
+        var cache = cacheManager.getCache("policyById");
+        assertNotNull(cache.get(7L));
+        assertNotNull(cache.get(2L));
+        assertNotNull(cache.get(9L));
+        assertNull(cache.get(4L));
+        assertEquals(1.0, meterRegistry.get("cache.warmup.progress").gauge().value());
+        assertEquals(3.0, meterRegistry.get("cache.warmup.entries").gauge().value());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void testRun_EntriesCachedByLiveTrafficAreNotOverwritten() {
+        when(claimRepository.findPolicyIdsWithOpenClaims(any(), eq(3))).thenReturn(List.of(7L));
+        when(policyRepository.findRecentlyUpdatedIds(3)).thenReturn(List.of());
+        when(policyRepository.findAllById(any())).thenReturn(List.of(Policy.builder().id(7L).build()));
+        when(policyMapper.toDto(any())).thenReturn(response(7L));
+        PolicyResponse updated = new PolicyResponse(7L, "POL-7", "Updated", null, null, null, null, null, null, null);
+        cacheManager.getCache("policyById").put(7L, updated);
+
+        warmer(true, 3).run(null);
+
+        assertSame(updated, cacheManager.getCache("policyById").get(7L).get());
+    }
+
+    @Test
+    void testRun_Disabled() {
+        warmer(false, 3).run(null);
+
+        verifyNoInteractions(policyRepository, claimRepository);
+    }
+
+    @Test
+    void testRun_RepositoryFailureDoesNotBlockStartup() {
+        when(claimRepository.findPolicyIdsWithOpenClaims(any(), eq(3))).thenThrow(new IllegalStateException("db down"));
+
+        assertDoesNotThrow(() -> warmer(true, 3).run(null));
+        assertEquals(0.0, meterRegistry.get("cache.warmup.entries").gauge().value());
+    }
+
+    private PolicyCacheWarmer warmer(boolean enabled, int size) {
+        warmer = new PolicyCacheWarmer(cacheManager, policyRepository, claimRepository, policyMapper, redisTemplate,
+                meterRegistry, enabled, size, 2, 2, Duration.ofSeconds(5), Duration.ofDays(90));
+        return warmer;
+    }
+
+    private static PolicyResponse response(Long id) {
+        return new PolicyResponse(id, "POL-" + id, null, null, null, null, null, null, null, null);
+    }
+}
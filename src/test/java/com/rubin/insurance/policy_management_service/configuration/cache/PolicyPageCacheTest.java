@@ -0,0 +1,268 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PolicyPageCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 2, Sort.by("id"));
+    private static final Pageable LAST_PAGE = PageRequest.of(1, 2, Sort.by("id"));
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    // Stands in for Redis: each script is applied to this map the way its Lua source does.
+    private final Map<String, String> redis = new HashMap<>();
+    private LettuceConnectionFactory connectionFactory;
+    private PolicyPageCache pageCache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            RedisScript<?> script = invocation.getArgument(0);
+            List<String> keys = invocation.getArgument(1);
+            String seed = invocation.getArgument(2);
+            if (script.getScriptAsString().contains("ARGV[3]")) {
+                long highest = Math.max(Long.parseLong(redis.getOrDefault(keys.getFirst(), "0")),
+                        Long.parseLong(invocation.getArgument(5)));
+                redis.put(keys.getFirst(), String.valueOf(highest));
+                keys.subList(1, keys.size()).forEach(key -> bump(key, seed));
+                for (long segment = Long.parseLong(invocation.getArgument(4)); segment <= highest; segment++) {
+                    bump(invocation.<String>getArgument(3) + segment, seed);
+                }
+                return highest;
+            }
+            if (script.getScriptAsString().contains("'INCR'")) {
+                keys.forEach(key -> bump(key, seed));
+                return (long) keys.size();
+            }
+            if (keys.getFirst().endsWith("seg-max")) {
+                redis.merge(keys.getFirst(), seed, (current, raised) -> String.valueOf(Math.max(Long.parseLong(current), Long.parseLong(raised))));
+                return null;
+            }
+            List<Long> values = new ArrayList<>();
+            keys.forEach(key -> values.add(Long.parseLong(redis.computeIfAbsent(key, ignored -> seed))));
+            return values;
+        });
+        pageCache = new PolicyPageCache(new ConcurrentMapCacheManager(PolicyPageCache.CACHE_NAME), redisTemplate, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void testPut_PageServedUntilItsSegmentChanges() {
+        PageResponse<PolicyResponse> page = cache(FIRST_PAGE, 5L, 6L);
+
+        assertSame(page, pageCache.get(FIRST_PAGE));
+
+        pageCache.onPolicyUpdated(25L);
+        assertSame(page, pageCache.get(FIRST_PAGE), "a write to another segment must not invalidate the page");
+
+        pageCache.onPolicyUpdated(6L);
+        assertNull(pageCache.get(FIRST_PAGE));
+    }
+
+    @Test
+    void testPut_PageSpanningSegmentsDependsOnEach() {
+        cache(FIRST_PAGE, 9L, 31L);
+
+        pageCache.onPolicyUpdated(22L);
+
+        assertNull(pageCache.get(FIRST_PAGE));
+    }
+
+    @Test
+    void testOnPolicyCreated_InvalidatesOnlyTheLastPage() {
+        PageResponse<PolicyResponse> first = cache(FIRST_PAGE, 1L, 2L);
+        cache(LAST_PAGE, 3L, 4L);
+
+        pageCache.onPolicyCreated(55L);
+
+        assertSame(first, pageCache.get(FIRST_PAGE));
+        assertNull(pageCache.get(LAST_PAGE));
+    }
+
+    @Test
+    void testOnPolicyCreated_LowerIdInvalidatesEveryPageItShifts() {
+        Pageable middle = PageRequest.of(1, 2, Sort.by("id"));
+        Pageable beyond = PageRequest.of(2, 2, Sort.by("id"));
+        PageResponse<PolicyResponse> first = cache(FIRST_PAGE, 1L, 2L);
+        cache(middle, 21L, 22L);
+        cache(beyond, 41L, 42L);
+
+        // From another node's pre-allocated id range, below rows already listed.
+        pageCache.onPolicyCreated(15L);
+
+        assertSame(first, pageCache.get(FIRST_PAGE));
+        assertNull(pageCache.get(middle));
+        assertNull(pageCache.get(beyond), "a page two segments above the insert is shifted too");
+    }
+
+    @Test
+    void testOnPolicyCreated_InvalidatesEveryDescendingPage() {
+        Pageable newestFirst = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
+        cache(newestFirst, 4L, 3L);
+
+        pageCache.onPolicyCreated(5L);
+
+        assertNull(pageCache.get(newestFirst));
+    }
+
+    @Test
+    void testPut_PageNotOrderedByIdDependsOnEveryWrite() {
+        Pageable byName = PageRequest.of(0, 2, Sort.by("customerName"));
+        cache(byName, 1L, 2L);
+
+        pageCache.onPolicyUpdated(500L);
+
+        assertNull(pageCache.get(byName));
+    }
+
+    @Test
+    void testPut_SkippedWhenWriteCommittedDuringQuery() {
+        PolicyPageCache.Snapshot before = pageCache.snapshot();
+        // Committed while the page was being read, in a segment the page turns out not to depend on.
+        pageCache.onPolicyUpdated(500L);
+
+        pageCache.put(FIRST_PAGE, page(FIRST_PAGE, 1L, 2L), before);
+
+        assertNull(pageCache.get(FIRST_PAGE));
+    }
+
+    @Test
+    void testPut_SkippedWithoutSnapshot() {
+        pageCache.put(FIRST_PAGE, page(FIRST_PAGE, 1L, 2L), null);
+
+        assertNull(pageCache.get(FIRST_PAGE));
+    }
+
+    @Test
+    void testInvalidateAll_MovesEveryPageToANewEpoch() {
+        cache(FIRST_PAGE, 1L, 2L);
+
+        pageCache.invalidateAll();
+
+        assertNull(pageCache.get(FIRST_PAGE));
+    }
+
+    @Test
+    void testGet_EvictedCounterReseededNeverMatchesOldStamp() throws InterruptedException {
+        cache(FIRST_PAGE, 1L, 2L);
+        // Seeds have millisecond resolution.
+        Thread.sleep(2);
+
+        redis.remove("policyPages:gen:seg:0");
+
+        assertNull(pageCache.get(FIRST_PAGE));
+    }
+
+    @Test
+    void testSnapshot_RedisDownDisablesCaching() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any()))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertNull(pageCache.snapshot());
+        assertNull(pageCache.get(FIRST_PAGE));
+    }
+
+    @Test
+    void testScripts_AgainstRedis() {
+        StringRedisTemplate realRedis = realRedis();
+        pageCache = new PolicyPageCache(new ConcurrentMapCacheManager(PolicyPageCache.CACHE_NAME), realRedis, 10);
+        List<String> keys = List.of("policyPages:gen:epoch", "policyPages:gen:any", "policyPages:gen:tail",
+                "policyPages:gen:seg-max", "policyPages:gen:seg:0", "policyPages:gen:seg:1", "policyPages:gen:seg:2");
+        realRedis.delete(keys);
+        try {
+            PageResponse<PolicyResponse> page = cache(FIRST_PAGE, 1L, 2L);
+            // Missing counters are seeded from the clock rather than starting at 1.
+            assertTrue(Long.parseLong(realRedis.opsForValue().get("policyPages:gen:seg:0")) > 1_000_000_000_000L);
+            assertSame(page, pageCache.get(FIRST_PAGE));
+
+            String before = realRedis.opsForValue().get("policyPages:gen:seg:0");
+            pageCache.onPolicyUpdated(1L);
+            assertEquals(Long.parseLong(before) + 1, Long.parseLong(realRedis.opsForValue().get("policyPages:gen:seg:0")));
+            assertNull(pageCache.get(FIRST_PAGE));
+
+            Pageable beyond = PageRequest.of(2, 2, Sort.by("id"));
+            cache(beyond, 21L, 22L);
+            String beyondBefore = realRedis.opsForValue().get("policyPages:gen:seg:2");
+            pageCache.onPolicyCreated(5L);
+            assertEquals("2", realRedis.opsForValue().get("policyPages:gen:seg-max"));
+            assertEquals(Long.parseLong(beyondBefore) + 1, Long.parseLong(realRedis.opsForValue().get("policyPages:gen:seg:2")));
+            assertNotNull(realRedis.opsForValue().get("policyPages:gen:seg:1"), "the segment between is bumped as well");
+            assertNull(pageCache.get(beyond));
+        } finally {
+            realRedis.delete(keys);
+        }
+    }
+
+    private void bump(String key, String seed) {
+        redis.merge(key, seed, (current, ignored) -> String.valueOf(Long.parseLong(current) + 1));
+    }
+
+    private PageResponse<PolicyResponse> cache(Pageable pageable, long... ids) {
+        PageResponse<PolicyResponse> page = page(pageable, ids);
+        pageCache.put(pageable, page, pageCache.snapshot());
+        return page;
+    }
+
+    private static PageResponse<PolicyResponse> page(Pageable pageable, long... ids) {
+        List<PolicyResponse> content = LongStream.of(ids).mapToObj(id -> new PolicyResponse(id, "POL-2025-00000" + id,
+                "John Smith", "john.smith@example.com", "HEALTH", new BigDecimal("100000.00"), new BigDecimal("500.00"),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1), "ACTIVE")).toList();
+        return new PageResponse<>(new PageImpl<>(content, pageable, 4));
+    }
+
+    private StringRedisTemplate realRedis() {
+        String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, 6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+        try {
+            template.getConnectionFactory().getConnection().ping();
+        } catch (Exception ex) {
+            assumeTrue(false, "Redis not reachable: " + ex.getMessage());
+        }
+        return template;
+    }
+}
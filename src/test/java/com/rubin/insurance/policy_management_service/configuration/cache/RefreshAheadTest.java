@@ -0,0 +1,116 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshAheadTest {
+
+    private static final byte[] CACHED = "\"cached\"".getBytes(StandardCharsets.UTF_8);
+    private static final TwoLevelCache.RemoteEntry RELOADED =
+            new TwoLevelCache.RemoteEntry("\"reloaded\"".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(10));
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private CacheLoadLease loadLease;
+
+    @Mock
+    private TwoLevelCache cache;
+
+    private RefreshAhead refreshAhead;
+
+    @BeforeEach
+    void setUp() {
+        refreshAhead = new RefreshAhead(redisTemplate, loadLease, Duration.ofMinutes(2), 1, 4);
+        when(cache.getName()).thenReturn("policyById");
+        when(cache.remoteKey(1L)).thenReturn("policyById::1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshAhead.destroy();
+    }
+
+    @Test
+    void testOnRemoteHit_RefreshesEntryInsideWindow() {
+        when(redisTemplate.getExpire("policyById::1", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+        when(loadLease.tryAcquire("policyById", "refresh:1")).thenReturn(true);
+        when(cache.remoteEntry(1L, "reloaded")).thenReturn(RELOADED);
+        // The raw read before the reload, then the compare-and-set.
+        doReturn(CACHED, 1L).when(redisTemplate).execute(any(RedisCallback.class));
+
+        refreshAhead.onRemoteHit(cache, 1L, "1", () -> "reloaded");
+
+        verify(cache, timeout(1_000)).recordRefreshed();
+        verify(cache).fillLocal(1L, "reloaded");
+        verify(loadLease, timeout(1_000)).release("policyById", "refresh:1");
+    }
+
+    @Test
+    void testOnRemoteHit_EntryRewrittenDuringReloadIsKept() {
+        when(redisTemplate.getExpire("policyById::1", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+        when(loadLease.tryAcquire("policyById", "refresh:1")).thenReturn(true);
+        when(cache.remoteEntry(1L, "reloaded")).thenReturn(RELOADED);
+        // A @CachePut replaced the entry while the reload ran, so the compare-and-set writes nothing.
+        doReturn(CACHED, 0L).when(redisTemplate).execute(any(RedisCallback.class));
+
+        refreshAhead.onRemoteHit(cache, 1L, "1", () -> "reloaded");
+
+        verify(cache, timeout(1_000)).recordRefreshSuperseded();
+        verify(cache, never()).fillLocal(any(), any());
+        verify(cache, never()).recordRefreshed();
+        verify(loadLease, timeout(1_000)).release("policyById", "refresh:1");
+    }
+
+    @Test
+    void testOnRemoteHit_EntryExpiredBeforeReloadIsNotRecreated() {
+        when(redisTemplate.getExpire("policyById::1", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+        when(loadLease.tryAcquire("policyById", "refresh:1")).thenReturn(true);
+        doReturn(null).when(redisTemplate).execute(any(RedisCallback.class));
+
+        refreshAhead.onRemoteHit(cache, 1L, "1", () -> {
+            throw new AssertionError("must not reload");
+        });
+
+        verify(loadLease, timeout(1_000)).release("policyById", "refresh:1");
+        verify(cache, never()).remoteEntry(any(), any());
+        verify(cache, never()).recordRefreshFailed();
+    }
+
+    @Test
+    void testOnRemoteHit_SkipsEntryOutsideWindow() {
+        when(redisTemplate.getExpire("policyById::1", TimeUnit.MILLISECONDS)).thenReturn(20 * 60_000L);
+
+        refreshAhead.onRemoteHit(cache, 1L, "1", () -> "reloaded");
+
+        verify(redisTemplate, timeout(1_000)).getExpire("policyById::1", TimeUnit.MILLISECONDS);
+        verify(loadLease, after(100).never()).tryAcquire(any(), any());
+        verify(cache, never()).fillLocal(any(), any());
+    }
+
+    @Test
+    void testOnRemoteHit_SkipsWhenPeerHoldsLease() {
+        when(redisTemplate.getExpire("policyById::1", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+        when(loadLease.tryAcquire("policyById", "refresh:1")).thenReturn(false);
+
+        refreshAhead.onRemoteHit(cache, 1L, "1", () -> "reloaded");
+
+        verify(loadLease, timeout(1_000)).tryAcquire("policyById", "refresh:1");
+        verify(cache, after(100).never()).fillLocal(any(), any());
+    }
+}
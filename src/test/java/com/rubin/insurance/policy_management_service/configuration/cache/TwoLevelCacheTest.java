@@ -0,0 +1,235 @@
+package com.rubin.insurance.policy_management_service.configuration.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rubin.insurance.policy_management_service.configuration.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private CacheLoadLease loadLease;
+
+    private ConcurrentMapCache remote;
+    private RedisOutageDetector outageDetector;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("policyById", false);
+        outageDetector = new RedisOutageDetector(new SimpleMeterRegistry(), 1);
+        cache = new TwoLevelCache("policyById", Caffeine.newBuilder().maximumSize(100).build(), remote, invalidationBus,
+                loadLease, null, outageDetector);
+    }
+
+    @Test
+    void testGet_L2HitBackfillsL1() {
+        remote.put(1L, "policy-1");
+
+        Cache.ValueWrapper first = cache.get(1L);
+        remote.evict(1L);
+        Cache.ValueWrapper second = cache.get(1L);
+
+        assertEquals("policy-1", first.get());
+        assertEquals("policy-1", second.get());
+        assertEquals(1, cache.l1HitCount());
+        assertEquals(1, cache.l1MissCount());
+        assertEquals(1, cache.l2HitCount());
+        assertEquals(0.5, cache.l1HitRatio());
+    }
+
+    @Test
+    void testGet_MissInBothTiers() {
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.l2MissCount());
+    }
+
+    @Test
+    void testPut_WritesBothTiersAndPublishes() {
+        cache.put(1L, "policy-1");
+
+        assertEquals("policy-1", remote.get(1L).get());
+        assertEquals("policy-1", cache.get(1L).get());
+        assertEquals(1, cache.l1HitCount());
+        verify(invalidationBus).publish("policyById", "1");
+    }
+
+    @Test
+    void testEvictLocal_FallsThroughToL2() {
+        cache.put(1L, "policy-1");
+        remote.put(1L, "policy-1-updated");
+
+        cache.evictLocal("1");
+
+        assertEquals("policy-1-updated", cache.get(1L).get());
+    }
+
+    @Test
+    void testClear_PublishesNullKey() {
+        cache.put(1L, "policy-1");
+
+        cache.clear();
+
+        assertNull(cache.get(1L));
+        verify(invalidationBus).publish("policyById", null);
+    }
+
+    @Test
+    void testGetWithLoader_L2HitIsOfferedForRefreshAhead() {
+        RefreshAhead refreshAhead = mock(RefreshAhead.class);
+        TwoLevelCache refreshing = new TwoLevelCache("policyById", Caffeine.newBuilder().maximumSize(100).build(),
+                remote, invalidationBus, loadLease, refreshAhead, outageDetector);
+        remote.put(1L, "policy-1");
+
+        assertEquals("policy-1", refreshing.get(1L, () -> "reloaded"));
+        assertEquals("policy-1", refreshing.get(1L, () -> "reloaded"));
+
+        // The second read is an L1 hit and does not touch L2.
+        verify(refreshAhead, times(1)).onRemoteHit(eq(refreshing), eq(1L), eq("1"), any());
+    }
+
+    @Test
+    void testGetWithLoader_CoalescesConcurrentMisses() throws Exception {
+        when(loadLease.tryAcquire("policyById", "1")).thenReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await();
+                return "policy-1";
+            }));
+            loaderStarted.await();
+            Future<Object> follower = executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            }));
+            while (cache.coalescedWaiterCount() == 0 && !follower.isDone()) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            assertEquals("policy-1", leader.get());
+            assertEquals("policy-1", follower.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.coalescedWaiterCount());
+        assertEquals("policy-1", remote.get(1L).get());
+        verify(loadLease).release("policyById", "1");
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    void testGetWithLoader_LoadDoesNotOverwriteConcurrentPut() {
+        when(loadLease.tryAcquire("policyById", "1")).thenReturn(true);
+
+        Object value = cache.get(1L, () -> {
+            // A write committed and ran its @CachePut while this load was reading the old row.
+            cache.put(1L, "updated");
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertEquals("updated", remote.get(1L).get());
+        assertEquals("updated", cache.get(1L).get());
+    }
+
+    @Test
+    void testGetWithLoader_WaitsForLeaseHolderFill() {
+        when(loadLease.tryAcquire("policyById", "1")).thenAnswer(invocation -> {
+            remote.put(1L, "filled-by-peer");
+            return false;
+        });
+        when(loadLease.getMaxWait()).thenReturn(Duration.ofSeconds(1));
+        when(loadLease.getPollInterval()).thenReturn(Duration.ofMillis(1));
+
+        Object value = cache.get(1L, () -> fail("loader should not run while a peer holds the lease"));
+
+        assertEquals("filled-by-peer", value);
+        assertEquals(1, cache.leaseWaitFilledCount());
+        verify(loadLease, never()).release(any(), any());
+    }
+
+    @Test
+    void testGetWithLoader_StopsWaitingWhenLeaseReleasedWithoutFill() {
+        when(loadLease.tryAcquire("policyById", "1")).thenReturn(false);
+        when(loadLease.isHeld("policyById", "1")).thenReturn(true, false);
+        when(loadLease.getMaxWait()).thenReturn(Duration.ofMinutes(1));
+        when(loadLease.getPollInterval()).thenReturn(Duration.ofMillis(1));
+
+        assertEquals("policy-1", cache.get(1L, () -> "policy-1"));
+
+        assertEquals(1, cache.leaseWaitReleasedCount());
+        assertEquals(0, cache.leaseWaitTimedOutCount());
+        assertEquals("policy-1", remote.get(1L).get());
+    }
+
+    @Test
+    void testGetWithLoader_HolderReleasesLeaseWhenLoadFails() {
+        when(loadLease.tryAcquire("policyById", "1")).thenReturn(true);
+
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get(1L, () -> {
+            throw new IllegalStateException("not found");
+        }));
+
+        verify(loadLease).release("policyById", "1");
+        assertNull(remote.get(1L));
+    }
+
+    @Test
+    void testGetWithLoader_LoadsFromPrimary() {
+        when(loadLease.tryAcquire("policyById", "1")).thenReturn(true);
+
+        Object pinned = cache.get(1L, ReadYourWrites::isPinned);
+
+        assertEquals(Boolean.TRUE, pinned);
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    @Test
+    void testOutageDetector_OnlyL2OperationsCount() {
+        Cache failingRemote = mock(Cache.class);
+        TwoLevelCache twoLevel = new TwoLevelCache("policyById", Caffeine.newBuilder().maximumSize(100).build(),
+                failingRemote, invalidationBus, loadLease, null, outageDetector);
+        twoLevel.fillLocal(1L, "policy-1");
+        when(failingRemote.get(2L)).thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> twoLevel.get(2L));
+        assertTrue(outageDetector.isOutage());
+
+        assertEquals("policy-1", twoLevel.get(1L).get());
+        assertTrue(outageDetector.isOutage(), "an L1 hit must not clear an outage");
+
+        twoLevel.evict(3L);
+        assertFalse(outageDetector.isOutage());
+    }
+}
@@ -0,0 +1,58 @@
+package com.rubin.insurance.policy_management_service.configuration.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    @Test
+    void testWrite_SetsCookieAndPinsRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(pinnedDuring(new MockHttpServletRequest("POST", "/policy/create"), response, filter));
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        assertEquals(5, cookie.getMaxAge());
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    @Test
+    void testRead_PinnedOnlyWithinWindow() throws Exception {
+        MockHttpServletRequest recent = new MockHttpServletRequest("GET", "/policy/1");
+        recent.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() + 3_000)));
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/policy/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() - 1)));
+
+        assertTrue(pinnedDuring(recent, new MockHttpServletResponse(), filter));
+        assertFalse(pinnedDuring(expired, new MockHttpServletResponse(), filter));
+        assertFalse(pinnedDuring(new MockHttpServletRequest("GET", "/policy/1"), new MockHttpServletResponse(), filter));
+    }
+
+    @Test
+    void testZeroWindow_Disabled() throws Exception {
+        ReadYourWritesFilter disabled = new ReadYourWritesFilter(Duration.ZERO);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(pinnedDuring(new MockHttpServletRequest("POST", "/policy/create"), response, disabled));
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    private static boolean pinnedDuring(MockHttpServletRequest request,
+                                        MockHttpServletResponse response,
+                                        ReadYourWritesFilter filter) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> pinned.set(ReadYourWrites.isPinned()));
+        return pinned.get();
+    }
+}
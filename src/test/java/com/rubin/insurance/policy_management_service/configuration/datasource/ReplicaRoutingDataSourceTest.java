@@ -0,0 +1,151 @@
+package com.rubin.insurance.policy_management_service.configuration.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+    private Connection primaryConnection;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replica1 = mock(DataSource.class);
+        replica2 = mock(DataSource.class);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(2), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testReadWriteTransaction_UsesPrimary() throws SQLException {
+        replicaWithLag(replica1, 0);
+        replicaWithLag(replica2, 0);
+        routing.checkReplicas();
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(1.0, connections("primary"));
+    }
+
+    @Test
+    void testReadOnlyTransaction_RoundRobinsOverHealthyReplicas() throws SQLException {
+        Connection c1 = replicaWithLag(replica1, 0);
+        Connection c2 = replicaWithLag(replica2, 0.5);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(c1, routing.getConnection());
+        assertSame(c2, routing.getConnection());
+        assertSame(c1, routing.getConnection());
+        assertEquals(1.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-2").gauge().value());
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesPrimaryBeforeFirstHealthCheck() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        verify(replica1, never()).getConnection();
+    }
+
+    @Test
+    void testLaggingReplica_IsTakenOutOfRotation() throws SQLException {
+        replicaWithLag(replica1, 30);
+        Connection c2 = replicaWithLag(replica2, 0);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(c2, routing.getConnection());
+        assertSame(c2, routing.getConnection());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-1").gauge().value());
+    }
+
+    @Test
+    void testReplicaNotStreaming_IsTakenOutOfRotation() throws SQLException {
+        // Replayed everything it received, but its WAL receiver is disconnected.
+        replicaWithLag(replica1, 0);
+        ResultSet notStreaming = replica1.getConnection().createStatement().executeQuery("");
+        when(notStreaming.wasNull()).thenReturn(true);
+        Connection c2 = replicaWithLag(replica2, 0);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(c2, routing.getConnection());
+        assertSame(c2, routing.getConnection());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-1").gauge().value());
+    }
+
+    @Test
+    void testReplicaConnectionFailure_FallsBackToPrimary() throws SQLException {
+        Map<String, DataSource> replicas = Map.of("replica-1", replica1);
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(2), new SimpleMeterRegistry());
+        replicaWithLag(replica1, 0);
+        routing.checkReplicas();
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(primaryConnection, routing.getConnection());
+        // Out of rotation after the first failure; only the next health check brings it back.
+        verify(replica1, times(2)).getConnection();
+    }
+
+    @Test
+    void testPinnedClient_ReadsFromPrimary() throws SQLException {
+        replicaWithLag(replica1, 0);
+        replicaWithLag(replica2, 0);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWrites.pin();
+
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    private Connection replicaWithLag(DataSource replica, double lagSeconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(lagSeconds);
+        return connection;
+    }
+
+    private double connections(String pool) {
+        return meterRegistry.get("datasource.routing.connections").tag("pool", pool).counter().count();
+    }
+}
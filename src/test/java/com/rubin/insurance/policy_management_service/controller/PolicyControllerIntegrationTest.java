@@ -2,24 +2,46 @@ package com.rubin.insurance.policy_management_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.TooManyRequestsException;
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyImportResult;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
 import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyType;
+import com.rubin.insurance.policy_management_service.service.ExportService;
+import com.rubin.insurance.policy_management_service.service.PolicyImportService;
 import com.rubin.insurance.policy_management_service.service.PolicyService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PolicyController.class)
@@ -33,6 +55,12 @@ class PolicyControllerIntegrationTest {
     @MockitoBean
     private PolicyService policyService;
 
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private PolicyImportService policyImportService;
+
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
@@ -301,4 +329,102 @@ class PolicyControllerIntegrationTest {
 
         verify(policyService, never()).savePolicy(any());
     }
+
+    @Test
+    void testCancelPolicy_ConcurrentModification() throws Exception {
+        when(policyService.cancelPolicy(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Policy.class, 1L));
+
+        mockMvc.perform(put("/policy/1/cancel"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("The resource was modified by another request, please retry"));
+    }
+
+    @Test
+    void testSearchPolicies_InvalidFilters() throws Exception {
+        mockMvc.perform(get("/policy/search").param("startDateFrom", "2025-13-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter startDateFrom"));
+        mockMvc.perform(get("/policy/search").param("status", "pending"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/policy/search").param("endDateFrom", "2026-06-01").param("endDateTo", "2026-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("endDateFrom should not be after endDateTo"));
+
+        verifyNoInteractions(policyService);
+    }
+
+    @Test
+    void testExportPolicies_StreamsAttachment() throws Exception {
+        when(exportService.exportPolicies(any(PolicySearchCriteria.class), eq(ExportFormat.CSV), eq(true)))
+                .thenReturn(out -> out.write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/policy/export")
+                        .param("format", "csv")
+                        .param("status", "active")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment; filename=\"policies-")))
+                .andExpect(content().string("id\r\n1\r\n"));
+        verify(exportService).exportPolicies(
+                new PolicySearchCriteria(null, PolicyStatus.ACTIVE, null, null, null, null, null), ExportFormat.CSV, true);
+    }
+
+    @Test
+    void testExportPolicies_RejectedWhenBusyOrInvalid() throws Exception {
+        when(exportService.exportPolicies(any(), any(), anyBoolean()))
+                .thenThrow(new TooManyRequestsException("Too many exports are running, please retry later"));
+
+        mockMvc.perform(get("/policy/export"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message").value("Too many exports are running, please retry later"));
+        mockMvc.perform(get("/policy/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(exportService).exportPolicies(any(), eq(ExportFormat.NDJSON), eq(false));
+    }
+
+    @Test
+    void testImportPolicies_ReadsGzipBody() throws Exception {
+        String csv = "customerName,customerEmail,policyType,coverageAmount,premiumAmount,startDate,endDate\n"
+                + "John Smith,john.smith@example.com,HEALTH,100000.00,500.00,2024-01-01,2025-01-01\n";
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+        }
+        when(policyImportService.importPolicies(any(InputStream.class))).thenAnswer(invocation -> {
+            String received = new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(csv, received);
+            return new PolicyImportResult("3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b", 1, 1, 0, null, true, 5);
+        });
+
+        mockMvc.perform(post("/policy/import")
+                        .contentType("text/csv")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzipped.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.complete").value(true));
+    }
+
+    @Test
+    void testGetImportErrors_ReturnsCsvAttachment() throws Exception {
+        when(policyImportService.getErrorReport("3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b"))
+                .thenReturn(out -> out.write("line,field,message\n2,row,bad\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/policy/import/3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b/errors"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b-errors.csv\""))
+                .andExpect(content().string("line,field,message\n2,row,bad\n"));
+    }
 }
@@ -0,0 +1,131 @@
+package com.rubin.insurance.policy_management_service.messaging.publisher;
+
+import com.rubin.insurance.policy_management_service.messaging.events.OutboxMessage;
+import com.rubin.insurance.policy_management_service.repository.EventOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+
+    @Mock
+    private EventOutboxRepository eventOutboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRelay_SendsFullBatchesUntilAShortOneAndDeletesAcknowledged() {
+        when(eventOutboxRepository.claim(2, CLAIM_TIMEOUT))
+                .thenReturn(List.of(message(1), message(2)), List.of(message(3)));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(acknowledged());
+        when(eventOutboxRepository.oldestAgeSeconds()).thenReturn(1.5);
+
+        relay(true, 4).relay();
+
+        InOrder inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate).send("policy.events", "1", "{\"entityId\":\"1\"}");
+        inOrder.verify(kafkaTemplate).send("policy.events", "2", "{\"entityId\":\"2\"}");
+        inOrder.verify(kafkaTemplate).send("policy.events", "3", "{\"entityId\":\"3\"}");
+        verify(eventOutboxRepository, times(2)).claim(2, CLAIM_TIMEOUT);
+        verify(eventOutboxRepository).delete(List.of(1L, 2L));
+        verify(eventOutboxRepository).delete(List.of(3L));
+        assertEquals(3.0, meterRegistry.get("outbox.relay.events").tag("outcome", "published").counter().count());
+        assertEquals(1.5, meterRegistry.get("outbox.relay.lag").gauge().value());
+        assertEquals(3, meterRegistry.get("outbox.relay.delay").summary().count());
+    }
+
+    @Test
+    void testRelay_WaitsForTheOldestBatchOnceTheInFlightLimitIsReached() {
+        when(eventOutboxRepository.claim(2, CLAIM_TIMEOUT))
+                .thenReturn(List.of(message(1), message(2)), List.of(message(3), message(4)), List.of());
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(acknowledged());
+
+        relay(true, 1).relay();
+
+        InOrder inOrder = inOrder(eventOutboxRepository);
+        inOrder.verify(eventOutboxRepository).claim(2, CLAIM_TIMEOUT);
+        inOrder.verify(eventOutboxRepository).delete(List.of(1L, 2L));
+        inOrder.verify(eventOutboxRepository).claim(2, CLAIM_TIMEOUT);
+        inOrder.verify(eventOutboxRepository).delete(List.of(3L, 4L));
+        inOrder.verify(eventOutboxRepository).claim(2, CLAIM_TIMEOUT);
+    }
+
+    @Test
+    void testRelay_KeepsSeveralBatchesInFlight() {
+        when(eventOutboxRepository.claim(2, CLAIM_TIMEOUT))
+                .thenReturn(List.of(message(1), message(2)), List.of(message(3), message(4)), List.of());
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(acknowledged());
+
+        relay(true, 4).relay();
+
+        InOrder inOrder = inOrder(eventOutboxRepository);
+        inOrder.verify(eventOutboxRepository, times(3)).claim(2, CLAIM_TIMEOUT);
+        inOrder.verify(eventOutboxRepository).delete(List.of(1L, 2L));
+        inOrder.verify(eventOutboxRepository).delete(List.of(3L, 4L));
+    }
+
+    @Test
+    void testRelay_RefusedEventsKeepTheirClaim() {
+        when(eventOutboxRepository.claim(2, CLAIM_TIMEOUT)).thenReturn(List.of(message(1), message(2)), List.of());
+        when(kafkaTemplate.send("policy.events", "1", "{\"entityId\":\"1\"}")).thenReturn(acknowledged());
+        when(kafkaTemplate.send("policy.events", "2", "{\"entityId\":\"2\"}"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay(true, 4).relay();
+
+        verify(eventOutboxRepository).delete(List.of(1L));
+        assertEquals(1.0, meterRegistry.get("outbox.relay.events").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void testRelay_ClaimFailureStillSettlesBatchesInFlight() {
+        when(eventOutboxRepository.claim(2, CLAIM_TIMEOUT))
+                .thenReturn(List.of(message(1), message(2)))
+                .thenThrow(new IllegalStateException("connection lost"));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(acknowledged());
+
+        relay(true, 4).relay();
+
+        verify(eventOutboxRepository).delete(List.of(1L, 2L));
+    }
+
+    @Test
+    void testRelay_DisabledDoesNothing() {
+        relay(false, 4).relay();
+
+        verifyNoInteractions(eventOutboxRepository, kafkaTemplate);
+    }
+
+    private OutboxRelay relay(boolean enabled, int maxInFlightBatches) {
+        return new OutboxRelay(eventOutboxRepository, kafkaTemplate, meterRegistry, enabled, 2, 10,
+                maxInFlightBatches, CLAIM_TIMEOUT, Duration.ofSeconds(5));
+    }
+
+    private static OutboxMessage message(long id) {
+        return new OutboxMessage(id, "policy.events", String.valueOf(id), "{\"entityId\":\"" + id + "\"}", 0.2);
+    }
+
+    private static CompletableFuture<SendResult<String, String>> acknowledged() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimPartitionMaintainerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private YearMonth current;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        current = YearMonth.now();
+    }
+
+    @Test
+    void testPartitionNames_RoundTripAndIgnoreOthers() {
+        assertEquals("claims_p2025_03", ClaimPartitionMaintainer.partitionName(YearMonth.of(2025, 3)));
+        assertEquals(YearMonth.of(2025, 3), ClaimPartitionMaintainer.monthOf("claims_p2025_03"));
+        assertNull(ClaimPartitionMaintainer.monthOf("claims_default"));
+        assertNull(ClaimPartitionMaintainer.monthOf("claims_p2025_3x"));
+        assertEquals("CREATE TABLE IF NOT EXISTS claims_p2025_12 PARTITION OF claims FOR VALUES FROM ('2025-12-01') TO ('2026-01-01')",
+                ClaimPartitionMaintainer.createPartitionSql(YearMonth.of(2025, 12)));
+    }
+
+    @Test
+    void testMaintain_CreatesOnlyMissingMonthsAhead() {
+        when(jdbcTemplate.queryForList(ClaimPartitionMaintainer.LIST_PARTITIONS, String.class))
+                .thenReturn(List.of("claims_default", name(current), name(current.plusMonths(1))));
+
+        maintainer(true, 0).maintain();
+
+        verify(jdbcTemplate).execute(ClaimPartitionMaintainer.createPartitionSql(current.plusMonths(2)));
+        verify(jdbcTemplate).execute(ClaimPartitionMaintainer.createPartitionSql(current.plusMonths(3)));
+        verify(jdbcTemplate, times(2)).execute(any(String.class));
+        assertEquals(2.0, meterRegistry.get("claims.partitions.created").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMaintain_ArchivesExpiredPartitionsWithoutOpenClaims() {
+        String expired = name(current.minusMonths(13));
+        String stillOpen = name(current.minusMonths(14));
+        String kept = name(current.minusMonths(12));
+        when(jdbcTemplate.queryForList(ClaimPartitionMaintainer.LIST_PARTITIONS, String.class))
+                .thenReturn(List.of("claims_default", stillOpen, expired, kept, name(current), name(current.plusMonths(1)),
+                        name(current.plusMonths(2)), name(current.plusMonths(3))));
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + stillOpen + " WHERE status = 'SUBMITTED')", Boolean.class))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + expired + " WHERE status = 'SUBMITTED')", Boolean.class))
+                .thenReturn(false);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        maintainer(true, 12).maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE claims DETACH PARTITION " + expired);
+        verify(jdbcTemplate).execute("ALTER TABLE " + expired + " SET SCHEMA claims_archive");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE claims DETACH PARTITION " + stillOpen);
+        verify(jdbcTemplate, never()).execute("ALTER TABLE claims DETACH PARTITION " + kept);
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        assertEquals(1.0, meterRegistry.get("claims.partitions.archived").counter().count());
+    }
+
+    @Test
+    void testMaintain_DisabledDoesNotTouchTheDatabase() {
+        maintainer(false, 12).maintain();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    private ClaimPartitionMaintainer maintainer(boolean enabled, int retentionMonths) {
+        return new ClaimPartitionMaintainer(jdbcTemplate, transactionTemplate, meterRegistry,
+                enabled, 3, retentionMonths, "claims_archive");
+    }
+
+    private static String name(YearMonth month) {
+        return ClaimPartitionMaintainer.partitionName(month);
+    }
+}
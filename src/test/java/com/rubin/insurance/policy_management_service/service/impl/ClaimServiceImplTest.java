@@ -1,9 +1,19 @@
 package com.rubin.insurance.policy_management_service.service.impl;
 
+import com.rubin.insurance.policy_management_service.configuration.cache.ClaimListCache;
+import com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard;
+import com.rubin.insurance.policy_management_service.configuration.datasource.PrimaryReads;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.BusinessException;
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.NotFoundException;
+import com.rubin.insurance.policy_management_service.model.dto.BulkItemResult;
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimRequest;
 import com.rubin.insurance.policy_management_service.model.dto.ClaimResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchResponse;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimSearchResult;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimStatusUpdate;
 import com.rubin.insurance.policy_management_service.model.dto.UpdateClaimStatusDTO;
 import com.rubin.insurance.policy_management_service.messaging.events.ClaimEventType;
 import com.rubin.insurance.policy_management_service.model.mapper.ClaimMapper;
@@ -11,23 +21,35 @@ import com.rubin.insurance.policy_management_service.messaging.publisher.ClaimEv
 import com.rubin.insurance.policy_management_service.model.entity.claim.Claim;
 import com.rubin.insurance.policy_management_service.model.entity.claim.ClaimStatus;
 import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyClaimTotals;
 import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
 import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyType;
 import com.rubin.insurance.policy_management_service.repository.ClaimRepository;
+import com.rubin.insurance.policy_management_service.repository.ClaimSearchRepository;
+import com.rubin.insurance.policy_management_service.repository.PolicyClaimTotalsRepository;
 import com.rubin.insurance.policy_management_service.repository.PolicyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,6 +70,30 @@ class ClaimServiceImplTest {
     @Mock
     private ClaimEventPublisher claimEventPublisher;
 
+    @Mock
+    private MissingIdGuard missingIdGuard;
+
+    @Mock
+    private ClaimListCache claimListCache;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PrimaryReads primaryReads;
+
+    @Mock
+    private PolicyClaimTotalsRepository policyClaimTotalsRepository;
+
+    @Mock
+    private ClaimSearchRepository claimSearchRepository;
+
     @InjectMocks
     private ClaimServiceImpl claimService;
 
@@ -58,6 +104,8 @@ class ClaimServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(claimService, "bulkChunkSize", 500);
+
         // Setup active policy
         activePolicy = Policy.builder()
                 .id(1L)
@@ -105,11 +153,129 @@ class ClaimServiceImplTest {
         );
     }
 
+    // ============ createClaims Tests ============
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateClaims_LoadsPoliciesOnceAndReportsEachClaim() {
+        ClaimRequest overCoverage = new ClaimRequest(1L, "Surgery", new BigDecimal("200000.00"), LocalDate.of(2024, 6, 15));
+        ClaimRequest unknownPolicy = new ClaimRequest(2L, "Water damage", new BigDecimal("1000.00"), LocalDate.of(2024, 6, 15));
+        when(validator.validate(any(ClaimRequest.class))).thenReturn(Set.of());
+        when(policyRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(activePolicy));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        PolicyClaimTotals totals = new PolicyClaimTotals(1L);
+        when(policyClaimTotalsRepository.lockAll(Set.of(1L))).thenReturn(List.of(totals));
+        when(claimMapper.toEntity(claimRequest)).thenReturn(claimEntity);
+        when(claimRepository.saveAll(List.of(claimEntity))).thenReturn(List.of(claimEntity));
+        when(claimMapper.toDTO(claimEntity)).thenReturn(claimResponse);
+
+        BulkResponse<ClaimResponse> result = claimService.createClaims(List.of(claimRequest, overCoverage, unknownPolicy));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(2, result.failed());
+        assertEquals(claimResponse, result.results().get(0).data());
+        assertEquals(BulkItemResult.Status.FAILED, result.results().get(1).status());
+        assertEquals("Claim amount cannot exceed policy coverage amount!", result.results().get(1).error());
+        assertEquals("Policy not found", result.results().get(2).error());
+        assertEquals(1, totals.getOpenClaims());
+        assertEquals(new BigDecimal("5000.00"), totals.getSubmittedAmount());
+
+        verify(policyClaimTotalsRepository).createMissing(Set.of(1L));
+        verify(policyRepository, never()).findById(any());
+        verify(missingIdGuard).recordMissing(MissingIdGuard.IdSpace.POLICY, 2L);
+        verify(claimRepository).flush();
+        verify(missingIdGuard).registerCreated(MissingIdGuard.IdSpace.CLAIM, List.of(1L));
+        verify(claimListCache).onClaimsSaved(List.of(claimResponse));
+        verify(claimEventPublisher).publishAll(ClaimEventType.CLAIM_SUBMITTED, List.of(claimEntity));
+        verify(claimEventPublisher, never()).publish(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateClaims_RefusesClaimsOnceTheBatchUsesUpTheCoverage() {
+        ClaimRequest large = new ClaimRequest(1L, "Surgery", new BigDecimal("60000.00"), LocalDate.of(2024, 6, 15));
+        ClaimRequest next = new ClaimRequest(1L, "Follow-up", new BigDecimal("30000.00"), LocalDate.of(2024, 6, 20));
+        Claim largeEntity = Claim.builder().id(2L).policy(activePolicy).claimAmount(large.claimAmount()).status(ClaimStatus.SUBMITTED).build();
+        PolicyClaimTotals totals = new PolicyClaimTotals(1L);
+        totals.submit(new BigDecimal("20000.00"));
+        when(validator.validate(any(ClaimRequest.class))).thenReturn(Set.of());
+        when(policyRepository.findAllById(Set.of(1L))).thenReturn(List.of(activePolicy));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        when(policyClaimTotalsRepository.lockAll(Set.of(1L))).thenReturn(List.of(totals));
+        when(claimMapper.toEntity(large)).thenReturn(largeEntity);
+        when(claimRepository.saveAll(List.of(largeEntity))).thenReturn(List.of(largeEntity));
+
+        BulkResponse<ClaimResponse> result = claimService.createClaims(List.of(large, next));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(ClaimServiceImpl.EXCEEDS_COVERAGE, result.results().get(1).error());
+        assertEquals(2, totals.getOpenClaims());
+        assertEquals(new BigDecimal("80000.00"), totals.getSubmittedAmount());
+        verify(claimMapper, never()).toEntity(next);
+    }
+
+    @Test
+    void testCreateClaims_KnownMissingPolicySkipsTheQuery() {
+        when(validator.validate(claimRequest)).thenReturn(Set.of());
+        when(missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 1L)).thenReturn(true);
+
+        BulkResponse<ClaimResponse> result = claimService.createClaims(List.of(claimRequest));
+
+        assertEquals("Policy not found", result.results().getFirst().error());
+        verifyNoInteractions(policyRepository, claimRepository, transactionTemplate, claimEventPublisher);
+    }
+
+    // ============ updateStatuses Tests ============
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateStatuses_AppliesValidUpdatesAndReportsTheRest() {
+        Claim approved = Claim.builder().id(2L).policy(activePolicy).status(ClaimStatus.APPROVED).build();
+        List<ClaimStatusUpdate> updates = List.of(
+                new ClaimStatusUpdate(1L, ClaimStatus.APPROVED, null),
+                new ClaimStatusUpdate(2L, ClaimStatus.REJECTED, "Duplicate claim"),
+                new ClaimStatusUpdate(3L, ClaimStatus.REJECTED, " "),
+                new ClaimStatusUpdate(1L, ClaimStatus.REJECTED, "Changed my mind"),
+                new ClaimStatusUpdate(4L, ClaimStatus.APPROVED, null));
+        when(validator.validate(any(ClaimStatusUpdate.class))).thenReturn(Set.of());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        when(claimRepository.findAllById(any())).thenReturn(List.of(claimEntity, approved));
+        when(claimMapper.toDTO(claimEntity)).thenReturn(claimResponse);
+        PolicyClaimTotals totals = new PolicyClaimTotals(1L);
+        totals.submit(new BigDecimal("5000.00"));
+        when(policyClaimTotalsRepository.lockAll(Set.of(1L))).thenReturn(List.of(totals));
+
+        BulkResponse<ClaimResponse> result = claimService.updateStatuses(updates);
+
+        assertEquals(1, result.succeeded());
+        assertEquals(ClaimStatus.APPROVED, claimEntity.getStatus());
+        assertEquals(claimResponse, result.results().get(0).data());
+        assertEquals("Approved or rejected claims cannot change status.", result.results().get(1).error());
+        assertNull(approved.getRejectionReason());
+        assertEquals("Claim status cannot be updated without reject description", result.results().get(2).error());
+        assertEquals("Claim appears more than once in the batch", result.results().get(3).error());
+        assertEquals("Claim not found", result.results().get(4).error());
+        assertEquals(0, totals.getOpenClaims());
+        assertEquals(0, BigDecimal.ZERO.compareTo(totals.getSubmittedAmount()));
+        assertEquals(new BigDecimal("5000.00"), totals.getApprovedAmount());
+
+        verify(claimRepository).findAllById(argThat(ids -> List.of(1L, 2L, 4L).equals(List.copyOf((Collection<Long>) ids))));
+        verify(claimRepository).flush();
+        verify(claimRepository, never()).save(any());
+        verify(missingIdGuard).recordMissing(MissingIdGuard.IdSpace.CLAIM, 4L);
+        verify(claimListCache).onClaimsSaved(List.of(claimResponse));
+        verify(claimEventPublisher).publishAll(Map.of(ClaimEventType.CLAIM_APPROVED, List.of(claimEntity)));
+    }
+
     // ============ createClaim Tests ============
 
     @Test
     void testCreateClaim_Success() {
         when(policyRepository.findById(1L)).thenReturn(Optional.of(activePolicy));
+        when(policyClaimTotalsRepository.submitWithinCoverage(1L, new BigDecimal("5000.00"), new BigDecimal("100000.00"))).thenReturn(1);
         when(claimMapper.toEntity(claimRequest)).thenReturn(claimEntity);
         when(claimRepository.save(claimEntity)).thenReturn(claimEntity);
         when(claimMapper.toDTO(claimEntity)).thenReturn(claimResponse);
@@ -126,6 +292,21 @@ class ClaimServiceImplTest {
         verify(claimRepository).save(claimEntity);
         verify(claimMapper).toDTO(claimEntity);
         verify(claimEventPublisher).publish(ClaimEventType.CLAIM_SUBMITTED, claimEntity);
+        verify(claimListCache).onClaimSaved(claimResponse);
+    }
+
+    @Test
+    void testCreateClaim_CumulativeClaimsExceedCoverage() {
+        when(policyRepository.findById(1L)).thenReturn(Optional.of(activePolicy));
+        when(policyClaimTotalsRepository.submitWithinCoverage(1L, new BigDecimal("5000.00"), new BigDecimal("100000.00"))).thenReturn(0);
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+            claimService.createClaim(claimRequest)
+        );
+
+        assertEquals(ClaimServiceImpl.EXCEEDS_COVERAGE, exception.getMessage());
+        verify(claimRepository, never()).save(any());
+        verify(claimEventPublisher, never()).publish(any(), any());
     }
 
     @Test
@@ -243,8 +424,7 @@ class ClaimServiceImplTest {
 
     @Test
     void testGetClaimById_Success() {
-        when(claimRepository.findById(1L)).thenReturn(Optional.of(claimEntity));
-        when(claimMapper.toDTO(claimEntity)).thenReturn(claimResponse);
+        when(claimRepository.findResponseById(1L)).thenReturn(Optional.of(claimResponse));
 
         ClaimResponse result = claimService.getClaimById(1L);
 
@@ -252,37 +432,53 @@ class ClaimServiceImplTest {
         assertEquals(1L, result.id());
         assertEquals("CLM-2024-000001", result.claimNumber());
 
-        verify(claimRepository).findById(1L);
-        verify(claimMapper).toDTO(claimEntity);
+        verify(claimRepository).findResponseById(1L);
+        verify(claimRepository, never()).findById(any());
+        verify(claimMapper, never()).toDTO(any());
     }
 
     @Test
     void testGetClaimById_NotFound() {
-        when(claimRepository.findById(999L)).thenReturn(Optional.empty());
+        when(claimRepository.findResponseById(999L)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
             claimService.getClaimById(999L);
         });
         assertEquals("Claim not found", exception.getMessage());
 
-        verify(claimRepository).findById(999L);
-        verify(claimMapper, never()).toDTO(any());
+        verify(claimRepository).findResponseById(999L);
+        verify(missingIdGuard).recordMissing(MissingIdGuard.IdSpace.CLAIM, 999L);
+    }
+
+    @Test
+    void testGetClaimById_MissOnReplicaIsRecheckedOnPrimary() {
+        when(claimRepository.findResponseById(1L)).thenReturn(Optional.empty(), Optional.of(claimResponse));
+        when(primaryReads.mayBeStale()).thenReturn(true);
+        when(primaryReads.read(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+
+        ClaimResponse result = claimService.getClaimById(1L);
+
+        assertEquals(1L, result.id());
+        verify(claimRepository, times(2)).findResponseById(1L);
+        verify(missingIdGuard, never()).recordMissing(any(), any());
+    }
+
+    @Test
+    void testGetClaimById_KnownMissingSkipsRepository() {
+        when(missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.CLAIM, 999L)).thenReturn(true);
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> {
+            claimService.getClaimById(999L);
+        });
+        assertEquals("Claim not found", exception.getMessage());
+
+        verify(claimRepository, never()).findResponseById(any());
     }
 
     // ============ getClaimsByPolicyId Tests ============
 
     @Test
     void testGetClaimsByPolicyId_WithMultipleClaims() {
-        Claim claim2 = Claim.builder()
-                .id(2L)
-                .policy(activePolicy)
-                .claimNumber("CLM-2024-000002")
-                .description("Another claim")
-                .claimAmount(new BigDecimal("3000.00"))
-                .incidentDate(LocalDate.of(2024, 7, 20))
-                .status(ClaimStatus.SUBMITTED)
-                .build();
-
         ClaimResponse claimResponse2 = new ClaimResponse(
                 2L,
                 1L,
@@ -295,24 +491,41 @@ class ClaimServiceImplTest {
                 Instant.now()
         );
 
-        List<Claim> claims = List.of(claimEntity, claim2);
-
-        when(claimRepository.findClaimsByPolicyId(1L)).thenReturn(claims);
-        when(claimMapper.toDTO(claimEntity)).thenReturn(claimResponse);
-        when(claimMapper.toDTO(claim2)).thenReturn(claimResponse2);
+        when(claimRepository.findResponsesByPolicyId(1L)).thenReturn(List.of(claimResponse, claimResponse2));
 
         List<ClaimResponse> result = claimService.getClaimsByPolicyId(1L);
 
         assertNotNull(result);
         assertEquals(2, result.size());
 
-        verify(claimRepository).findClaimsByPolicyId(1L);
-        verify(claimMapper, times(2)).toDTO(any(Claim.class));
+        verify(claimRepository).findResponsesByPolicyId(1L);
+        verify(policyRepository, never()).existsById(any());
+        verify(claimMapper, never()).toDTO(any());
+        verify(claimListCache).put(1L, List.of(claimResponse, claimResponse2));
+    }
+
+    @Test
+    void testGetClaimsByPolicyId_CachedSkipsRepositories() {
+        when(claimListCache.get(1L)).thenReturn(Optional.of(List.of(claimResponse)));
+
+        List<ClaimResponse> result = claimService.getClaimsByPolicyId(1L);
+
+        assertEquals(List.of(claimResponse), result);
+        verifyNoInteractions(claimRepository, policyRepository, missingIdGuard);
+    }
+
+    @Test
+    void testGetClaimsByPolicyId_KnownMissingPolicy() {
+        when(missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 999L)).thenReturn(true);
+
+        assertThrows(NotFoundException.class, () -> claimService.getClaimsByPolicyId(999L));
+
+        verifyNoInteractions(claimRepository, policyRepository);
     }
 
     @Test
     void testGetClaimsByPolicyId_EmptyList_PolicyExists() {
-        when(claimRepository.findClaimsByPolicyId(1L)).thenReturn(Collections.emptyList());
+        when(claimRepository.findResponsesByPolicyId(1L)).thenReturn(Collections.emptyList());
         when(policyRepository.existsById(1L)).thenReturn(true);
 
         List<ClaimResponse> result = claimService.getClaimsByPolicyId(1L);
@@ -320,14 +533,14 @@ class ClaimServiceImplTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(claimRepository).findClaimsByPolicyId(1L);
+        verify(claimRepository).findResponsesByPolicyId(1L);
         verify(policyRepository).existsById(1L);
-        verify(claimMapper, never()).toDTO(any());
+        verify(claimListCache).put(1L, List.of());
     }
 
     @Test
     void testGetClaimsByPolicyId_PolicyNotFound() {
-        when(claimRepository.findClaimsByPolicyId(999L)).thenReturn(Collections.emptyList());
+        when(claimRepository.findResponsesByPolicyId(999L)).thenReturn(Collections.emptyList());
         when(policyRepository.existsById(999L)).thenReturn(false);
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
@@ -335,8 +548,34 @@ class ClaimServiceImplTest {
         });
         assertEquals("Policy with id 999 not found", exception.getMessage());
 
-        verify(claimRepository).findClaimsByPolicyId(999L);
+        verify(claimRepository).findResponsesByPolicyId(999L);
         verify(policyRepository).existsById(999L);
+        verify(missingIdGuard).recordMissing(MissingIdGuard.IdSpace.POLICY, 999L);
+        verify(claimListCache, never()).put(any(), any());
+    }
+
+    // ============ searchClaims Tests ============
+
+    @Test
+    void testSearchClaims_ClampsLimit() {
+        ClaimSearchCriteria criteria = new ClaimSearchCriteria("collision", ClaimStatus.SUBMITTED, 1L, null, null);
+        ClaimSearchResponse hits = new ClaimSearchResponse(
+                List.of(new ClaimSearchResult(claimResponse, 0.2, "Vehicle <b>collision</b>")), true);
+        when(claimSearchRepository.search(criteria, ClaimServiceImpl.MAX_SEARCH_RESULTS)).thenReturn(hits);
+
+        assertEquals(hits, claimService.searchClaims(criteria, 10_000));
+        claimService.searchClaims(criteria, 0);
+
+        verify(claimSearchRepository).search(criteria, 1);
+        verifyNoInteractions(claimRepository, claimListCache);
+    }
+
+    @Test
+    void testSearchClaims_InvalidCriteria() {
+        assertThrows(BadRequestException.class, () -> new ClaimSearchCriteria(" ", null, null, null, null));
+        assertThrows(BadRequestException.class, () -> new ClaimSearchCriteria("x".repeat(201), null, null, null, null));
+        assertThrows(BadRequestException.class, () -> new ClaimSearchCriteria("collision", null, null,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
     }
 
     // ============ updateStatus Tests ============
@@ -368,7 +607,7 @@ class ClaimServiceImplTest {
         );
 
         when(claimRepository.findById(1L)).thenReturn(Optional.of(claimEntity));
-        when(claimRepository.save(claimEntity)).thenReturn(approvedClaim);
+        when(claimRepository.saveAndFlush(claimEntity)).thenReturn(approvedClaim);
         when(claimMapper.toDTO(approvedClaim)).thenReturn(approvedResponse);
 
         ClaimResponse result = claimService.updateStatus(1L, updateDTO);
@@ -377,7 +616,8 @@ class ClaimServiceImplTest {
         assertEquals("APPROVED", result.status());
 
         verify(claimRepository).findById(1L);
-        verify(claimRepository).save(claimEntity);
+        verify(claimRepository).saveAndFlush(claimEntity);
+        verify(policyClaimTotalsRepository).decide(1L, new BigDecimal("5000.00"), new BigDecimal("5000.00"));
         verify(claimEventPublisher).publish(ClaimEventType.CLAIM_APPROVED, approvedClaim);
         verify(claimMapper).toDTO(approvedClaim);
     }
@@ -413,7 +653,7 @@ class ClaimServiceImplTest {
         );
 
         when(claimRepository.findById(1L)).thenReturn(Optional.of(claimEntity));
-        when(claimRepository.save(claimEntity)).thenReturn(rejectedClaim);
+        when(claimRepository.saveAndFlush(claimEntity)).thenReturn(rejectedClaim);
         when(claimMapper.toDTO(rejectedClaim)).thenReturn(rejectedResponse);
 
         ClaimResponse result = claimService.updateStatus(1L, updateDTO);
@@ -423,7 +663,7 @@ class ClaimServiceImplTest {
         assertEquals("Insufficient documentation", result.rejectionReason());
 
         verify(claimRepository).findById(1L);
-        verify(claimRepository).save(claimEntity);
+        verify(claimRepository).saveAndFlush(claimEntity);
         verify(claimEventPublisher).publish(ClaimEventType.CLAIM_REJECTED, rejectedClaim);
         verify(claimMapper).toDTO(rejectedClaim);
     }
@@ -433,7 +673,7 @@ class ClaimServiceImplTest {
         UpdateClaimStatusDTO updateDTO = new UpdateClaimStatusDTO(ClaimStatus.SUBMITTED, null);
 
         when(claimRepository.findById(1L)).thenReturn(Optional.of(claimEntity));
-        when(claimRepository.save(claimEntity)).thenReturn(claimEntity);
+        when(claimRepository.saveAndFlush(claimEntity)).thenReturn(claimEntity);
         when(claimMapper.toDTO(claimEntity)).thenReturn(claimResponse);
 
         ClaimResponse result = claimService.updateStatus(1L, updateDTO);
@@ -442,7 +682,7 @@ class ClaimServiceImplTest {
         assertEquals("SUBMITTED", result.status());
 
         verify(claimRepository).findById(1L);
-        verify(claimRepository).save(claimEntity);
+        verify(claimRepository).saveAndFlush(claimEntity);
         verify(claimEventPublisher, never()).publish(any(), any()); // No event for SUBMITTED
         verify(claimMapper).toDTO(claimEntity);
     }
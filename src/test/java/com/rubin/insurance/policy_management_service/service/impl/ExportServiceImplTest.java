@@ -0,0 +1,107 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.TooManyRequestsException;
+import com.rubin.insurance.policy_management_service.model.dto.ClaimExportCriteria;
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
+import com.rubin.insurance.policy_management_service.repository.ExportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private ExportRepository exportRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClaimExportCriteria criteria = new ClaimExportCriteria(null, 1L, null, null);
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.getTransactionManager()).thenReturn(transactionManager);
+        exportService = new ExportServiceImpl(exportRepository, transactionTemplate, JsonMapper.builder().build(),
+                meterRegistry, 1);
+    }
+
+    @Test
+    void testExportClaims_LimitsConcurrentExportsUntilBodyIsWritten() throws IOException {
+        StreamingResponseBody body = exportService.exportClaims(criteria, ExportFormat.CSV, false);
+
+        assertThrows(TooManyRequestsException.class, () -> exportService.exportClaims(criteria, ExportFormat.CSV, false));
+        assertEquals(1.0, meterRegistry.get("export.active").gauge().value());
+
+        body.writeTo(new ByteArrayOutputStream());
+
+        assertEquals(0.0, meterRegistry.get("export.active").gauge().value());
+        assertNotNull(exportService.exportClaims(criteria, ExportFormat.CSV, false));
+    }
+
+    @Test
+    void testExportClaims_FailureReleasesSlot() {
+        when(exportRepository.streamClaims(eq(criteria), any())).thenThrow(new IllegalStateException("boom"));
+        StreamingResponseBody body = exportService.exportClaims(criteria, ExportFormat.NDJSON, false);
+
+        assertThrows(IllegalStateException.class, () -> body.writeTo(new ByteArrayOutputStream()));
+
+        assertNotNull(exportService.exportClaims(criteria, ExportFormat.NDJSON, false));
+    }
+
+    @Test
+    void testExportClaims_GzipStreamsInReadOnlyTransaction() throws IOException {
+        when(exportRepository.streamClaims(eq(criteria), any())).thenAnswer(invocation -> {
+            ExportWriter writer = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+            when(rs.getMetaData()).thenReturn(metaData);
+            when(metaData.getColumnCount()).thenReturn(1);
+            when(metaData.getColumnLabel(1)).thenReturn("id");
+            when(metaData.getColumnType(1)).thenReturn(Types.BIGINT);
+            when(rs.next()).thenReturn(true, false);
+            when(rs.getLong(1)).thenReturn(7L);
+            return writer.extractData(rs);
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportClaims(criteria, ExportFormat.CSV, true).writeTo(out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("id\r\n7\r\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        assertEquals(1.0, meterRegistry.get("export.rows").tag("dataset", "claims").counter().count());
+    }
+}
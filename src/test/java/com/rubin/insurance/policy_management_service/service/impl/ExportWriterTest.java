@@ -0,0 +1,94 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.model.dto.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportWriterTest {
+
+    @Mock
+    private ResultSet rs;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final AtomicLong progress = new AtomicLong();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(5);
+        when(metaData.getColumnLabel(anyInt())).thenReturn("id", "claimAmount", "incidentDate", "createdAt", "description");
+        when(metaData.getColumnType(anyInt())).thenReturn(Types.BIGINT, Types.NUMERIC, Types.DATE, Types.TIMESTAMP, Types.VARCHAR);
+    }
+
+    @Test
+    void testNdjson_OneTypedObjectPerLine() throws SQLException {
+        givenRows();
+
+        Long rows = ExportWriter.of(ExportFormat.NDJSON, out, JsonMapper.builder().build(), progress::addAndGet).extractData(rs);
+
+        assertEquals(2L, rows);
+        assertEquals(2L, progress.get());
+        assertEquals("""
+                {"id":1,"claimAmount":5000.00,"incidentDate":"2025-01-15","createdAt":"2025-02-09T10:30:00Z","description":"Rear \\"collision\\", whiplash"}
+                {"id":2,"claimAmount":null,"incidentDate":null,"createdAt":null,"description":null}
+                """, output());
+    }
+
+    @Test
+    void testCsv_HeaderAndQuotedFields() throws SQLException {
+        givenRows();
+
+        Long rows = ExportWriter.of(ExportFormat.CSV, out, JsonMapper.builder().build(), progress::addAndGet).extractData(rs);
+
+        assertEquals(2L, rows);
+        assertEquals("id,claimAmount,incidentDate,createdAt,description\r\n"
+                + "1,5000.00,2025-01-15,2025-02-09T10:30:00Z,\"Rear \"\"collision\"\", whiplash\"\r\n"
+                + "2,,,,\r\n", output());
+    }
+
+    @Test
+    void testCsv_EmptyResultStillHasHeader() throws SQLException {
+        when(rs.next()).thenReturn(false);
+
+        Long rows = ExportWriter.of(ExportFormat.CSV, out, JsonMapper.builder().build(), progress::addAndGet).extractData(rs);
+
+        assertEquals(0L, rows);
+        assertEquals("id,claimAmount,incidentDate,createdAt,description\r\n", output());
+    }
+
+    private void givenRows() throws SQLException {
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getLong(1)).thenReturn(1L, 2L);
+        when(rs.getBigDecimal(2)).thenReturn(new BigDecimal("5000.00"), (BigDecimal) null);
+        when(rs.getObject(3, LocalDate.class)).thenReturn(LocalDate.of(2025, 1, 15), (LocalDate) null);
+        when(rs.getTimestamp(4)).thenReturn(Timestamp.from(Instant.parse("2025-02-09T10:30:00Z")), (Timestamp) null);
+        when(rs.getString(5)).thenReturn("Rear \"collision\", whiplash", (String) null);
+    }
+
+    private String output() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.configuration.cache.PolicyPageCache;
+import com.rubin.insurance.policy_management_service.messaging.events.PolicyEventType;
+import com.rubin.insurance.policy_management_service.messaging.publisher.PolicyEventPublisher;
+import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
+import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyExpirySweeperTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PolicyPageCache policyPageCache;
+
+    @Mock
+    private PolicyEventPublisher policyEventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager(PolicyServiceImpl.CACHE_POLICY_BY_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSweep_ExpiresInBatchesUntilAShortBatch() {
+        List<Policy> first = List.of(expired(1L), expired(2L));
+        List<Policy> second = List.of(expired(3L));
+        when(jdbcTemplate.query(eq(PolicyExpirySweeper.EXPIRE_DUE_POLICIES), any(RowMapper.class), eq(LocalDate.now()), eq(2)))
+                .thenReturn(first, second);
+        runTransactionsInline();
+        cacheManager.getCache(PolicyServiceImpl.CACHE_POLICY_BY_ID).put(1L, "cached");
+        cacheManager.getCache(PolicyServiceImpl.CACHE_POLICY_BY_ID).put(4L, "cached");
+
+        sweeper(true).sweep();
+
+        verify(jdbcTemplate, times(2)).query(any(String.class), any(RowMapper.class), any(), any());
+        assertNull(cacheManager.getCache(PolicyServiceImpl.CACHE_POLICY_BY_ID).get(1L));
+        assertNotNull(cacheManager.getCache(PolicyServiceImpl.CACHE_POLICY_BY_ID).get(4L));
+        verify(policyPageCache).onPoliciesUpdated(List.of(1L, 2L));
+        verify(policyPageCache).onPoliciesUpdated(List.of(3L));
+        verify(policyEventPublisher).publishAll(PolicyEventType.POLICY_EXPIRED, first);
+        verify(policyEventPublisher).publishAll(PolicyEventType.POLICY_EXPIRED, second);
+        assertEquals(3.0, meterRegistry.get("policy.expiry.expired").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSweep_NothingDuePublishesNothing() {
+        when(jdbcTemplate.query(any(String.class), any(RowMapper.class), any(), any())).thenReturn(List.of());
+        runTransactionsInline();
+
+        sweeper(true).sweep();
+
+        verifyNoInteractions(policyPageCache, policyEventPublisher);
+    }
+
+    @Test
+    void testSweep_DisabledDoesNotTouchTheDatabase() {
+        sweeper(false).sweep();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    private PolicyExpirySweeper sweeper(boolean enabled) {
+        return new PolicyExpirySweeper(jdbcTemplate, transactionTemplate, cacheManager, policyPageCache, policyEventPublisher,
+                meterRegistry, enabled, 2, 10);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+    }
+
+    private static Policy expired(Long id) {
+        return Policy.builder().id(id).status(PolicyStatus.EXPIRED).build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.repository.PolicyImportErrorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyImportErrorCleanerTest {
+
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    @Mock
+    private PolicyImportErrorRepository policyImportErrorRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testCleanUp_DeletesInBatchesUntilAShortOne() {
+        when(policyImportErrorRepository.deleteExpired(RETENTION, 100)).thenReturn(100, 100, 7);
+
+        cleaner().cleanUp();
+
+        verify(policyImportErrorRepository, times(3)).deleteExpired(RETENTION, 100);
+        assertEquals(207.0, meterRegistry.get("policy.import.errors.deleted").counter().count());
+    }
+
+    @Test
+    void testCleanUp_FailureIsLoggedNotThrown() {
+        when(policyImportErrorRepository.deleteExpired(RETENTION, 100))
+                .thenReturn(100)
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertDoesNotThrow(() -> cleaner().cleanUp());
+        assertEquals(100.0, meterRegistry.get("policy.import.errors.deleted").counter().count());
+    }
+
+    private PolicyImportErrorCleaner cleaner() {
+        return new PolicyImportErrorCleaner(policyImportErrorRepository, meterRegistry, RETENTION, 100);
+    }
+}
@@ -0,0 +1,231 @@
+package com.rubin.insurance.policy_management_service.service.impl;
+
+import com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard;
+import com.rubin.insurance.policy_management_service.configuration.cache.PolicyPageCache;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.NotFoundException;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyImportResult;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
+import com.rubin.insurance.policy_management_service.repository.PolicyImportErrorRepository;
+import com.rubin.insurance.policy_management_service.repository.PolicyImportErrorRepository.Problem;
+import com.rubin.insurance.policy_management_service.repository.PolicyImportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyImportServiceImplTest {
+
+    private static final String HEADER = "customerName,customerEmail,policyType,coverageAmount,premiumAmount,startDate,endDate\n";
+    private static final String VALID = "John Smith,john.smith@example.com,HEALTH,100000.00,500.00,2024-01-01,2025-01-01\n";
+
+    @Mock
+    private PolicyImportRepository policyImportRepository;
+
+    @Mock
+    private PolicyImportErrorRepository policyImportErrorRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PolicyPageCache policyPageCache;
+
+    @Mock
+    private MissingIdGuard missingIdGuard;
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PolicyImportServiceImpl policyImportService;
+
+    @BeforeEach
+    void setUp() {
+        policyImportService = new PolicyImportServiceImpl(policyImportRepository, policyImportErrorRepository,
+                transactionTemplate, validatorFactory.getValidator(), policyPageCache, missingIdGuard, meterRegistry, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void testImportPolicies_LoadsValidRowsInChunks() {
+        runTransactionsInline();
+        allocateSequentialIds();
+
+        PolicyImportResult result = policyImportService.importPolicies(csv(HEADER + VALID + VALID + "\n" + VALID));
+
+        assertEquals(3, result.rows());
+        assertEquals(3, result.imported());
+        assertEquals(0, result.rejected());
+        assertTrue(result.complete());
+        assertNull(result.errorReport());
+        verifyNoInteractions(policyImportErrorRepository);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(policyImportRepository).insert(eq(List.of(1L, 2L)), anyList());
+        verify(missingIdGuard).registerCreated(MissingIdGuard.IdSpace.POLICY, List.of(1L, 2L));
+        verify(policyPageCache).onPoliciesCreated(List.of(3L));
+        assertEquals(3.0, meterRegistry.get("policy.import.rows").tag("outcome", "imported").counter().count());
+        assertEquals(2, meterRegistry.get("policy.import.chunk").timer().count());
+    }
+
+    @Test
+    void testImportPolicies_ColumnsInAnyOrderAndExtraColumnsIgnored() {
+        runTransactionsInline();
+        allocateSequentialIds();
+
+        policyImportService.importPolicies(csv(
+                "legacy_ref,EndDate,startDate,premiumAmount,coverageAmount,policyType,customerEmail,customerName\n"
+                        + "A-1,2025-01-01,2024-01-01,500.00,100000.00,auto,\"john.smith@example.com\",\"John Smith\"\n"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PolicyRequest>> policies = ArgumentCaptor.forClass(List.class);
+        verify(policyImportRepository).insert(eq(List.of(1L)), policies.capture());
+        PolicyRequest policy = policies.getValue().getFirst();
+        assertEquals("John Smith", policy.customerName());
+        assertEquals("2025-01-01", policy.endDate().toString());
+    }
+
+    @Test
+    void testImportPolicies_InvalidRowsGoToErrorReport() throws IOException {
+        runTransactionsInline();
+        allocateSequentialIds();
+
+        PolicyImportResult result = policyImportService.importPolicies(csv(HEADER
+                + VALID
+                + "John Smith,not-an-email,BOAT,100000.00,500.00,2024-01-01,2025-01-01\n"
+                + "John Smith,john.smith@example.com,HEALTH,1.005,500.00,2024-01-01,2025-01-01\n"
+                + "John Smith,john.smith@example.com\n"));
+
+        assertEquals(4, result.rows());
+        assertEquals(1, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals("/policy/import/" + result.importId() + "/errors", result.errorReport());
+        List<String> report = downloadReport(result.importId());
+        assertEquals("line,field,message", report.getFirst());
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("3,customerEmail,")), report::toString);
+        assertTrue(report.contains("3,policyType,\"Policy Type should be amongst : [HEALTH, AUTO, HOME, LIFE]\""), report::toString);
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("4,coverageAmount,")), report::toString);
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("5,row,")), report::toString);
+        assertEquals(3.0, meterRegistry.get("policy.import.rows").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void testImportPolicies_FailedChunkIsRejectedAndImportContinues() throws IOException {
+        runTransactionsInline();
+        allocateSequentialIds();
+        when(policyImportRepository.insert(anyList(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(1);
+
+        PolicyImportResult result = policyImportService.importPolicies(csv(HEADER + VALID + VALID + VALID));
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.rejected());
+        assertTrue(downloadReport(result.importId()).contains("2,row,Could not be imported: duplicate key"));
+        verify(missingIdGuard, times(1)).registerCreated(eq(MissingIdGuard.IdSpace.POLICY), anyList());
+    }
+
+    @Test
+    void testImportPolicies_UnterminatedQuoteStopsImport() {
+        runTransactionsInline();
+        allocateSequentialIds();
+
+        PolicyImportResult result = policyImportService.importPolicies(csv(HEADER + VALID + "\"John Smith,"));
+
+        assertEquals(1, result.imported());
+        assertFalse(result.complete());
+        assertNotNull(result.errorReport());
+    }
+
+    @Test
+    void testImportPolicies_MissingColumnsRejectedBeforeLoading() {
+        BadRequestException ex = assertThrows(BadRequestException.class, () ->
+                policyImportService.importPolicies(csv("customerName,customerEmail,policyType\n" + VALID)));
+
+        assertTrue(ex.getMessage().contains("coverageAmount"));
+        verifyNoInteractions(policyImportRepository, transactionTemplate);
+    }
+
+    @Test
+    void testImportPolicies_ReportWrittenInBatchesOfChunkSize() {
+        PolicyImportResult result = policyImportService.importPolicies(csv(HEADER
+                + "John Smith,not-an-email,HEALTH,100000.00,500.00,2024-01-01,2025-01-01\n".repeat(3)));
+
+        assertEquals(3, result.rejected());
+        verify(policyImportErrorRepository, times(2)).insert(eq(UUID.fromString(result.importId())), anyList());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void testGetErrorReport_UnknownOrMalformedIdNotFound() {
+        assertThrows(NotFoundException.class, () -> policyImportService.getErrorReport("3f2b8c1e-6d4a-4e0b-9a57-0c1d2e3f4a5b"));
+        assertThrows(NotFoundException.class, () -> policyImportService.getErrorReport("../../etc/passwd"));
+    }
+
+    // Serves the report from what the import stored, as the table would.
+    private List<String> downloadReport(String importId) throws IOException {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Problem>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(policyImportErrorRepository, atLeastOnce()).insert(eq(UUID.fromString(importId)), inserted.capture());
+        List<Problem> stored = new ArrayList<>();
+        inserted.getAllValues().forEach(stored::addAll);
+        when(policyImportErrorRepository.exists(UUID.fromString(importId))).thenReturn(true);
+        doAnswer(invocation -> {
+            stored.forEach(invocation.<Consumer<Problem>>getArgument(1));
+            return null;
+        }).when(policyImportErrorRepository).forEach(eq(UUID.fromString(importId)), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        policyImportService.getErrorReport(importId).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private void allocateSequentialIds() {
+        long[] next = {1};
+        when(policyImportRepository.allocateIds(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            List<Long> ids = LongStream.range(next[0], next[0] + count).boxed().toList();
+            next[0] += count;
+            return ids;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,33 +1,57 @@
 package com.rubin.insurance.policy_management_service.service.impl;
 
+import com.rubin.insurance.policy_management_service.configuration.cache.MissingIdGuard;
+import com.rubin.insurance.policy_management_service.configuration.datasource.PrimaryReads;
+import com.rubin.insurance.policy_management_service.configuration.cache.PolicyPageCache;
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.BusinessException;
 import com.rubin.insurance.policy_management_service.configuration.exception_handling.NotFoundException;
+import com.rubin.insurance.policy_management_service.model.dto.BulkItemResult;
+import com.rubin.insurance.policy_management_service.model.dto.BulkResponse;
 import com.rubin.insurance.policy_management_service.model.dto.PageResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicyClaimSummary;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyRequest;
 import com.rubin.insurance.policy_management_service.model.dto.PolicyResponse;
+import com.rubin.insurance.policy_management_service.model.dto.PolicySearchCriteria;
 import com.rubin.insurance.policy_management_service.messaging.events.PolicyEventType;
 import com.rubin.insurance.policy_management_service.model.mapper.PolicyMapper;
 import com.rubin.insurance.policy_management_service.messaging.publisher.PolicyEventPublisher;
 import com.rubin.insurance.policy_management_service.model.entity.policy.Policy;
 import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyStatus;
 import com.rubin.insurance.policy_management_service.model.entity.policy.PolicyType;
+import com.rubin.insurance.policy_management_service.repository.PolicyClaimTotalsRepository;
 import com.rubin.insurance.policy_management_service.repository.PolicyRepository;
+import com.rubin.insurance.policy_management_service.utils.KeysetCursor;
+import com.rubin.insurance.policy_management_service.utils.PaginationUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +70,27 @@ class PolicyServiceImplTest {
     @Mock
     private PolicyEventPublisher policyEventPublisher;
 
+    @Mock
+    private PolicyPageCache policyPageCache;
+
+    @Mock
+    private MissingIdGuard missingIdGuard;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PrimaryReads primaryReads;
+
+    @Mock
+    private PolicyClaimTotalsRepository policyClaimTotalsRepository;
+
     @InjectMocks
     private PolicyServiceImpl policyService;
 
@@ -55,6 +100,8 @@ class PolicyServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(policyService, "bulkChunkSize", 500);
+
         // Setup test data
         policyRequest = new PolicyRequest(
                 "John Smith",
@@ -113,6 +160,95 @@ class PolicyServiceImplTest {
         verify(policyRepository).save(policyEntity);
         verify(policyMapper).toDto(policyEntity);
         verify(policyEventPublisher).publish(PolicyEventType.POLICY_CREATED, policyEntity);
+        verify(policyPageCache).onPolicyCreated(1L);
+    }
+
+    // ============ savePolicies Tests ============
+
+    @Test
+    void testSavePolicies_InvalidItemFailsAloneAndEventsAreSentOnce() {
+        PolicyRequest invalid = new PolicyRequest("John", "not-an-email", PolicyType.HEALTH,
+                new BigDecimal("100000.00"), new BigDecimal("500.00"),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        ConstraintViolation<PolicyRequest> violation = violation("customerEmail", "Invalid email format");
+        when(validator.validate(policyRequest)).thenReturn(Set.of());
+        when(validator.validate(invalid)).thenReturn(Set.of(violation));
+        runTransactionsInline();
+        when(policyMapper.toEntity(policyRequest)).thenReturn(policyEntity);
+        when(policyRepository.saveAll(List.of(policyEntity))).thenReturn(List.of(policyEntity));
+        when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
+
+        BulkResponse<PolicyResponse> result = policyService.savePolicies(List.of(policyRequest, invalid));
+
+        assertEquals(2, result.total());
+        assertEquals(1, result.succeeded());
+        assertEquals(1, result.failed());
+        assertEquals(BulkItemResult.Status.SUCCEEDED, result.results().get(0).status());
+        assertEquals(policyResponse, result.results().get(0).data());
+        assertEquals(BulkItemResult.Status.FAILED, result.results().get(1).status());
+        assertEquals(List.of("Invalid email format"), result.results().get(1).fieldErrors().get("customerEmail"));
+
+        verify(policyRepository).flush();
+        verify(policyPageCache).onPoliciesCreated(List.of(1L));
+        verify(missingIdGuard).registerCreated(MissingIdGuard.IdSpace.POLICY, List.of(1L));
+        verify(policyEventPublisher).publishAll(PolicyEventType.POLICY_CREATED, List.of(policyEntity));
+        verify(policyEventPublisher, never()).publish(any(), any());
+    }
+
+    @Test
+    void testSavePolicies_FailedChunkIsRetriedItemByItem() {
+        PolicyRequest second = new PolicyRequest("Jane Smith", "jane.smith@example.com", PolicyType.AUTO,
+                new BigDecimal("20000.00"), new BigDecimal("300.00"),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        Policy secondEntity = Policy.builder().customerName("Jane Smith").build();
+        runTransactionsInline();
+        when(policyMapper.toEntity(policyRequest)).thenReturn(policyEntity);
+        when(policyMapper.toEntity(second)).thenReturn(secondEntity);
+        when(policyRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("duplicate policy_number"));
+        when(policyRepository.saveAndFlush(policyEntity)).thenReturn(policyEntity);
+        when(policyRepository.saveAndFlush(secondEntity)).thenThrow(new DataIntegrityViolationException("duplicate policy_number"));
+        when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
+
+        BulkResponse<PolicyResponse> result = policyService.savePolicies(List.of(policyRequest, second));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemResult.Status.SUCCEEDED, result.results().get(0).status());
+        assertEquals(BulkItemResult.Status.FAILED, result.results().get(1).status());
+        assertEquals("Policy could not be saved", result.results().get(1).error());
+        verify(policyEventPublisher).publish(PolicyEventType.POLICY_CREATED, policyEntity);
+        verify(policyEventPublisher, never()).publish(PolicyEventType.POLICY_CREATED, secondEntity);
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void testSavePolicies_SplitsIntoChunks() {
+        ReflectionTestUtils.setField(policyService, "bulkChunkSize", 1);
+        runTransactionsInline();
+        when(policyMapper.toEntity(policyRequest)).thenReturn(policyEntity);
+        when(policyRepository.saveAll(List.of(policyEntity))).thenReturn(List.of(policyEntity));
+        when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
+
+        BulkResponse<PolicyResponse> result = policyService.savePolicies(List.of(policyRequest, policyRequest));
+
+        assertEquals(2, result.succeeded());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(policyEventPublisher, times(2)).publishAll(PolicyEventType.POLICY_CREATED, List.of(policyEntity));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConstraintViolation<PolicyRequest> violation(String field, String message) {
+        ConstraintViolation<PolicyRequest> violation = mock(ConstraintViolation.class);
+        Path path = mock(Path.class);
+        when(path.toString()).thenReturn(field);
+        when(violation.getPropertyPath()).thenReturn(path);
+        when(violation.getMessage()).thenReturn(message);
+        return violation;
     }
 
     // ============ getById Tests ============
@@ -142,9 +278,59 @@ class PolicyServiceImplTest {
         assertEquals("Policy not found", exception.getMessage());
 
         verify(policyRepository).findById(999L);
+        verify(missingIdGuard).recordMissing(MissingIdGuard.IdSpace.POLICY, 999L);
         verify(policyMapper, never()).toDto(any());
     }
 
+    @Test
+    void testGetById_KnownMissingSkipsRepository() {
+        when(missingIdGuard.isKnownMissing(MissingIdGuard.IdSpace.POLICY, 999L)).thenReturn(true);
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> {
+            policyService.getById(999L);
+        });
+        assertEquals("Policy not found", exception.getMessage());
+
+        verify(policyRepository, never()).findById(any());
+        verify(missingIdGuard, never()).recordMissing(any(), anyLong());
+    }
+
+    // ============ getClaimSummary Tests ============
+
+    @Test
+    void testGetClaimSummary_Success() {
+        PolicyClaimSummary summary = new PolicyClaimSummary(1L, new BigDecimal("100000.00"), 2,
+                new BigDecimal("7500.00"), new BigDecimal("12000.00"), new BigDecimal("80500.00"));
+        when(policyClaimTotalsRepository.findSummary(1L)).thenReturn(Optional.of(summary));
+
+        assertEquals(summary, policyService.getClaimSummary(1L));
+
+        verify(policyRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetClaimSummary_MissOnReplicaIsRecheckedOnPrimary() {
+        PolicyClaimSummary summary = new PolicyClaimSummary(1L, new BigDecimal("100000.00"), 0,
+                BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("100000.00"));
+        when(policyClaimTotalsRepository.findSummary(1L)).thenReturn(Optional.empty(), Optional.of(summary));
+        when(primaryReads.mayBeStale()).thenReturn(true);
+        when(primaryReads.read(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+
+        assertEquals(summary, policyService.getClaimSummary(1L));
+
+        verify(missingIdGuard, never()).recordMissing(any(), anyLong());
+    }
+
+    @Test
+    void testGetClaimSummary_NotFound() {
+        when(policyClaimTotalsRepository.findSummary(999L)).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> policyService.getClaimSummary(999L));
+
+        assertEquals("Policy not found", exception.getMessage());
+        verify(missingIdGuard).recordMissing(MissingIdGuard.IdSpace.POLICY, 999L);
+    }
+
     // ============ getAllPolicies Tests ============
 
     @Test
@@ -180,6 +366,8 @@ class PolicyServiceImplTest {
         Page<Policy> policyPage = new PageImpl<>(policies, PageRequest.of(0, 10), 2);
 
         Pageable pageable = PageRequest.of(0, 10);
+        PolicyPageCache.Snapshot generations = new PolicyPageCache.Snapshot(1L, 7L);
+        when(policyPageCache.snapshot()).thenReturn(generations);
         when(policyRepository.findAll(pageable)).thenReturn(policyPage);
         when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
         when(policyMapper.toDto(policy2)).thenReturn(policyResponse2);
@@ -195,6 +383,36 @@ class PolicyServiceImplTest {
 
         verify(policyRepository).findAll(pageable);
         verify(policyMapper, times(2)).toDto(any(Policy.class));
+        InOrder order = inOrder(policyPageCache, policyRepository);
+        order.verify(policyPageCache).snapshot();
+        order.verify(policyRepository).findAll(pageable);
+        order.verify(policyPageCache).put(pageable, result, generations);
+    }
+
+    @Test
+    void testGetAllPolicies_ReplicaReadNotCached() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(primaryReads.mayBeStale()).thenReturn(true);
+        when(policyRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(policyEntity), pageable, 1));
+        when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
+
+        policyService.getAllPolicies(pageable);
+
+        verify(policyPageCache, never()).snapshot();
+        verify(policyPageCache, never()).put(any(), any(), any());
+    }
+
+    @Test
+    void testGetAllPolicies_ServedFromPageCache() {
+        Pageable pageable = PageRequest.of(0, 10);
+        PageResponse<PolicyResponse> cached = new PageResponse<>(new PageImpl<>(List.of(policyResponse), pageable, 1));
+        when(policyPageCache.get(pageable)).thenReturn(cached);
+
+        PageResponse<PolicyResponse> result = policyService.getAllPolicies(pageable);
+
+        assertSame(cached, result);
+        verify(policyRepository, never()).findAll(any(Pageable.class));
+        verify(policyPageCache, never()).put(any(), any(), any());
     }
 
     @Test
@@ -215,6 +433,98 @@ class PolicyServiceImplTest {
         verify(policyMapper, never()).toDto(any());
     }
 
+    // ============ getPoliciesAfter Tests ============
+
+    @Test
+    void testGetPoliciesAfter_HasNextPage() {
+        Policy policy2 = Policy.builder().id(2L).status(PolicyStatus.ACTIVE).build();
+        policyEntity.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        when(policyRepository.findNextPageById(0L, 2)).thenReturn(List.of(policyEntity, policy2));
+        when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
+
+        PageResponse<PolicyResponse> result = policyService.getPoliciesAfter(
+                KeysetCursor.first(KeysetCursor.SortKey.ID), 1, false);
+
+        assertEquals(1, result.content().size());
+        assertNull(result.pagination());
+        assertTrue(result.cursor().hasNext());
+        assertNull(result.cursor().totalElements());
+        KeysetCursor next = KeysetCursor.decode(result.cursor().nextCursor());
+        assertEquals(KeysetCursor.SortKey.ID, next.sortKey());
+        assertEquals(1L, next.id());
+        verify(policyRepository, never()).count();
+    }
+
+    @Test
+    void testGetPoliciesAfter_LastPageByCreatedAtWithTotal() {
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        when(policyRepository.findNextPageByCreatedAt(createdAt, 1L, 11)).thenReturn(List.of(policyEntity));
+        when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
+        when(policyRepository.count()).thenReturn(2L);
+
+        PageResponse<PolicyResponse> result = policyService.getPoliciesAfter(
+                KeysetCursor.after(KeysetCursor.SortKey.CREATED_AT, createdAt, 1L), 10, true);
+
+        assertEquals(1, result.content().size());
+        assertFalse(result.cursor().hasNext());
+        assertNull(result.cursor().nextCursor());
+        assertEquals(2L, result.cursor().totalElements());
+    }
+
+    @Test
+    void testGetPoliciesAfter_PageSizeCapped() {
+        when(policyRepository.findNextPageById(0L, PaginationUtils.MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        PageResponse<PolicyResponse> result = policyService.getPoliciesAfter(
+                KeysetCursor.first(KeysetCursor.SortKey.ID), Integer.MAX_VALUE, false);
+
+        assertEquals(PaginationUtils.MAX_PAGE_SIZE, result.cursor().size());
+    }
+
+    // ============ searchPolicies Tests ============
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchPolicies_ReturnsPageAndNextCursor() {
+        Policy policy2 = Policy.builder().id(2L).status(PolicyStatus.ACTIVE).build();
+        PolicySearchCriteria criteria = new PolicySearchCriteria("John.Smith@Example.com", PolicyStatus.ACTIVE,
+                PolicyType.HEALTH, null, null, null, null);
+        when(policyRepository.findBy(any(Specification.class), any())).thenReturn(List.of(policyEntity, policy2));
+        when(policyMapper.toDto(policyEntity)).thenReturn(policyResponse);
+
+        PageResponse<PolicyResponse> result = policyService.searchPolicies(
+                criteria, KeysetCursor.first(KeysetCursor.SortKey.ID), 1);
+
+        assertEquals(List.of(policyResponse), result.content());
+        assertTrue(result.cursor().hasNext());
+        assertNull(result.cursor().totalElements());
+        assertEquals(1L, KeysetCursor.decode(result.cursor().nextCursor()).id());
+        verify(policyRepository, never()).count();
+    }
+
+    @Test
+    void testSearchPolicies_RejectsCreatedAtCursor() {
+        PolicySearchCriteria criteria = new PolicySearchCriteria(null, PolicyStatus.CANCELLED, null, null, null, null, null);
+        KeysetCursor cursor = KeysetCursor.after(KeysetCursor.SortKey.CREATED_AT, Instant.parse("2025-01-01T00:00:00Z"), 1L);
+
+        assertThrows(BadRequestException.class, () -> policyService.searchPolicies(criteria, cursor, 10));
+
+        verifyNoInteractions(policyRepository);
+    }
+
+    @Test
+    void testSearchCriteria_InvalidDateWindow() {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> new PolicySearchCriteria(
+                null, null, null, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 1, 1), null, null));
+
+        assertEquals("startDateFrom should not be after startDateTo", exception.getMessage());
+    }
+
+    @Test
+    void testKeysetCursor_InvalidToken() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+
     // ============ renewPolicy Tests ============
 
     @Test
@@ -229,7 +539,7 @@ class PolicyServiceImplTest {
                 .premiumAmount(new BigDecimal("500.00"))
                 .startDate(LocalDate.of(2023, 1, 1))
                 .endDate(LocalDate.of(2023, 12, 31))
-                .status(PolicyStatus.ACTIVE)
+                .status(PolicyStatus.EXPIRED)
                 .build();
 
         Policy renewedPolicy = Policy.builder()
@@ -259,7 +569,7 @@ class PolicyServiceImplTest {
         );
 
         when(policyRepository.findById(1L)).thenReturn(Optional.of(expiredPolicy));
-        when(policyRepository.save(expiredPolicy)).thenReturn(renewedPolicy);
+        when(policyRepository.saveAndFlush(expiredPolicy)).thenReturn(renewedPolicy);
         when(policyMapper.toDto(renewedPolicy)).thenReturn(renewedResponse);
 
         PolicyResponse result = policyService.renewPolicy(1L);
@@ -268,13 +578,16 @@ class PolicyServiceImplTest {
         assertEquals(1L, result.id());
 
         verify(policyRepository).findById(1L);
-        verify(policyRepository).save(expiredPolicy);
+        verify(policyRepository).saveAndFlush(expiredPolicy);
+        assertEquals(PolicyStatus.ACTIVE, expiredPolicy.getStatus());
+        assertEquals(LocalDate.now().plusMonths(6), expiredPolicy.getEndDate());
         verify(policyEventPublisher).publish(PolicyEventType.POLICY_RENEWED, renewedPolicy);
+        verify(policyPageCache).onPolicyUpdated(1L);
         verify(policyMapper).toDto(renewedPolicy);
     }
 
     @Test
-    void testRenewPolicy_Success_InactivePolicy() {
+    void testRenewPolicy_CannotRenewCancelledPolicy() {
         Policy cancelledPolicy = Policy.builder()
                 .id(1L)
                 .policyNumber("POL-2024-000001")
@@ -289,15 +602,13 @@ class PolicyServiceImplTest {
                 .build();
 
         when(policyRepository.findById(1L)).thenReturn(Optional.of(cancelledPolicy));
-        when(policyRepository.save(cancelledPolicy)).thenReturn(cancelledPolicy);
-        when(policyMapper.toDto(any(Policy.class))).thenReturn(policyResponse);
 
-        PolicyResponse result = policyService.renewPolicy(1L);
+        BusinessException exception = assertThrows(BusinessException.class, () -> policyService.renewPolicy(1L));
 
-        assertNotNull(result);
-        verify(policyRepository).findById(1L);
-        verify(policyRepository).save(cancelledPolicy);
-        verify(policyEventPublisher).publish(eq(PolicyEventType.POLICY_RENEWED), any(Policy.class));
+        assertEquals("Cancelled policies cannot be renewed.", exception.getMessage());
+        assertEquals(PolicyStatus.CANCELLED, cancelledPolicy.getStatus());
+        verify(policyRepository, never()).saveAndFlush(any());
+        verify(policyEventPublisher, never()).publish(any(), any());
     }
 
     @Test
@@ -387,7 +698,7 @@ class PolicyServiceImplTest {
         );
 
         when(policyRepository.findById(1L)).thenReturn(Optional.of(activePolicy));
-        when(policyRepository.save(activePolicy)).thenReturn(cancelledPolicy);
+        when(policyRepository.saveAndFlush(activePolicy)).thenReturn(cancelledPolicy);
         when(policyMapper.toDto(cancelledPolicy)).thenReturn(cancelledResponse);
 
         PolicyResponse result = policyService.cancelPolicy(1L);
@@ -397,8 +708,9 @@ class PolicyServiceImplTest {
         assertEquals("CANCELLED", result.policyStatus());
 
         verify(policyRepository).findById(1L);
-        verify(policyRepository).save(activePolicy);
+        verify(policyRepository).saveAndFlush(activePolicy);
         verify(policyEventPublisher).publish(PolicyEventType.POLICY_CANCELLED, cancelledPolicy);
+        verify(policyPageCache).onPolicyUpdated(1L);
         verify(policyMapper).toDto(cancelledPolicy);
     }
 
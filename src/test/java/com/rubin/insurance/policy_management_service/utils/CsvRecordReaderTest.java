@@ -0,0 +1,43 @@
+package com.rubin.insurance.policy_management_service.utils;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void testNext_QuotedFieldsAndLineEndings() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "a,\"b,c\",\"say \"\"hi\"\"\"\r\n\r\n\"multi\nline\",,\n last"), 100);
+
+        assertEquals(List.of("a", "b,c", "say \"hi\""), reader.next());
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(List.of("multi\nline", "", ""), reader.next());
+        assertEquals(3, reader.getRecordLine());
+        assertEquals(List.of(" last"), reader.next());
+        assertEquals(5, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testNext_UnterminatedQuoteRejected() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("ok\n\"never closed,x\n"), 100);
+
+        assertEquals(List.of("ok"), reader.next());
+        BadRequestException ex = assertThrows(BadRequestException.class, reader::next);
+        assertTrue(ex.getMessage().contains("Line 2"));
+    }
+
+    @Test
+    void testNext_OverlongRecordRejected() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("x".repeat(20) + "\n"), 10);
+
+        assertThrows(BadRequestException.class, reader::next);
+    }
+}
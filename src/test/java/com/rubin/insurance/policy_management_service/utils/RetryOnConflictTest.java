@@ -0,0 +1,95 @@
+package com.rubin.insurance.policy_management_service.utils;
+
+import com.rubin.insurance.policy_management_service.configuration.exception_handling.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryOnConflictTest {
+
+    private AnnotationConfigApplicationContext context;
+    private Transitions transitions;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(Config.class);
+        transitions = context.getBean(Transitions.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void testConflict_RetriedUntilItSucceeds() {
+        transitions.conflictOnNext(2);
+
+        assertEquals("applied", transitions.apply());
+        assertEquals(3, transitions.attempts());
+    }
+
+    @Test
+    void testConflict_GivesUpAfterMaxRetries() {
+        transitions.conflictOnNext(10);
+
+        assertThrows(OptimisticLockingFailureException.class, transitions::apply);
+        assertEquals(3, transitions.attempts());
+    }
+
+    @Test
+    void testOtherFailures_NotRetried() {
+        assertThrows(BusinessException.class, transitions::reject);
+        assertEquals(1, transitions.attempts());
+    }
+
+    @Configuration
+    @EnableResilientMethods
+    static class Config {
+
+        @Bean
+        Transitions transitions() {
+            return new Transitions();
+        }
+    }
+
+    static class Transitions {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger conflictsLeft = new AtomicInteger();
+
+        // Accessed through methods: the fields of the retrying proxy itself are never set.
+        public void conflictOnNext(int conflicts) {
+            conflictsLeft.set(conflicts);
+        }
+
+        public int attempts() {
+            return attempts.get();
+        }
+
+        @RetryOnConflict
+        public String apply() {
+            attempts.incrementAndGet();
+            if (conflictsLeft.getAndDecrement() > 0) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "applied";
+        }
+
+        @RetryOnConflict
+        public String reject() {
+            attempts.incrementAndGet();
+            throw new BusinessException("Only ACTIVE policies can be cancelled.");
+        }
+    }
+}